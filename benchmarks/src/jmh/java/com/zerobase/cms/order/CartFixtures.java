@@ -0,0 +1,80 @@
+package com.zerobase.cms.order;
+
+import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.model.ProductItem;
+import com.zerobase.cms.order.domain.product.AddProductCartForm;
+import com.zerobase.cms.order.domain.redis.Cart;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CartFixtures {
+
+    public static final int ITEMS_PER_PRODUCT = 10;
+
+    public static List<Product> products(int itemCount) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < itemCount; i += ITEMS_PER_PRODUCT) {
+            long productId = i / ITEMS_PER_PRODUCT + 1;
+            List<ProductItem> items = new ArrayList<>();
+            for (int j = i; j < Math.min(itemCount, i + ITEMS_PER_PRODUCT); j++) {
+                items.add(ProductItem.builder()
+                    .id((long) j + 1)
+                    .sellerId(1L)
+                    .name("item" + j)
+                    .price(10000)
+                    .count(100)
+                    .build());
+            }
+            products.add(Product.builder()
+                .id(productId)
+                .sellerId(1L)
+                .name("product" + productId)
+                .description("description")
+                .productItems(items)
+                .build());
+        }
+        return products;
+    }
+
+    public static Cart cart(Long customerId, List<Product> products, int price) {
+        Cart cart = new Cart(customerId);
+        for (Product product : products) {
+            List<Cart.ProductItem> items = new ArrayList<>();
+            for (ProductItem item : product.getProductItems()) {
+                items.add(Cart.ProductItem.builder()
+                    .id(item.getId())
+                    .name(item.getName())
+                    .price(price)
+                    .count(1)
+                    .build());
+            }
+            cart.getProducts().add(Cart.Product.builder()
+                .id(product.getId())
+                .sellerId(product.getSellerId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .items(items)
+                .build());
+        }
+        return cart;
+    }
+
+    public static AddProductCartForm addForm(Product product) {
+        List<AddProductCartForm.ProductItem> items = new ArrayList<>();
+        for (ProductItem item : product.getProductItems()) {
+            items.add(AddProductCartForm.ProductItem.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .price(item.getPrice())
+                .count(1)
+                .build());
+        }
+        return AddProductCartForm.builder()
+            .id(product.getId())
+            .sellerId(product.getSellerId())
+            .name(product.getName())
+            .description(product.getDescription())
+            .items(items)
+            .build();
+    }
+}
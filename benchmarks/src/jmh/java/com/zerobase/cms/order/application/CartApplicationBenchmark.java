@@ -0,0 +1,69 @@
+package com.zerobase.cms.order.application;
+
+import com.zerobase.cms.order.CartFixtures;
+import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.product.ProductSnapshot;
+import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.service.ProductSearchService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class CartApplicationBenchmark {
+
+    @Param({"1", "50", "500"})
+    private int itemCount;
+
+    private CartApplication cartApplication;
+    private List<Product> products;
+    private List<ProductSnapshot> snapshots;
+    private Cart unchangedCart;
+
+    @Setup
+    public void setUp() {
+        products = CartFixtures.products(itemCount);
+        snapshots = products.stream().map(ProductSnapshot::from).collect(Collectors.toList());
+        ProductSearchService productSearchService = new ProductSearchService(null, null, null) {
+            @Override
+            public List<Product> getListByProductIds(List<Long> productIds) {
+                return products;
+            }
+
+            @Override
+            public List<ProductSnapshot> getSnapshots(List<Long> productIds) {
+                return snapshots;
+            }
+        };
+        cartApplication = new CartApplication(null, productSearchService, new SimpleMeterRegistry());
+        unchangedCart = CartFixtures.cart(1L, products, 10000);
+    }
+
+    @Benchmark
+    public Cart refreshCartUnchanged() {
+        return cartApplication.refreshCart(unchangedCart);
+    }
+
+    // 주문 시처럼 캐시 없이 DB 엔티티를 스냅샷으로 바꿔 갱신하는 경우.
+    @Benchmark
+    public Cart refreshCartUncached() {
+        return cartApplication.refreshCart(unchangedCart, false);
+    }
+
+    // 가격이 모두 바뀐 장바구니. refreshCart 가 장바구니를 수정하므로 매번 새로 만든다.
+    @Benchmark
+    public Cart refreshCartPriceChanged() {
+        return cartApplication.refreshCart(CartFixtures.cart(1L, products, 5000));
+    }
+}
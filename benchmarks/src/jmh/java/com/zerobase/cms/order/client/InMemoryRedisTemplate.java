@@ -0,0 +1,64 @@
+package com.zerobase.cms.order.client;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+
+// 네트워크 비용을 제외하고 RedisClient 의 직렬화와 CartService 의 로직만 측정하기 위한 RedisTemplate.
+public class InMemoryRedisTemplate extends RedisTemplate<String, Object> {
+
+    private final Map<String, Object> values = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, Object> valueOperations = (ValueOperations<String, Object>) Proxy.newProxyInstance(
+        ValueOperations.class.getClassLoader(), new Class[]{ValueOperations.class},
+        (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "get":
+                    return values.get((String) args[0]);
+                case "set":
+                    values.put((String) args[0], args[1]);
+                    return null;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+
+    @Override
+    public ValueOperations<String, Object> opsForValue() {
+        return valueOperations;
+    }
+
+    // 단일 스레드에서만 쓰므로 WATCH 충돌 없이 명령을 바로 실행한다.
+    @Override
+    public <T> T execute(SessionCallback<T> session) {
+        return session.execute(this);
+    }
+
+    @Override
+    public void watch(String key) {
+    }
+
+    @Override
+    public void watch(Collection<String> keys) {
+    }
+
+    @Override
+    public void unwatch() {
+    }
+
+    @Override
+    public void multi() {
+    }
+
+    @Override
+    public List<Object> exec() {
+        return Collections.singletonList(Boolean.TRUE);
+    }
+}
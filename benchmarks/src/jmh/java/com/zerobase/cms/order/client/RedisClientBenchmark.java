@@ -0,0 +1,45 @@
+package com.zerobase.cms.order.client;
+
+import com.zerobase.cms.order.CartFixtures;
+import com.zerobase.cms.order.domain.redis.Cart;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class RedisClientBenchmark {
+
+    private static final Long CUSTOMER_ID = 1L;
+
+    @Param({"1", "50", "500"})
+    private int itemCount;
+
+    private RedisClient redisClient;
+    private Cart cart;
+
+    @Setup
+    public void setUp() {
+        redisClient = new RedisClient(new InMemoryRedisTemplate(), new SimpleMeterRegistry());
+        cart = CartFixtures.cart(CUSTOMER_ID, CartFixtures.products(itemCount), 10000);
+        redisClient.put(CUSTOMER_ID, cart);
+    }
+
+    @Benchmark
+    public void put() {
+        redisClient.put(CUSTOMER_ID, cart);
+    }
+
+    @Benchmark
+    public Cart get() {
+        return redisClient.get(CUSTOMER_ID, Cart.class);
+    }
+}
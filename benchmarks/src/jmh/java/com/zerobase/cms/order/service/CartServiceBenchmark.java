@@ -0,0 +1,64 @@
+package com.zerobase.cms.order.service;
+
+import com.zerobase.cms.order.CartFixtures;
+import com.zerobase.cms.order.client.InMemoryRedisTemplate;
+import com.zerobase.cms.order.client.RedisClient;
+import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.product.AddProductCartForm;
+import com.zerobase.cms.order.domain.redis.Cart;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class CartServiceBenchmark {
+
+    private static final Long CUSTOMER_ID = 1L;
+
+    @Param({"1", "50", "500"})
+    private int itemCount;
+
+    private CartService cartService;
+    private AddProductCartForm existingProductForm;
+    private AddProductCartForm newProductForm;
+
+    @Setup
+    public void setUp() {
+        List<Product> products = CartFixtures.products(itemCount);
+        cartService = new CartService(new RedisClient(new InMemoryRedisTemplate(), new SimpleMeterRegistry()));
+        // addCart 는 기존 아이템과 가격이 다르면 메시지를 추가하므로, 메시지가 계속 쌓이지 않도록 폼과 같은 가격으로 둔다.
+        cartService.putCart(CUSTOMER_ID, CartFixtures.cart(CUSTOMER_ID, products, 10000));
+
+        existingProductForm = CartFixtures.addForm(products.get(products.size() - 1));
+        newProductForm = CartFixtures.addForm(CartFixtures.products(1).get(0));
+        newProductForm = AddProductCartForm.builder()
+            .id(Long.MAX_VALUE)
+            .sellerId(newProductForm.getSellerId())
+            .name(newProductForm.getName())
+            .description(newProductForm.getDescription())
+            .items(newProductForm.getItems())
+            .build();
+    }
+
+    @Benchmark
+    public Cart addCartMergeExistingProduct() {
+        return cartService.addCart(CUSTOMER_ID, existingProductForm);
+    }
+
+    // 매번 같은 신규 상품을 추가하면 장바구니가 계속 커지므로 다른 고객의 빈 장바구니에 추가한다.
+    @Benchmark
+    public Cart addCartNewProduct() {
+        cartService.putCart(2L, null);
+        return cartService.addCart(2L, newProductForm);
+    }
+}
@@ -0,0 +1,46 @@
+package com.zerobase.cms.order.service;
+
+import com.zerobase.cms.order.domain.product.ProductSearchDto;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ProductSearchIndexBenchmark {
+
+    private static final String[] BRANDS = {"나이키", "아디다스", "뉴발란스", "zerobase", "퓨마"};
+    private static final String[] KINDS = {"운동화", "티셔츠", "양말", "슬리퍼", "keyboard", "모자"};
+
+    @Param({"1000", "100000"})
+    private int productCount;
+
+    private ProductSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new ProductSearchIndex();
+        for (int i = 0; i < productCount; i++) {
+            String name = BRANDS[i % BRANDS.length] + " " + KINDS[(i / BRANDS.length) % KINDS.length] + " " + i;
+            index.add((long) i, name, "상품 설명 " + i);
+        }
+    }
+
+    @Benchmark
+    public List<ProductSearchDto> searchCommonTerm() {
+        return index.search("운동화", 20);
+    }
+
+    @Benchmark
+    public List<ProductSearchDto> searchSelectiveTerm() {
+        return index.search("나이키 운동화 " + (productCount - 1), 20);
+    }
+}
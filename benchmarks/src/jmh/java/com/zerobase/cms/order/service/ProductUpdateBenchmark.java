@@ -0,0 +1,116 @@
+package com.zerobase.cms.order.service;
+
+import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.model.ProductItem;
+import com.zerobase.cms.order.domain.product.UpdateProductForm;
+import com.zerobase.cms.order.domain.product.UpdateProductItemForm;
+import com.zerobase.cms.order.domain.repository.ProductRepository;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ProductUpdateBenchmark {
+
+    @Param({"1000", "5000"})
+    private int itemCount;
+
+    private ProductService productService;
+    private Product product;
+    private UpdateProductForm[] priceChangedForms;
+    private UpdateProductForm unchangedForm;
+    private int invocation;
+
+    @Setup
+    public void setUp() {
+        List<ProductItem> items = new ArrayList<>();
+        for (long id = 1; id <= itemCount; id++) {
+            items.add(ProductItem.builder()
+                .id(id)
+                .sellerId(1L)
+                .name("item" + id)
+                .price(10000)
+                .count(100)
+                .build());
+        }
+        product = Product.builder()
+            .id(1L)
+            .sellerId(1L)
+            .name("product")
+            .description("description")
+            .productItems(items)
+            .build();
+
+        ProductRepository productRepository = (ProductRepository) Proxy.newProxyInstance(
+            ProductRepository.class.getClassLoader(), new Class<?>[]{ProductRepository.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("findBySellerIdAndId")) {
+                    return Optional.of(product);
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+        productService = new ProductService(productRepository, new ProductSearchIndex(),
+            new ProductSnapshotCache(10000, 5000));
+
+        // 매번 모든 옵션의 가격이 바뀌도록 두 가격을 번갈아 쓴다. 폼의 옵션 순서는 엔티티와 반대로 둔다.
+        priceChangedForms = new UpdateProductForm[]{form(9000), form(10000)};
+        unchangedForm = form(10000);
+    }
+
+    @Benchmark
+    public Product updateAllPrices() {
+        return productService.updateProduct(1L, priceChangedForms[invocation++ & 1]);
+    }
+
+    @Benchmark
+    public Product updateNothingChanged() {
+        return productService.updateProduct(1L, unchangedForm);
+    }
+
+    // 변경 전처럼 폼마다 옵션 목록을 처음부터 찾는 경우.
+    @Benchmark
+    public Product linearScanBaseline() {
+        UpdateProductForm form = priceChangedForms[invocation++ & 1];
+        for (UpdateProductItemForm itemForm : form.getItems()) {
+            ProductItem item = product.getProductItems().stream()
+                .filter(pi -> pi.getId().equals(itemForm.getId()))
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+            item.setName(itemForm.getName());
+            item.setCount(itemForm.getCount());
+            item.setPrice(itemForm.getPrice());
+        }
+        return product;
+    }
+
+    private UpdateProductForm form(int price) {
+        List<UpdateProductItemForm> itemForms = new ArrayList<>();
+        for (long id = itemCount; id >= 1; id--) {
+            itemForms.add(UpdateProductItemForm.builder()
+                .id(id)
+                .productId(1L)
+                .name("item" + id)
+                .price(price)
+                .count(100)
+                .build());
+        }
+        return UpdateProductForm.builder()
+            .id(1L)
+            .name("product")
+            .description("description")
+            .items(itemForms)
+            .build();
+    }
+}
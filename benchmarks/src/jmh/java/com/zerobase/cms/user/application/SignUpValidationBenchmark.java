@@ -0,0 +1,63 @@
+package com.zerobase.cms.user.application;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class SignUpValidationBenchmark {
+
+    private static final String EMAIL_REGEX = "^[_a-z0-9-]+(.[_a-z0-9-]+)*@(?:\\w+\\.)+\\w+$";
+    private static final String PASSWORD_REGEX =
+        "^(?=.*[A-Za-z])(?=.*\\d)(?=.*[$@$!%*#?&])[A-Za-z\\d$@$!%*#?&]{8,}$";
+
+    private final SignUpValidator validator = new SignUpValidator();
+    private final String email = "zerobase.backend@naver.com";
+    private final String phone = "01011112222";
+    private final String password = "zerobase123@#";
+    // 도메인이 잘못된 긴 email. 정규식은 로컬 부분을 되짚으며 역추적한다.
+    private final String adversarialEmail = "a@" + "a".repeat(2_000) + "!";
+
+    @Benchmark
+    public boolean email() {
+        return validator.isValidEmail(email);
+    }
+
+    @Benchmark
+    public boolean phone() {
+        return validator.isValidPhone(phone);
+    }
+
+    @Benchmark
+    public boolean password() {
+        return validator.isValidPassword(password);
+    }
+
+    @Benchmark
+    public boolean adversarialEmail() {
+        return validator.isValidEmail(adversarialEmail);
+    }
+
+    // 변경 전처럼 매번 Pattern.compile 하는 경우와 비교한다.
+    @Benchmark
+    public boolean regexEmail() {
+        return Pattern.compile(EMAIL_REGEX).matcher(email).matches();
+    }
+
+    @Benchmark
+    public boolean regexPassword() {
+        return Pattern.compile(PASSWORD_REGEX).matcher(password).matches();
+    }
+
+    @Benchmark
+    public boolean regexAdversarialEmail() {
+        return Pattern.compile(EMAIL_REGEX).matcher(adversarialEmail).matches();
+    }
+}
@@ -0,0 +1,64 @@
+package com.zerobase.domain.config;
+
+import com.zerobase.domain.common.UserType;
+import com.zerobase.domain.common.UserVo;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class JwtAuthenticationProviderBenchmark {
+
+    private JwtAuthenticationProvider provider;
+    private JwtAuthenticationProvider uncachedProvider;
+    private String token;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        provider = new JwtAuthenticationProvider();
+        token = provider.createToken("zerobase@naver.com", 1L, UserType.CUSTOMER);
+
+        // 캐시 크기 1 에서 두 토큰을 번갈아 조회하면 매번 서명 검증과 복호화를 거친다.
+        uncachedProvider = new JwtAuthenticationProvider(1);
+        tokens = new String[]{
+            uncachedProvider.createToken("zerobase@naver.com", 1L, UserType.CUSTOMER),
+            uncachedProvider.createToken("zerobase@gmail.com", 2L, UserType.CUSTOMER)
+        };
+    }
+
+    @Benchmark
+    public String createToken() {
+        return provider.createToken("zerobase@naver.com", 1L, UserType.CUSTOMER);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return provider.validateToken(token);
+    }
+
+    @Benchmark
+    public UserVo getUserVo() {
+        return provider.getUserVo(token);
+    }
+
+    @Benchmark
+    public UserVo validateAndGetUserVo() {
+        provider.validateToken(token);
+        return provider.getUserVo(token);
+    }
+
+    @Benchmark
+    public UserVo getUserVoUncached() {
+        next ^= 1;
+        return uncachedProvider.getUserVo(tokens[next]);
+    }
+}
@@ -0,0 +1,64 @@
+package com.zerobase.domain.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public abstract class Aes256UtilBenchmark {
+
+    private final String plain = "zerobase@naver.com";
+    private final byte[] plainBytes = plain.getBytes(StandardCharsets.UTF_8);
+    private final String encrypted = Aes256Util.encrypt(plain);
+    private final byte[] encryptedBytes = Aes256Util.encrypt(plainBytes);
+
+    @Benchmark
+    public String legacyEncrypt() {
+        return LegacyAes256Util.encrypt(plain);
+    }
+
+    @Benchmark
+    public String legacyDecrypt() {
+        return LegacyAes256Util.decrypt(encrypted);
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return Aes256Util.encrypt(plain);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return Aes256Util.decrypt(encrypted);
+    }
+
+    @Benchmark
+    public byte[] encryptBytes() {
+        return Aes256Util.encrypt(plainBytes);
+    }
+
+    @Benchmark
+    public byte[] decryptBytes() {
+        return Aes256Util.decrypt(encryptedBytes);
+    }
+
+    @Threads(1)
+    public static class SingleThread extends Aes256UtilBenchmark {
+    }
+
+    @Threads(8)
+    public static class EightThreads extends Aes256UtilBenchmark {
+    }
+
+    @Threads(64)
+    public static class SixtyFourThreads extends Aes256UtilBenchmark {
+    }
+}
@@ -0,0 +1,41 @@
+package com.zerobase.domain.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+// 비교 기준이 되는 이전 Aes256Util 구현. 호출마다 Cipher 와 key, iv 를 새로 만든다.
+public class LegacyAes256Util {
+    public static String alg = "AES/CBC/PKCS5Padding";
+    private static final String KEY = "ZEROBASEKEYISZEROBASEKEY";
+    private static final String IV = KEY.substring(0, 16);
+
+    public static String encrypt(String text) {
+        try {
+            Cipher cipher = Cipher.getInstance(alg);
+            SecretKeySpec keySpec = new SecretKeySpec(KEY.getBytes(), "AES");
+            IvParameterSpec ivParameterSpec = new IvParameterSpec(IV.getBytes(StandardCharsets.UTF_8));
+            cipher.init(Cipher.ENCRYPT_MODE, keySpec, ivParameterSpec);
+            byte[] encrypted = cipher.doFinal(text.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(encrypted);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    public static String decrypt(String cipherText){
+        try{
+            Cipher cipher = Cipher.getInstance(alg);
+            SecretKeySpec keySpec = new SecretKeySpec(KEY.getBytes(), "AES");
+            IvParameterSpec ivParameterSpec = new IvParameterSpec(IV.getBytes(StandardCharsets.UTF_8));
+            cipher.init(Cipher.DECRYPT_MODE, keySpec, ivParameterSpec);
+            byte[] decodeBytes = Base64.getDecoder().decode(cipherText);
+            byte[] decrypted = cipher.doFinal(decodeBytes);
+            return new String(decrypted, StandardCharsets.UTF_8);
+        } catch (Exception e){
+            return null;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.zerobase.cms.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 실행 중인 order-api 또는 user-api 에 동시 사용자 수만큼 요청을 계속 보내고 처리량과 서버의 플랫폼 스레드 수를 잰다.
+ * 사용자 한 명은 가상 스레드 하나이며 응답을 받으면 바로 다음 요청을 보낸다. warmup 동안의 요청은 집계하지 않는다.
+ * 서버를 spring.threads.virtual.enabled 를 끄고 켠 상태로 한 번씩 돌리면 결과가 results/load-{scenario}.csv 에 나란히 남는다.
+ * <pre>
+ * order   --base-url=order-api 주소 --token=고객 토큰
+ *         토큰의 장바구니를 한 번 읽어 두고 같은 장바구니로 계속 주문한다.
+ *         실행 시간 동안 주문할 만큼의 재고와 예치금을 미리 넣어 둔다.
+ * signup  --base-url=user-api 주소
+ *         요청마다 다른 이메일로 고객 가입을 한다. Mailgun 주소는 목 서버로 바꿔 두고 돌린다.
+ * 공통    --label=결과 이름(platform, virtual 등) --users=2000 --seconds=60 --warmup-seconds=10
+ * </pre>
+ */
+public class LoadTest {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String scenario;
+    private final String baseUrl;
+    private final Map<String, String> options;
+    private final HttpClient client;
+    private final LongAdder errors = new LongAdder();
+    private final AtomicLong maxServerThreads = new AtomicLong();
+    private volatile boolean measuring;
+    private volatile boolean running = true;
+
+    private LoadTest(String scenario, Map<String, String> options) {
+        this.scenario = scenario;
+        this.baseUrl = required(options, "base-url");
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0 || (!args[0].equals("order") && !args[0].equals("signup"))) {
+            System.err.println("usage: LoadTest order|signup --base-url=... [--token=...] [--label=...] "
+                + "[--users=2000] [--seconds=60] [--warmup-seconds=10]");
+            System.exit(1);
+        }
+        Map<String, String> options = new HashMap<>();
+        for (String arg : Arrays.copyOfRange(args, 1, args.length)) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException(arg);
+            }
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        new LoadTest(args[0], options).run();
+    }
+
+    private void run() throws Exception {
+        int users = Integer.parseInt(options.getOrDefault("users", "2000"));
+        long seconds = Long.parseLong(options.getOrDefault("seconds", "60"));
+        long warmupSeconds = Long.parseLong(options.getOrDefault("warmup-seconds", "10"));
+        String label = options.getOrDefault("label", "default");
+        RequestFactory requests = scenario.equals("order") ? orderRequests() : signUpRequests();
+
+        List<Worker> workers = new ArrayList<>(users);
+        AtomicLong sequence = new AtomicLong();
+        long elapsed;
+        // close 는 모든 사용자가 멈출 때까지 기다리므로 그 뒤에 응답 시간을 모은다.
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(this::pollServerThreads);
+            for (int i = 0; i < users; i++) {
+                Worker worker = new Worker(requests, sequence);
+                workers.add(worker);
+                executor.submit(worker);
+            }
+            Thread.sleep(Duration.ofSeconds(warmupSeconds));
+            measuring = true;
+            long start = System.nanoTime();
+            Thread.sleep(Duration.ofSeconds(seconds));
+            measuring = false;
+            elapsed = System.nanoTime() - start;
+            running = false;
+            executor.shutdownNow();
+        }
+        report(label, users, seconds, elapsed, latencies(workers));
+    }
+
+    // 사용자마다 따로 쌓은 응답 시간을 끝난 뒤 한 번에 모은다.
+    private static long[] latencies(List<Worker> workers) {
+        long[] all = new long[workers.stream().mapToInt(Worker::size).sum()];
+        int offset = 0;
+        for (Worker worker : workers) {
+            offset = worker.copyTo(all, offset);
+        }
+        return all;
+    }
+
+    private void report(String label, int users, long seconds, long elapsedNanos, long[] latencies)
+        throws IOException {
+        Arrays.sort(latencies);
+        double throughput = latencies.length / (elapsedNanos / 1e9);
+        String line = String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%.1f,%.1f,%.1f,%.1f,%d",
+            label, users, seconds, latencies.length, errors.sum(), throughput,
+            percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 1.0),
+            maxServerThreads.get());
+        System.out.println("label,users,seconds,requests,errors,throughput,p50_ms,p99_ms,max_ms,server_threads");
+        System.out.println(line);
+
+        Path file = Path.of("results", "load-" + scenario + ".csv");
+        Files.createDirectories(file.getParent());
+        if (Files.notExists(file)) {
+            Files.writeString(file,
+                "label,users,seconds,requests,errors,throughput,p50_ms,p99_ms,max_ms,server_threads\n");
+        }
+        Files.writeString(file, line + "\n", StandardOpenOption.APPEND);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    // 서버의 플랫폼 스레드 수는 1초마다 actuator 에서 읽어 가장 큰 값을 남긴다. 가상 스레드는 이 값에 들어가지 않는다.
+    private Void pollServerThreads() throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/prometheus"))
+            .timeout(REQUEST_TIMEOUT)
+            .build();
+        while (running) {
+            try {
+                String body = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+                for (String line : body.split("\n")) {
+                    if (line.startsWith("jvm_threads_live_threads")) {
+                        long threads = (long) Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+                        maxServerThreads.accumulateAndGet(threads, Math::max);
+                    }
+                }
+            } catch (IOException e) {
+                // 지표를 읽지 못해도 부하는 계속 준다.
+            }
+            Thread.sleep(1000);
+        }
+        return null;
+    }
+
+    private RequestFactory orderRequests() throws IOException, InterruptedException {
+        String token = required(options, "token");
+        HttpResponse<String> cart = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/customer/cart"))
+            .header("X-AUTH-TOKEN", token)
+            .timeout(REQUEST_TIMEOUT)
+            .build(), HttpResponse.BodyHandlers.ofString());
+        if (cart.statusCode() != 200) {
+            throw new IllegalStateException("장바구니를 읽지 못했습니다. status=" + cart.statusCode());
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/customer/cart/order"))
+            .header("X-AUTH-TOKEN", token)
+            .header("Content-Type", "application/json")
+            .timeout(REQUEST_TIMEOUT)
+            .POST(HttpRequest.BodyPublishers.ofString(cart.body(), StandardCharsets.UTF_8))
+            .build();
+        return sequence -> request;
+    }
+
+    private RequestFactory signUpRequests() {
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        URI uri = URI.create(baseUrl + "/signup/customer");
+        return sequence -> HttpRequest.newBuilder(uri)
+            .header("Content-Type", "application/json")
+            .timeout(REQUEST_TIMEOUT)
+            .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"load-" + run + "-" + sequence
+                + "@example.com\",\"name\":\"load\",\"password\":\"Passw0rd!\",\"birth\":\"1990-01-01\","
+                + "\"phone\":\"01012345678\"}", StandardCharsets.UTF_8))
+            .build();
+    }
+
+    private static String required(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("--" + name + " 가 필요합니다.");
+        }
+        return value;
+    }
+
+    private interface RequestFactory {
+        HttpRequest create(long sequence);
+    }
+
+    private class Worker implements Runnable {
+
+        private final RequestFactory requests;
+        private final AtomicLong sequence;
+        private long[] latencies = new long[1024];
+        private int size;
+
+        private Worker(RequestFactory requests, AtomicLong sequence) {
+            this.requests = requests;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                HttpRequest request = requests.create(sequence.incrementAndGet());
+                long start = System.nanoTime();
+                boolean success;
+                try {
+                    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    success = status / 100 == 2;
+                } catch (IOException e) {
+                    success = false;
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long latency = System.nanoTime() - start;
+                if (!measuring) {
+                    continue;
+                }
+                if (!success) {
+                    errors.increment();
+                } else {
+                    if (size == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, size * 2);
+                    }
+                    latencies[size++] = latency;
+                }
+            }
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private int copyTo(long[] target, int offset) {
+            System.arraycopy(latencies, 0, target, offset, size);
+            return offset + size;
+        }
+    }
+}
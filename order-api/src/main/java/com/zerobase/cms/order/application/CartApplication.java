@@ -1,16 +1,19 @@
 package com.zerobase.cms.order.application;
 
-import com.zerobase.cms.order.domain.model.Product;
-import com.zerobase.cms.order.domain.model.ProductItem;
 import com.zerobase.cms.order.domain.product.AddProductCartForm;
+import com.zerobase.cms.order.domain.product.ProductItemSnapshot;
+import com.zerobase.cms.order.domain.product.ProductSnapshot;
 import com.zerobase.cms.order.domain.redis.Cart;
 import com.zerobase.cms.order.exception.CustomException;
 import com.zerobase.cms.order.exception.ErrorCode;
 import com.zerobase.cms.order.service.CartService;
 import com.zerobase.cms.order.service.ProductSearchService;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -20,15 +23,17 @@ import org.springframework.stereotype.Service;
 public class CartApplication {
     public final CartService cartService;
     private final ProductSearchService productSearchService;;
+    private final MeterRegistry meterRegistry;
+    private final LongAdder skippedWriteCount = new LongAdder();
 
     public Cart addCart(Long customerId, AddProductCartForm form){
-        Product product = productSearchService.getByProductId(form.getId());
+        ProductSnapshot product = productSearchService.getSnapshot(form.getId());
         if(product == null){
             throw new CustomException(ErrorCode.NOT_FOUND_PRODUCT);
         }
 
         Map<Long, Object> itemCountMap = product.getProductItems().stream()
-            .collect(Collectors.toMap(ProductItem::getId, it->it));
+            .collect(Collectors.toMap(ProductItemSnapshot::getId, it->it));
 
         if(form.getItems().stream().anyMatch(formItem -> !itemCountMap.containsKey(formItem.getId()))){
             throw new CustomException(ErrorCode.NOT_FOUND_ITEM);
@@ -49,12 +54,27 @@ public class CartApplication {
 
     public Cart getCart(Long customerId) {
         Cart cart = refreshCart(cartService.getCart(customerId));
-        Cart returnCart = new Cart(customerId);
-        returnCart.setProducts(cart.getProducts());
-        returnCart.setMessages(cart.getMessages());
-        cart.setMessages(new ArrayList<>());
-        cartService.putCart(customerId, cart);
-        return returnCart;
+        // refreshCart 는 바꾼 내용마다 메시지를 남기므로, 메시지가 없으면 저장된 장바구니와 같아 다시 쓰지 않는다.
+        if (cart.getMessages().isEmpty()) {
+            skippedWriteCount.increment();
+            return toReturnCart(customerId, cart, new ArrayList<>());
+        }
+
+        // 메시지는 한 번만 보여주고 지운다. 동시에 장바구니가 바뀌면 다시 읽어 갱신하므로 마지막 결과의 메시지를 돌려준다.
+        Long readVersion = cart.getVersion();
+        List<String> messages = new ArrayList<>();
+        Cart saved = cartService.updateCart(customerId, current -> {
+            Cart refreshed = readVersion != null && readVersion.equals(current.getVersion()) ? cart : refreshCart(current);
+            messages.clear();
+            messages.addAll(refreshed.getMessages());
+            refreshed.setMessages(new ArrayList<>());
+            return refreshed;
+        });
+        return toReturnCart(customerId, saved, messages);
+    }
+
+    public long getSkippedWriteCount() {
+        return skippedWriteCount.sum();
     }
 
     public Cart updateCart(Long customerId, Cart cart){
@@ -63,13 +83,36 @@ public class CartApplication {
     }
 
     protected Cart refreshCart(Cart cart){
-        Map<Long, Product> productMap = productSearchService.getListByProductIds(cart.getProducts()
-                .stream().map(Cart.Product::getId).collect(Collectors.toList()))
-            .stream().collect(Collectors.toMap(Product::getId, product -> product));
+        return refreshCart(cart, true);
+    }
+
+    /**
+     * @param cached false 이면 캐시를 거치지 않고 DB 의 가격과 재고로 갱신한다. 주문처럼 최신 값이 필요할 때 쓴다.
+     */
+    protected Cart refreshCart(Cart cart, boolean cached){
+        long start = System.nanoTime();
+        try {
+            return refresh(cart, cached);
+        } finally {
+            meterRegistry.timer("cart.refresh", "cached", String.valueOf(cached))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Cart refresh(Cart cart, boolean cached){
+        if (cart.getProducts().isEmpty()) {
+            return cart;
+        }
+        List<Long> productIds = cart.getProducts().stream().map(Cart.Product::getId).collect(Collectors.toList());
+        List<ProductSnapshot> products = cached ? productSearchService.getSnapshots(productIds)
+            : productSearchService.getListByProductIds(productIds).stream()
+                .map(ProductSnapshot::from).collect(Collectors.toList());
+        Map<Long, ProductSnapshot> productMap = products.stream()
+            .collect(Collectors.toMap(ProductSnapshot::getId, product -> product));
 
         for(int i = 0; i < cart.getProducts().size(); i++){
             Cart.Product cartProduct = cart.getProducts().get(i);
-            Product product = productMap.get(cartProduct.getId());
+            ProductSnapshot product = productMap.get(cartProduct.getId());
             if(product == null){
                 cart.getProducts().remove(cartProduct);
                 i--;
@@ -77,13 +120,13 @@ public class CartApplication {
                 continue;
             }
 
-            Map<Long, ProductItem> itemMap = product.getProductItems().stream()
-                .collect(Collectors.toMap(ProductItem::getId, item -> item));
+            Map<Long, ProductItemSnapshot> itemMap = product.getProductItems().stream()
+                .collect(Collectors.toMap(ProductItemSnapshot::getId, item -> item));
 
             List<String> tmpMessages = new ArrayList<>();
             for(int j = 0; j < cartProduct.getItems().size(); j++){
                 Cart.ProductItem cartItem = cartProduct.getItems().get(j);
-                ProductItem productItem = itemMap.get(cartItem.getId());
+                ProductItemSnapshot productItem = itemMap.get(cartItem.getId());
                 if(productItem == null){
                     cartProduct.getItems().remove(cartItem);
                     j--;
@@ -126,9 +169,19 @@ public class CartApplication {
         return cart;
     }
 
-    private boolean addable(Cart cart, Product product, AddProductCartForm form){
+    private Cart toReturnCart(Long customerId, Cart cart, List<String> messages) {
+        meterRegistry.summary("cart.size").record(
+            cart.getProducts().stream().mapToInt(product -> product.getItems().size()).sum());
+        Cart returnCart = new Cart(customerId);
+        returnCart.setProducts(cart.getProducts());
+        returnCart.setMessages(messages);
+        returnCart.setVersion(cart.getVersion());
+        return returnCart;
+    }
+
+    private boolean addable(Cart cart, ProductSnapshot product, AddProductCartForm form){
         Map<Long, Integer> dbItemCountMap = product.getProductItems().stream()
-            .collect(Collectors.toMap(ProductItem::getId, ProductItem::getCount));
+            .collect(Collectors.toMap(ProductItemSnapshot::getId, ProductItemSnapshot::getCount));
 
         if(cart == null){
             return form.getItems().stream().noneMatch(
@@ -1,65 +1,199 @@
 package com.zerobase.cms.order.application;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.cms.order.client.RedisClient;
 import com.zerobase.cms.order.client.UserClient;
-import com.zerobase.cms.order.client.mailgun.SendMailForm;
 import com.zerobase.cms.order.client.user.ChangeBalanceForm;
 import com.zerobase.cms.order.client.user.CustomerDto;
-import com.zerobase.cms.order.domain.model.ProductItem;
 import com.zerobase.cms.order.domain.redis.Cart;
 import com.zerobase.cms.order.exception.CustomException;
 import com.zerobase.cms.order.exception.ErrorCode;
+import com.zerobase.cms.order.service.OrderMailOutboxService;
 import com.zerobase.cms.order.service.ProductItemService;
+import com.zerobase.domain.config.JwtAuthenticationProvider;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class OrderApplication {
 
+    private static final String NOT_ENOUGH_BALANCE = "NOT_ENOUGH_BALANCE";
+    private static final String IDEMPOTENCY_KEY_CANCELLED = "IDEMPOTENCY_KEY_CANCELLED";
+    private static final String IDEMPOTENCY_KEY_PREFIX = "order:idempotency:";
+    private static final ObjectMapper mapper = new ObjectMapper();
+
     private final CartApplication cartApplication;
 
     private final UserClient userClient;
+    private final RedisClient redisClient;
+    private final JwtAuthenticationProvider provider;
     private final ProductItemService productItemService;
+    private final OrderMailOutboxService orderMailOutboxService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${order.slow-order-threshold-millis:1000}")
+    private long slowOrderThresholdMillis = 1000;
 
-    @Transactional
-    public Cart order(String token, Cart cart) {
-        Cart orderCart = cartApplication.refreshCart(cart);
+    // user-api 의 customer.balance.idempotency.ttl-millis 보다 길지 않게 둔다.
+    @Value("${order.idempotency.ttl-millis:600000}")
+    private long idempotencyTtlMillis = 600000;
+
+    /**
+     * 단계별 소요 시간을 timings 에 남기고 지표로 기록한다. 전체 시간이 slowOrderThresholdMillis 를 넘으면 로그를 남긴다.
+     * <p>
+     * 재고 차감과 메일 outbox 저장은 각각 짧은 트랜잭션으로 커밋하고, user-api 호출은 트랜잭션 밖에서 한다.
+     * 주문 전체를 한 트랜잭션으로 묶으면 user-api 응답을 기다리는 동안 DB 연결을 붙잡아 동시 주문 수가 연결 풀 크기에 묶인다.
+     * 재고를 차감한 뒤의 단계가 실패하면 차감한 재고를 되돌린다. 그 사이 다른 주문에는 재고가 잠시 적게 보일 수 있다.
+     * 잔액이 차감됐거나 차감됐는지 알 수 없는 채로 실패하면 같은 키로 user-api 에 취소를 보내 잔액도 되돌린다.
+     * <p>
+     * idempotencyKey 를 보내면 같은 키의 주문은 idempotencyTtlMillis 동안 한 번만 처리하고 나머지는 ORDER_DUPLICATE 로 거절한다.
+     * 주문이 실패하면 키를 풀어 준다. 잔액 부족처럼 user-api 가 거절한 주문은 같은 키로 다시 주문할 수 있고,
+     * 잔액을 취소한 주문의 키는 user-api 가 다시 받지 않으므로 ORDER_IDEMPOTENCY_KEY_CANCELLED 로 새 키를 요구한다.
+     */
+    public Cart order(String token, String idempotencyKey, Cart cart, OrderTimings timings) {
+        String lockKey = StringUtils.hasText(idempotencyKey)
+            ? IDEMPOTENCY_KEY_PREFIX + provider.getUserVo(token).getId() + ":" + idempotencyKey
+            : null;
+        if (lockKey != null && !redisClient.setIfAbsent(lockKey, idempotencyTtlMillis)) {
+            throw new CustomException(ErrorCode.ORDER_DUPLICATE);
+        }
+
+        try {
+            Cart orderCart = placeOrder(token, idempotencyKey, cart, timings);
+            timings.end();
+            recordTimings(timings, true);
+            return orderCart;
+        } catch (RuntimeException e) {
+            if (lockKey != null) {
+                redisClient.delete(lockKey);
+            }
+            timings.end();
+            recordTimings(timings, false);
+            throw e;
+        }
+    }
+
+    private Cart placeOrder(String token, String idempotencyKey, Cart cart, OrderTimings timings) {
+        timings.start("refresh");
+        Cart orderCart = cartApplication.refreshCart(cart, false);
         if (orderCart.getMessages().size() > 0) {
             throw new CustomException(ErrorCode.ORDER_FAIL_CHECK_CART);
         }
 
-        CustomerDto customerDto = userClient.getCustomerInfo(token).getBody();
+        Map<Long, Integer> orderCounts = getOrderCounts(orderCart);
+        meterRegistry.summary("order.items").record(orderCounts.size());
+        timings.start("stock");
+        productItemService.decreaseCounts(orderCounts);
+        // 키가 없는 주문은 이 주문의 차감과 취소에만 쓰는 키를 만든다.
+        String balanceKey = StringUtils.hasText(idempotencyKey) ? idempotencyKey : UUID.randomUUID().toString();
+        boolean charged = false;
+        try {
+            timings.start("balance");
+            CustomerDto customerDto = reserveBalance(token, balanceKey, getTotalPrice(orderCart));
+            charged = true;
+
+            // 주문 확인 메일은 outbox 에 저장하고 OrderMailSender 가 따로 보낸다.
+            timings.start("mail");
+            orderMailOutboxService.enqueue(customerDto.getId(), customerDto.getEmail(),
+                customerDto.getEmail() + "님의 " + LocalDate.now().toString() + "일자 주문 확인 메일입니다",
+                orderCart.toString());
+        } catch (RuntimeException e) {
+            if (charged) {
+                cancelBalance(token, balanceKey, e);
+            }
+            restoreCounts(orderCounts, e);
+            throw e;
+        }
+        return orderCart;
+    }
+
+    /**
+     * 같은 키로 user-api 에 잔액 차감 취소를 보낸다. 차감 요청보다 먼저 도착해도 user-api 가 그 키를 막아 두므로 늦게 도착한 차감은 반영되지 않는다.
+     * 취소까지 실패하면 잔액이 차감된 채 남으므로 키를 error 로그에 남긴다. 취소는 몇 번을 보내도 한 번만 반영된다.
+     */
+    private void cancelBalance(String token, String balanceKey, RuntimeException cause) {
+        try {
+            userClient.cancelBalance(token, balanceKey);
+        } catch (RuntimeException e) {
+            log.error("order balance cancel fail. idempotencyKey={}", balanceKey, e);
+            cause.addSuppressed(e);
+        }
+    }
 
-        int totalPrice = getTotalPrice(orderCart);
-        if (customerDto.getBalance() < totalPrice) {
-            throw new CustomException(ErrorCode.ORDER_FAIL_NOT_ENOUGH_BALANCE);
+    // 되돌리기까지 실패하면 원래 예외에 붙여 함께 남긴다. 재고가 실제보다 적게 남는 쪽이라 초과 판매는 생기지 않는다.
+    private void restoreCounts(Map<Long, Integer> orderCounts, RuntimeException cause) {
+        try {
+            productItemService.increaseCounts(orderCounts);
+        } catch (RuntimeException e) {
+            log.error("order stock restore fail. counts={}", orderCounts, e);
+            cause.addSuppressed(e);
         }
+    }
 
-        userClient.changeBalance(token, new ChangeBalanceForm("USER", "Order", -totalPrice));
+    private void recordTimings(OrderTimings timings, boolean committed) {
+        String result = committed ? "success" : "fail";
+        timings.getStageNanos().forEach((stage, nanos) ->
+            meterRegistry.timer("order.stage", "stage", stage, "result", result)
+                .record(nanos, TimeUnit.NANOSECONDS));
+        if (TimeUnit.NANOSECONDS.toMillis(timings.getTotalNanos()) >= slowOrderThresholdMillis) {
+            log.warn("slow order. result={}, {}", result, timings.toServerTiming());
+        }
+    }
 
-        for(Cart.Product product : orderCart.getProducts()){
-            for(Cart.ProductItem cartItem : product.getItems()){
-                ProductItem productItem = productItemService.getProductItem(cartItem.getId());
-                productItem.setCount(productItem.getCount() - cartItem.getCount());
+    /**
+     * 잔액 확인과 차감을 user-api 호출 한 번으로 처리하고 차감 후의 회원 정보를 받는다.
+     * 같은 키로 다시 보내도 user-api 는 한 번만 차감한다.
+     * 4xx 응답은 user-api 가 차감하지 않고 거절한 것이다. 시간 초과나 5xx 처럼 결과를 알 수 없으면 여기서 취소를 보낸다.
+     */
+    private CustomerDto reserveBalance(String token, String balanceKey, int totalPrice) {
+        try {
+            return userClient.reserveBalance(token, balanceKey,
+                new ChangeBalanceForm("USER", "Order", -totalPrice)).getBody();
+        } catch (FeignException.FeignClientException e) {
+            String errorCode = errorCode(e);
+            if (NOT_ENOUGH_BALANCE.equals(errorCode)) {
+                throw new CustomException(ErrorCode.ORDER_FAIL_NOT_ENOUGH_BALANCE);
             }
+            if (IDEMPOTENCY_KEY_CANCELLED.equals(errorCode)) {
+                throw new CustomException(ErrorCode.ORDER_IDEMPOTENCY_KEY_CANCELLED);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            cancelBalance(token, balanceKey, e);
+            throw e;
         }
+    }
 
-        return orderCart;
+    private static String errorCode(FeignException e) {
+        try {
+            return mapper.readTree(e.contentUTF8()).path("errorCode").asText();
+        } catch (JsonProcessingException ex) {
+            return null;
+        }
     }
 
-    public String sendOrderMail(String token, Cart cart){
-        CustomerDto customerDto = userClient.getCustomerInfo(token).getBody();
-        SendMailForm form = SendMailForm.builder()
-            .from("yjjjwww@naver.com")
-            .to(customerDto.getEmail())
-            .subject(customerDto.getEmail() + "님의 " + LocalDate.now().toString() + "일자 주문 확인 메일입니다")
-            .text(cart.toString())
-            .build();
-        userClient.sendEmail(token, form);
-        return cart.toString();
+    private Map<Long, Integer> getOrderCounts(Cart cart) {
+        Map<Long, Integer> countByItemId = new HashMap<>();
+        for (Cart.Product product : cart.getProducts()) {
+            for (Cart.ProductItem cartItem : product.getItems()) {
+                countByItemId.merge(cartItem.getId(), cartItem.getCount(), Integer::sum);
+            }
+        }
+        return countByItemId;
     }
 
     private Integer getTotalPrice(Cart cart) {
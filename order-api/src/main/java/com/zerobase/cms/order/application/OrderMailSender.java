@@ -0,0 +1,102 @@
+package com.zerobase.cms.order.application;
+
+import com.zerobase.cms.order.client.UserClient;
+import com.zerobase.cms.order.client.mailgun.SendMailForm;
+import com.zerobase.cms.order.domain.model.OrderMailOutbox;
+import com.zerobase.cms.order.service.OrderMailOutboxService;
+import com.zerobase.domain.common.UserType;
+import com.zerobase.domain.config.JwtAuthenticationProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * outbox 에 쌓인 주문 확인 메일을 주기적으로 가져와 정해진 수의 스레드로 보낸다.
+ * 한 번에 batchSize 개까지만 가져오고 모두 보낸 뒤에 다음 batch 를 가져오므로 대기열이 커지지 않는다.
+ */
+@Slf4j
+@Service
+public class OrderMailSender {
+
+    private static final String FROM = "yjjjwww@naver.com";
+
+    private final OrderMailOutboxService orderMailOutboxService;
+    private final UserClient userClient;
+    private final JwtAuthenticationProvider provider;
+    private final int batchSize;
+    private final ExecutorService executor;
+    private final Timer sentTimer;
+    private final Timer failedTimer;
+
+    public OrderMailSender(OrderMailOutboxService orderMailOutboxService, UserClient userClient,
+        JwtAuthenticationProvider provider, MeterRegistry meterRegistry,
+        @Value("${order.mail.batch-size:50}") int batchSize,
+        @Value("${order.mail.workers:4}") int workers) {
+        this.orderMailOutboxService = orderMailOutboxService;
+        this.userClient = userClient;
+        this.provider = provider;
+        this.sentTimer = meterRegistry.timer("order.mail.send", "result", "success");
+        this.failedTimer = meterRegistry.timer("order.mail.send", "result", "fail");
+        this.batchSize = batchSize;
+        this.executor = Executors.newFixedThreadPool(workers);
+    }
+
+    @Scheduled(fixedDelayString = "${order.mail.poll-delay-millis:1000}")
+    public void sendPendingMails() throws InterruptedException {
+        List<OrderMailOutbox> mails = orderMailOutboxService.claimDue(batchSize);
+        if (mails.isEmpty()) {
+            return;
+        }
+        List<Callable<Void>> tasks = new ArrayList<>(mails.size());
+        for (OrderMailOutbox mail : mails) {
+            tasks.add(() -> {
+                send(mail);
+                return null;
+            });
+        }
+        executor.invokeAll(tasks);
+    }
+
+    @Scheduled(fixedDelayString = "${order.mail.cleanup-delay-millis:3600000}")
+    public void deleteSentMails() {
+        int deleted = orderMailOutboxService.deleteSent();
+        if (deleted > 0) {
+            log.info("sent order mails deleted. count={}", deleted);
+        }
+    }
+
+    void send(OrderMailOutbox mail) {
+        long start = System.nanoTime();
+        try {
+            // 주문 요청의 토큰은 저장하지 않고 보낼 때 고객 토큰을 새로 만든다.
+            String token = provider.createToken(mail.getEmail(), mail.getCustomerId(), UserType.CUSTOMER);
+            userClient.sendEmail(token, SendMailForm.builder()
+                .from(FROM)
+                .to(mail.getEmail())
+                .subject(mail.getSubject())
+                .text(mail.getText())
+                .build());
+            orderMailOutboxService.markSent(mail.getId());
+            sentTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            log.warn("order mail send fail. id={}", mail.getId(), e);
+            orderMailOutboxService.markFailed(mail.getId());
+            failedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
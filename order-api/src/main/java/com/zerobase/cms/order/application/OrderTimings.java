@@ -0,0 +1,58 @@
+package com.zerobase.cms.order.application;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 주문 한 건의 단계별 소요 시간. start 로 다음 단계를 시작하면 진행 중이던 단계는 끝난 것으로 본다.
+ * 예외로 중간에 끝나면 마지막으로 시작한 단계가 실패한 단계로 남는다. 한 요청 스레드에서만 쓴다.
+ */
+public class OrderTimings {
+
+    public static final String HEADER = "Server-Timing";
+
+    private final Map<String, Long> stageNanos = new LinkedHashMap<>();
+    private final long startedAt;
+    private long endedAt;
+    private String stage;
+    private long stageStartedAt;
+
+    public OrderTimings() {
+        this.startedAt = System.nanoTime();
+        this.endedAt = startedAt;
+    }
+
+    public void start(String stage) {
+        end();
+        this.stage = stage;
+        this.stageStartedAt = System.nanoTime();
+    }
+
+    public void end() {
+        endedAt = System.nanoTime();
+        if (stage != null) {
+            stageNanos.merge(stage, endedAt - stageStartedAt, Long::sum);
+            stage = null;
+        }
+    }
+
+    public Map<String, Long> getStageNanos() {
+        return Collections.unmodifiableMap(stageNanos);
+    }
+
+    public long getTotalNanos() {
+        return endedAt - startedAt;
+    }
+
+    // 예) refresh;dur=1.2, stock;dur=3.4, total;dur=4.6 (ms)
+    public String toServerTiming() {
+        StringBuilder sb = new StringBuilder();
+        stageNanos.forEach((name, nanos) -> sb.append(name).append(";dur=").append(millis(nanos)).append(", "));
+        return sb.append("total;dur=").append(millis(getTotalNanos())).toString();
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 100_000.0) / 10.0;
+    }
+}
@@ -3,48 +3,301 @@ package com.zerobase.cms.order.client;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.domain.redis.CartFieldChanges;
+import com.zerobase.cms.order.domain.redis.CartHashCodec;
 import com.zerobase.cms.order.exception.CustomException;
 import com.zerobase.cms.order.exception.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Service;
 import org.springframework.util.ObjectUtils;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class RedisClient {
 
+    private static final int MAX_CAS_ATTEMPTS = 5;
+    private static final long CAS_BACKOFF_MILLIS = 2;
+
     private final RedisTemplate<String, Object> redisTemplate;
     private static final ObjectMapper mapper = new ObjectMapper();
+    private final LongAdder conflictCount = new LongAdder();
+    private final LongAdder conflictFailureCount = new LongAdder();
+    private final Timer jsonReadTimer;
+    private final Timer jsonWriteTimer;
+    private final Timer hashDecodeTimer;
+    private final Timer hashEncodeTimer;
+
+    public RedisClient(RedisTemplate<String, Object> redisTemplate, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.jsonReadTimer = serializationTimer(meterRegistry, "json", "read");
+        this.jsonWriteTimer = serializationTimer(meterRegistry, "json", "write");
+        this.hashDecodeTimer = serializationTimer(meterRegistry, "hash", "read");
+        this.hashEncodeTimer = serializationTimer(meterRegistry, "hash", "write");
+    }
 
     public <T> T get(Long key, Class<T> classType){
         return get(key.toString(), classType);
     }
 
     private <T> T get(String key, Class<T> classType){
-        String redisValue = (String) redisTemplate.opsForValue().get(key);
+        return read((String) redisTemplate.opsForValue().get(key), classType);
+    }
+
+    private <T> T read(String redisValue, Class<T> classType){
         if(ObjectUtils.isEmpty(redisValue)){
             return null;
         }
+        long start = System.nanoTime();
         try {
             return mapper.readValue(redisValue, classType);
         } catch (JsonProcessingException e) {
             log.error("Parsing error", e);
             return null;
+        } finally {
+            jsonReadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
 
     public void put(Long key, Cart cart){
-        put(key.toString(), cart);
+        redisTemplate.opsForValue().set(key.toString(), write(cart));
+    }
+
+    // 키가 없을 때만 ttl 과 함께 저장하고, 저장했으면 true 를 돌려준다.
+    public boolean setIfAbsent(String key, long ttlMillis) {
+        return Boolean.TRUE.equals(
+            redisTemplate.opsForValue().setIfAbsent(key, "1", ttlMillis, TimeUnit.MILLISECONDS));
     }
 
-    private void put(String key, Cart cart){
+    public void delete(String key) {
+        redisTemplate.delete(key);
+    }
+
+    /**
+     * 장바구니 키를 WATCH 한 상태에서 읽어 mutation 을 적용하고 MULTI/EXEC 로 저장한다.
+     * 그 사이 다른 요청이 장바구니를 바꾸면 EXEC 가 취소되므로 다시 읽어 최대 {@value MAX_CAS_ATTEMPTS} 번까지 시도한다.
+     * mutation 은 재시도마다 새로 읽은 장바구니로 다시 호출된다.
+     */
+    public Cart updateCart(Long customerId, UnaryOperator<Cart> mutation) {
+        String key = customerId.toString();
+        return compareAndSet(key, operations -> {
+            Cart current = read((String) operations.opsForValue().get(key), Cart.class);
+            Cart cart = mutation.apply(current);
+            if (cart != null) {
+                cart.setVersion(nextVersion(current));
+            }
+            String value = write(cart);
+            return new PreparedWrite<>(ops -> ops.opsForValue().set(key, value), results -> cart);
+        });
+    }
+
+    public Cart getCartHash(Long customerId) {
+        HashOperations<String, String, String> hash = redisTemplate.opsForHash();
+        Map<String, String> fields = hash.entries(CartHashCodec.key(customerId));
+        if (fields.isEmpty()) {
+            return migrateCart(customerId);
+        }
+        return decode(customerId, fields);
+    }
+
+    // 장바구니 전체를 교체한다. 이전 JSON 문자열 키도 함께 지워 다시 이관되지 않게 한다.
+    public Cart updateCartHash(Long customerId, UnaryOperator<Cart> mutation) {
+        String key = CartHashCodec.key(customerId);
+        migrateCart(customerId);
+        return compareAndSet(key, operations -> {
+            HashOperations<String, String, String> hash = operations.opsForHash();
+            Map<String, String> currentFields = hash.entries(key);
+            Cart current = currentFields.isEmpty() ? null : decode(customerId, currentFields);
+            Cart cart = mutation.apply(current);
+            if (cart != null) {
+                cart.setVersion(nextVersion(current));
+            }
+            Map<String, String> fields = cart == null ? null : encode(cart);
+            return new PreparedWrite<>(ops -> {
+                ops.delete(key);
+                ops.delete(customerId.toString());
+                if (fields != null) {
+                    ops.opsForHash().putAll(key, fields);
+                }
+            }, results -> cart);
+        });
+    }
+
+    // 변경할 필드만 읽고 쓰며, 같은 트랜잭션 안에서 HGETALL 로 결과 장바구니를 읽는다.
+    public Cart updateCartFields(Long customerId, List<String> fieldNames,
+        Function<List<String>, CartFieldChanges> change) {
+        String key = CartHashCodec.key(customerId);
+        migrateCart(customerId);
+        return compareAndSet(key, operations -> {
+            HashOperations<String, String, String> hash = operations.opsForHash();
+            CartFieldChanges changes = change.apply(hash.multiGet(key, fieldNames));
+            return new PreparedWrite<>(ops -> {
+                HashOperations<String, String, String> writeHash = ops.opsForHash();
+                if (!changes.getFields().isEmpty()) {
+                    writeHash.putAll(key, changes.getFields());
+                }
+                for (Map.Entry<String, Long> increment : changes.getIncrements().entrySet()) {
+                    writeHash.increment(key, increment.getKey(), increment.getValue());
+                }
+                writeHash.increment(key, CartHashCodec.VERSION_FIELD, 1);
+                writeHash.entries(key);
+            }, results -> {
+                @SuppressWarnings("unchecked")
+                Map<String, String> entries = (Map<String, String>) results.get(results.size() - 1);
+                return decode(customerId, entries);
+            });
+        });
+    }
+
+    /**
+     * JSON 문자열로 저장된 장바구니가 있으면 hash 로 옮긴다.
+     * 처음 들어온 두 요청이 같은 JSON 을 읽더라도, 먼저 이관하고 필드를 바꾼 hash 를 나중 요청이 옛 값으로 덮어쓰지 않도록
+     * 두 키를 함께 WATCH 하고 hash 가 이미 있으면 JSON 키만 지운다.
+     */
+    public Cart migrateCart(Long customerId) {
+        String legacyKey = customerId.toString();
+        if (!Boolean.TRUE.equals(redisTemplate.hasKey(legacyKey))) {
+            return null;
+        }
+        String key = CartHashCodec.key(customerId);
+        return compareAndSet(Arrays.asList(legacyKey, key), operations -> {
+            HashOperations<String, String, String> hash = operations.opsForHash();
+            Map<String, String> currentFields = hash.entries(key);
+            if (!currentFields.isEmpty()) {
+                Cart current = decode(customerId, currentFields);
+                return new PreparedWrite<>(ops -> ops.delete(legacyKey), results -> current);
+            }
+            Cart cart = read((String) operations.opsForValue().get(legacyKey), Cart.class);
+            if (cart == null) {
+                return new PreparedWrite<>(ops -> ops.delete(legacyKey), results -> null);
+            }
+            cart.setCustomerId(customerId);
+            Map<String, String> fields = encode(cart);
+            return new PreparedWrite<>(ops -> {
+                ops.opsForHash().putAll(key, fields);
+                ops.delete(legacyKey);
+            }, results -> cart);
+        });
+    }
+
+    public long getConflictCount() {
+        return conflictCount.sum();
+    }
+
+    public long getConflictFailureCount() {
+        return conflictFailureCount.sum();
+    }
+
+    private <T> T compareAndSet(String key,
+        Function<RedisOperations<String, Object>, PreparedWrite<T>> operation) {
+        return compareAndSet(Collections.singletonList(key), operation);
+    }
+
+    private <T> T compareAndSet(List<String> keys,
+        Function<RedisOperations<String, Object>, PreparedWrite<T>> operation) {
+        for (int attempt = 0; attempt < MAX_CAS_ATTEMPTS; attempt++) {
+            List<PreparedWrite<T>> prepared = new ArrayList<>(1);
+            List<Object> results = redisTemplate.execute(new SessionCallback<List<Object>>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public List<Object> execute(RedisOperations operations) {
+                    operations.watch(keys);
+                    try {
+                        prepared.add(operation.apply(operations));
+                    } catch (RuntimeException e) {
+                        operations.unwatch();
+                        throw e;
+                    }
+                    operations.multi();
+                    prepared.get(0).commands.accept(operations);
+                    return operations.exec();
+                }
+            });
+            // WATCH 한 키가 바뀌어 EXEC 가 취소되면 결과가 비어 있다.
+            if (results != null && !results.isEmpty()) {
+                return prepared.get(0).result.apply(results);
+            }
+            conflictCount.increment();
+            if (attempt + 1 < MAX_CAS_ATTEMPTS) {
+                backoff(attempt);
+            }
+        }
+        conflictFailureCount.increment();
+        log.warn("cart update conflict. keys={}", keys);
+        throw new CustomException(ErrorCode.CART_CONFLICT);
+    }
+
+    // 충돌한 요청이 동시에 다시 시도하지 않도록 시도 횟수에 비례한 범위에서 임의로 기다린다.
+    private static void backoff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(CAS_BACKOFF_MILLIS << attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomException(ErrorCode.CART_CONFLICT);
+        }
+    }
+
+    private static long nextVersion(Cart current) {
+        return current == null || current.getVersion() == null ? 1 : current.getVersion() + 1;
+    }
+
+    private String write(Cart cart) {
+        long start = System.nanoTime();
         try {
-            redisTemplate.opsForValue().set(key, mapper.writeValueAsString(cart));
+            return mapper.writeValueAsString(cart);
         } catch (JsonProcessingException e) {
             throw new CustomException(ErrorCode.CART_CHANGE_FAIL);
+        } finally {
+            jsonWriteTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
+
+    private Cart decode(Long customerId, Map<String, String> fields) {
+        long start = System.nanoTime();
+        try {
+            return CartHashCodec.decode(customerId, fields);
+        } finally {
+            hashDecodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Map<String, String> encode(Cart cart) {
+        long start = System.nanoTime();
+        try {
+            return CartHashCodec.encode(cart);
+        } finally {
+            hashEncodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Redis 왕복과 별개로 장바구니를 JSON 이나 hash 필드로 바꾸는 데 드는 시간을 잰다.
+    private static Timer serializationTimer(MeterRegistry meterRegistry, String format, String operation) {
+        return Timer.builder("cart.serialization")
+            .tag("format", format)
+            .tag("operation", operation)
+            .register(meterRegistry);
+    }
+
+    @RequiredArgsConstructor
+    private static class PreparedWrite<T> {
+        private final Consumer<RedisOperations<String, Object>> commands;
+        private final Function<List<Object>, T> result;
+    }
 }
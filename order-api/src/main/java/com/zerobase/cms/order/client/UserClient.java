@@ -16,10 +16,15 @@ public interface UserClient {
     @GetMapping("/customer/getInfo")
     ResponseEntity<CustomerDto> getCustomerInfo(@RequestHeader(name = "X-Auth-Token") String token);
 
-    @PostMapping("/customer/balance")
-    ResponseEntity<?> changeBalance(@RequestHeader(name = "X-Auth-Token") String token,
+    @PostMapping("/customer/balance/reserve")
+    ResponseEntity<CustomerDto> reserveBalance(@RequestHeader(name = "X-Auth-Token") String token,
+        @RequestHeader(name = "Idempotency-Key") String idempotencyKey,
         @RequestBody ChangeBalanceForm form);
 
+    @PostMapping("/customer/balance/cancel")
+    ResponseEntity<Void> cancelBalance(@RequestHeader(name = "X-Auth-Token") String token,
+        @RequestHeader(name = "Idempotency-Key") String idempotencyKey);
+
     @PostMapping(value = "/email", produces = "application/json")
     ResponseEntity<String> sendEmail(@RequestHeader(name = "X-Auth-Token") String token,
         @RequestBody SendMailForm form);
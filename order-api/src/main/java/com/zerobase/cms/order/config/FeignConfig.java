@@ -0,0 +1,57 @@
+package com.zerobase.cms.order.config;
+
+import feign.Client;
+import feign.Response;
+import feign.Util;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FeignConfig {
+
+    // 기본 Client(HttpURLConnection)는 keep-alive 연결을 5개까지만 남기므로 동시 주문이 많으면 연결을 계속 새로 맺는다.
+    // 동시에 보낼 수 있는 만큼 유휴 연결을 남기는 OkHttp 로 보낸다.
+    @Bean
+    public OkHttpClient okHttpClient(
+        @Value("${feign.okhttp.max-idle-connections:${feign.okhttp.max-connections:200}}") int maxIdleConnections,
+        @Value("${feign.okhttp.keep-alive-millis:300000}") long keepAliveMillis) {
+        return new OkHttpClient.Builder()
+            .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveMillis, TimeUnit.MILLISECONDS))
+            .connectTimeout(5, TimeUnit.SECONDS)
+            .readTimeout(30, TimeUnit.SECONDS)
+            .build();
+    }
+
+    /**
+     * 동시에 user-api 로 나가는 요청 수를 max-connections 로 제한한다.
+     * 플랫폼 스레드에서는 Tomcat 스레드 수가 이 역할을 했지만 가상 스레드에서는 요청마다 스레드가 생기므로
+     * 제한이 없으면 부하만큼 연결을 새로 맺어 user-api 까지 밀려든다. 넘치는 요청은 여기서 순서를 기다린다.
+     */
+    @Bean
+    public Client feignClient(OkHttpClient okHttpClient,
+        @Value("${feign.okhttp.max-connections:200}") int maxConnections) {
+        Client delegate = new feign.okhttp.OkHttpClient(okHttpClient);
+        Semaphore permits = new Semaphore(maxConnections);
+        return (request, options) -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            // 응답 본문까지 읽은 뒤 놓아야 연결이 풀로 돌아간 다음에 다음 요청이 나간다. user-api 응답은 작은 JSON 이다.
+            try (Response response = delegate.execute(request, options)) {
+                byte[] body = response.body() == null ? null : Util.toByteArray(response.body().asInputStream());
+                return response.toBuilder().body(body).build();
+            } finally {
+                permits.release();
+            }
+        };
+    }
+}
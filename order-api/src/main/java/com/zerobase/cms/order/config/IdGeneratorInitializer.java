@@ -0,0 +1,62 @@
+package com.zerobase.cms.order.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 상품과 옵션 id 는 IDENTITY 에서 hibernate_sequences 테이블로 옮겼다.
+ * 이미 저장된 id 와 겹치지 않도록 서버가 요청을 받기 전에 다음 id 를 테이블의 최대 id 보다 크게 맞춘다.
+ * ddl-auto 를 끈 운영 DB 에도 테이블과 행이 없을 수 있으므로 없으면 여기서 만든다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdGeneratorInitializer implements SmartInitializingSingleton {
+
+    static final Map<String, String> TABLE_BY_SEGMENT = new LinkedHashMap<>();
+
+    static {
+        TABLE_BY_SEGMENT.put("product", "product");
+        TABLE_BY_SEGMENT.put("product_item", "product_item");
+    }
+
+    // Hibernate TableGenerator 의 기본 컬럼과 같다.
+    static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS hibernate_sequences ("
+        + "sequence_name VARCHAR(255) NOT NULL, next_val BIGINT, PRIMARY KEY (sequence_name))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        jdbcTemplate.execute(CREATE_TABLE);
+        TABLE_BY_SEGMENT.forEach(this::initialize);
+    }
+
+    void initialize(String segment, String table) {
+        String maxId = "SELECT COALESCE(MAX(id), 0) FROM " + table;
+        int updated = jdbcTemplate.update("UPDATE hibernate_sequences SET next_val = (" + maxId + ") + 1"
+            + " WHERE sequence_name = ? AND next_val <= (" + maxId + ")", segment);
+        if (updated > 0) {
+            log.info("id generator moved past existing rows. segment={}", segment);
+            return;
+        }
+        Integer rows = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM hibernate_sequences WHERE sequence_name = ?", Integer.class, segment);
+        if (rows != null && rows > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO hibernate_sequences (sequence_name, next_val)"
+                + " SELECT ?, COALESCE(MAX(id), 0) + 1 FROM " + table, segment);
+            log.info("id generator created. segment={}", segment);
+        } catch (DuplicateKeyException e) {
+            // 다른 서버가 먼저 넣었다.
+        }
+    }
+}
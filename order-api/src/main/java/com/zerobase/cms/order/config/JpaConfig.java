@@ -0,0 +1,21 @@
+package com.zerobase.cms.order.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaConfig {
+
+    // 같은 테이블의 insert/update 를 모아 한 번에 보낸다.
+    @Bean
+    public HibernatePropertiesCustomizer batchPropertiesCustomizer(
+        @Value("${order.jpa.batch-size:100}") int batchSize) {
+        return properties -> {
+            properties.put("hibernate.jdbc.batch_size", batchSize);
+            properties.put("hibernate.order_inserts", true);
+            properties.put("hibernate.order_updates", true);
+        };
+    }
+}
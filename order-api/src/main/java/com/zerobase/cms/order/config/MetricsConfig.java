@@ -0,0 +1,64 @@
+package com.zerobase.cms.order.config;
+
+import com.zerobase.cms.order.application.CartApplication;
+import com.zerobase.cms.order.client.RedisClient;
+import com.zerobase.cms.order.service.ProductSnapshotCache;
+import com.zerobase.domain.config.JwtAuthenticationProvider;
+import com.zerobase.domain.config.SpringfoxHandlerMappingFilter;
+import com.zerobase.domain.config.VerifiedTokenCache;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+/**
+ * /actuator/prometheus 로 지표를 내보낸다. 노출할 endpoint 와 히스토그램 설정은 metrics.properties 에 있고,
+ * 외부 설정 파일에 같은 키가 있으면 그 값이 우선한다.
+ */
+@Configuration
+@PropertySource("classpath:metrics.properties")
+public class MetricsConfig {
+
+    // actuator endpoint 와 springfox 를 함께 띄우기 위한 우회 설정. 이유는 SpringfoxHandlerMappingFilter 에 적어 두었다.
+    @Bean
+    public static SpringfoxHandlerMappingFilter springfoxHandlerMappingFilter() {
+        return new SpringfoxHandlerMappingFilter();
+    }
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    // MeterBinder 는 MeterRegistry 를 만드는 도중에 바인딩되어 이 빈들과 순환 참조가 생기므로 모든 싱글톤이 만들어진 뒤 등록한다.
+    @Bean
+    public SmartInitializingSingleton counterMetrics(MeterRegistry meterRegistry, RedisClient redisClient,
+        CartApplication cartApplication, ProductSnapshotCache productSnapshotCache,
+        JwtAuthenticationProvider jwtAuthenticationProvider) {
+        return () -> {
+            FunctionCounter.builder("cart.redis.conflicts", redisClient, RedisClient::getConflictCount)
+                .register(meterRegistry);
+            FunctionCounter.builder("cart.redis.conflict.failures", redisClient, RedisClient::getConflictFailureCount)
+                .register(meterRegistry);
+            FunctionCounter.builder("cart.write.skipped", cartApplication, CartApplication::getSkippedWriteCount)
+                .register(meterRegistry);
+            FunctionCounter.builder("cache.gets", productSnapshotCache, ProductSnapshotCache::getHitCount)
+                .tags("cache", "product-snapshot", "result", "hit")
+                .register(meterRegistry);
+            FunctionCounter.builder("cache.gets", productSnapshotCache, ProductSnapshotCache::getMissCount)
+                .tags("cache", "product-snapshot", "result", "miss")
+                .register(meterRegistry);
+
+            VerifiedTokenCache tokenCache = jwtAuthenticationProvider.getTokenCache();
+            FunctionCounter.builder("cache.gets", tokenCache, VerifiedTokenCache::getHitCount)
+                .tags("cache", "verified-token", "result", "hit")
+                .register(meterRegistry);
+            FunctionCounter.builder("cache.gets", tokenCache, VerifiedTokenCache::getMissCount)
+                .tags("cache", "verified-token", "result", "miss")
+                .register(meterRegistry);
+        };
+    }
+}
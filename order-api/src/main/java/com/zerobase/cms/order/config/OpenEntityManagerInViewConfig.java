@@ -0,0 +1,30 @@
+package com.zerobase.cms.order.config;
+
+import javax.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Boot 의 open-in-view 를 끄고(jpa.properties) 같은 interceptor 를 주문 API 만 빼고 등록한다.
+ * open-in-view 에서는 요청 안에서 한 번 잡은 DB 연결을 트랜잭션이 끝나도 요청이 끝날 때까지 놓지 않으므로,
+ * 주문이 user-api 응답을 기다리는 동안에도 연결을 붙잡는다. 주문 API 는 트랜잭션마다 연결을 돌려준다.
+ */
+@Configuration
+@PropertySource("classpath:jpa.properties")
+@RequiredArgsConstructor
+public class OpenEntityManagerInViewConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory.getObject());
+        registry.addWebRequestInterceptor(interceptor).excludePathPatterns("/customer/cart/order");
+    }
+}
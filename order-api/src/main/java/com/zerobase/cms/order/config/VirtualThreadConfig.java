@@ -0,0 +1,27 @@
+package com.zerobase.cms.order.config;
+
+import java.util.concurrent.Executors;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * spring.threads.virtual.enabled=true 이면 Tomcat 이 요청마다 가상 스레드를 만들어 처리한다.
+ * 속성이 없으면 꺼져 있고 Tomcat 의 기존 스레드 풀로 처리한다.
+ * UserClient(Feign)와 Redis 호출은 요청 스레드에서 동기로 실행되므로, 응답을 기다리는 동안
+ * 플랫폼 스레드를 붙잡지 않는다. 동시 요청 수가 Tomcat 스레드 수에 묶이지 않으므로 user-api 로 나가는 호출은
+ * FeignConfig 가, DB 연결은 Hikari 풀이 상한이 된다.
+ * Boot 3.2 부터는 같은 속성을 Boot 가 직접 처리하므로 그때 이 설정은 지운다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadExecutorCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("tomcat-handler-", 0).factory()));
+    }
+}
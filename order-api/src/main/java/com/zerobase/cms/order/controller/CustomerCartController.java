@@ -2,6 +2,7 @@ package com.zerobase.cms.order.controller;
 
 import com.zerobase.cms.order.application.CartApplication;
 import com.zerobase.cms.order.application.OrderApplication;
+import com.zerobase.cms.order.application.OrderTimings;
 import com.zerobase.cms.order.domain.product.AddProductCartForm;
 import com.zerobase.cms.order.domain.redis.Cart;
 import com.zerobase.domain.config.JwtAuthenticationProvider;
@@ -50,8 +51,12 @@ public class CustomerCartController {
     @PostMapping("/order")
     public ResponseEntity<String> order(
         @RequestHeader(name = "X-Auth-Token") String token,
+        @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
         @RequestBody Cart cart) {
-        Cart orderCart = orderApplication.order(token, cart);
-        return ResponseEntity.ok(orderApplication.sendOrderMail(token, orderCart));
+        OrderTimings timings = new OrderTimings();
+        Cart orderCart = orderApplication.order(token, idempotencyKey, cart, timings);
+        return ResponseEntity.ok()
+            .header(OrderTimings.HEADER, timings.toServerTiming())
+            .body(orderCart.toString());
     }
 }
@@ -1,6 +1,7 @@
 package com.zerobase.cms.order.controller;
 
 import com.zerobase.cms.order.domain.product.ProductDto;
+import com.zerobase.cms.order.domain.product.ProductSearchDto;
 import com.zerobase.cms.order.service.ProductSearchService;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -23,6 +24,26 @@ public class SearchController {
             .map(ProductDto::fromWithoutItems).collect(Collectors.toList()));
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<List<ProductSearchDto>> searchByNamePage(@RequestParam String name,
+        @RequestParam(defaultValue = "0") int page,
+        @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(productSearchService.searchByName(name, page, size));
+    }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<List<ProductSearchDto>> searchByNameAfter(@RequestParam String name,
+        @RequestParam(required = false) Long lastId,
+        @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(productSearchService.searchByNameAfter(name, lastId, size));
+    }
+
+    @GetMapping("/fulltext")
+    public ResponseEntity<List<ProductSearchDto>> searchByIndex(@RequestParam String query,
+        @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(productSearchService.searchByIndex(query, size));
+    }
+
     @GetMapping("/detail")
     public ResponseEntity<ProductDto> getDetail(@RequestParam Long productId) {
         return ResponseEntity.ok(ProductDto.from(productSearchService.getByProductId(productId)));
@@ -3,12 +3,15 @@ package com.zerobase.cms.order.controller;
 import com.zerobase.cms.order.domain.product.AddProductForm;
 import com.zerobase.cms.order.domain.product.AddProductItemForm;
 import com.zerobase.cms.order.domain.product.ProductDto;
+import com.zerobase.cms.order.domain.product.ProductImportResult;
 import com.zerobase.cms.order.domain.product.ProductItemDto;
 import com.zerobase.cms.order.domain.product.UpdateProductForm;
 import com.zerobase.cms.order.domain.product.UpdateProductItemForm;
+import com.zerobase.cms.order.service.ProductImportService;
 import com.zerobase.cms.order.service.ProductItemService;
 import com.zerobase.cms.order.service.ProductService;
 import com.zerobase.domain.config.JwtAuthenticationProvider;
+import java.io.InputStream;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -27,6 +30,7 @@ public class SellerProductController {
 
     private final ProductService productService;
     private final ProductItemService productItemService;
+    private final ProductImportService productImportService;
     private final JwtAuthenticationProvider provider;
 
     @PostMapping
@@ -37,12 +41,28 @@ public class SellerProductController {
         return ResponseEntity.ok(ProductDto.from(productService.addProduct(provider.getUserVo(token).getId(), form)));
     }
 
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<ProductImportResult> importProductsNdjson(
+        @RequestHeader(name = "X-AUTH-TOKEN") String token,
+        InputStream body
+    ) {
+        return ResponseEntity.ok(productImportService.importNdjson(provider.getUserVo(token).getId(), body));
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ProductImportResult> importProductsCsv(
+        @RequestHeader(name = "X-AUTH-TOKEN") String token,
+        InputStream body
+    ) {
+        return ResponseEntity.ok(productImportService.importCsv(provider.getUserVo(token).getId(), body));
+    }
+
     @PostMapping("/item")
-    public ResponseEntity<ProductDto> addProductItem(
+    public ResponseEntity<ProductItemDto> addProductItem(
         @RequestHeader(name = "X-AUTH-TOKEN") String token,
         @RequestBody AddProductItemForm form
     ) {
-        return ResponseEntity.ok(ProductDto.from(productItemService.addProductItem(provider.getUserVo(token).getId(), form)));
+        return ResponseEntity.ok(ProductItemDto.from(productItemService.addProductItem(provider.getUserVo(token).getId(), form)));
     }
 
     @PutMapping
@@ -7,7 +7,6 @@ import java.util.stream.Collectors;
 import javax.persistence.CascadeType;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.OneToMany;
@@ -16,6 +15,8 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.envers.AuditOverride;
 import org.hibernate.envers.Audited;
 
@@ -28,8 +29,15 @@ import org.hibernate.envers.Audited;
 @Audited
 @AuditOverride(forClass = BaseEntity.class)
 public class Product extends BaseEntity{
+    // IDENTITY 는 insert 를 배치로 묶을 수 없어 hibernate_sequences 테이블에서 id 를 100개씩 받아 쓴다.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "product_id")
+    @GenericGenerator(name = "product_id", strategy = "org.hibernate.id.enhanced.TableGenerator", parameters = {
+        @Parameter(name = "table_name", value = "hibernate_sequences"),
+        @Parameter(name = "segment_value", value = "product"),
+        @Parameter(name = "increment_size", value = "100"),
+        @Parameter(name = "optimizer", value = "pooled-lo")
+    })
     private Long id;
 
     private Long sellerId;
@@ -3,15 +3,18 @@ package com.zerobase.cms.order.domain.model;
 import com.zerobase.cms.order.domain.product.AddProductItemForm;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.envers.AuditOverride;
 import org.hibernate.envers.Audited;
 
@@ -21,11 +24,20 @@ import org.hibernate.envers.Audited;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+// 주문의 재고 차감은 ProductItemRepository.decreaseCounts 의 JDBC UPDATE 로 처리되어 이력이 남지 않는다.
+// 셀러가 재고를 고치거나 다시 채운 경우는 다른 수정과 같이 이력에 남는다.
 @Audited
 @AuditOverride(forClass = BaseEntity.class)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_product_item_product_id_name", columnNames = {"product_id", "name"}))
 public class ProductItem extends BaseEntity{
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "product_item_id")
+    @GenericGenerator(name = "product_item_id", strategy = "org.hibernate.id.enhanced.TableGenerator", parameters = {
+        @Parameter(name = "table_name", value = "hibernate_sequences"),
+        @Parameter(name = "segment_value", value = "product_item"),
+        @Parameter(name = "increment_size", value = "100"),
+        @Parameter(name = "optimizer", value = "pooled-lo")
+    })
     private Long id;
 
     private Long sellerId;
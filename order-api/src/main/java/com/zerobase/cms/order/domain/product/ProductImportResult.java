@@ -0,0 +1,60 @@
+package com.zerobase.cms.order.domain.product;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 상품 일괄 등록 결과. 청크마다 저장 결과를 남기고, 등록하지 못한 상품은 파일의 줄 번호와 사유를 남긴다.
+ * 사유는 maxErrors 개까지만 남기고 나머지는 failedCount 에만 더한다.
+ */
+@Getter
+public class ProductImportResult {
+
+    private int totalCount;
+    private int importedCount;
+    private int failedCount;
+    private final List<Chunk> chunks = new ArrayList<>();
+    private final List<ImportError> errors = new ArrayList<>();
+
+    public void addChunk(long firstLine, long lastLine, int count, boolean saved) {
+        chunks.add(new Chunk(chunks.size() + 1, firstLine, lastLine, count, saved));
+        totalCount += count;
+        if (saved) {
+            importedCount += count;
+        } else {
+            failedCount += count;
+        }
+    }
+
+    public void addError(long line, String message, int maxErrors) {
+        totalCount++;
+        failedCount++;
+        addMessage(line, message, maxErrors);
+    }
+
+    // 상품 수에 더하지 않고 사유만 남긴다.
+    public void addMessage(long line, String message, int maxErrors) {
+        if (errors.size() < maxErrors) {
+            errors.add(new ImportError(line, message));
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Chunk {
+        private int index;
+        private long firstLine;
+        private long lastLine;
+        private int count;
+        private boolean saved;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ImportError {
+        private long line;
+        private String message;
+    }
+}
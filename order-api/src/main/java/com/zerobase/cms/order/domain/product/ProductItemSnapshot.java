@@ -0,0 +1,22 @@
+package com.zerobase.cms.order.domain.product;
+
+import com.zerobase.cms.order.domain.model.ProductItem;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProductItemSnapshot {
+    private final Long id;
+    private final String name;
+    private final Integer price;
+    private final Integer count;
+
+    public static ProductItemSnapshot from(ProductItem productItem) {
+        return new ProductItemSnapshot(
+            productItem.getId(),
+            productItem.getName(),
+            productItem.getPrice(),
+            productItem.getCount());
+    }
+}
@@ -0,0 +1,32 @@
+package com.zerobase.cms.order.domain.product;
+
+import com.zerobase.cms.order.domain.model.Product;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 장바구니 갱신에 필요한 상품 정보만 담은 불변 객체. 캐시에 보관되어 여러 요청이 함께 읽는다.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductSnapshot {
+    private final Long id;
+    private final Long sellerId;
+    private final String name;
+    private final String description;
+    private final List<ProductItemSnapshot> productItems;
+
+    public static ProductSnapshot from(Product product) {
+        return new ProductSnapshot(
+            product.getId(),
+            product.getSellerId(),
+            product.getName(),
+            product.getDescription(),
+            Collections.unmodifiableList(product.getProductItems().stream()
+                .map(ProductItemSnapshot::from)
+                .collect(Collectors.toList())));
+    }
+}
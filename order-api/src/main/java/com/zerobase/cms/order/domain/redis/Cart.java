@@ -21,6 +21,8 @@ public class Cart {
     private Long customerId;
     private List<Product> products = new ArrayList<>();
     private List<String> messages = new ArrayList<>();
+    // 저장할 때마다 1씩 증가한다. 값이 있는 장바구니로 덮어쓰면 저장된 버전과 같을 때만 반영된다.
+    private Long version;
 
     public Cart(Long customerId) {
         this.customerId = customerId;
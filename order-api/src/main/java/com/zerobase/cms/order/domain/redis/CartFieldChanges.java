@@ -0,0 +1,23 @@
+package com.zerobase.cms.order.domain.redis;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * Redis hash 장바구니에 쓸 필드 값과 HINCRBY 로 더할 값.
+ */
+@Getter
+public class CartFieldChanges {
+
+    private final Map<String, String> fields = new HashMap<>();
+    private final Map<String, Long> increments = new HashMap<>();
+
+    public void put(String field, String value) {
+        fields.put(field, value);
+    }
+
+    public void increment(String field, long delta) {
+        increments.merge(field, delta, Long::sum);
+    }
+}
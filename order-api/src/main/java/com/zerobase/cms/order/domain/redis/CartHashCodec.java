@@ -0,0 +1,168 @@
+package com.zerobase.cms.order.domain.redis;
+
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.cms.order.exception.CustomException;
+import com.zerobase.cms.order.exception.ErrorCode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 장바구니를 Redis hash 필드로 나눠 저장하기 위한 변환기.
+ * <pre>
+ * product:{productId}         상품 정보 JSON (items 제외)
+ * item:{productId}:{itemId}   옵션 정보 JSON (count 제외)
+ * count:{productId}:{itemId}  옵션 수량, HINCRBY 로 변경
+ * messages                    메시지 목록 JSON
+ * version                     저장할 때마다 증가하는 버전
+ * </pre>
+ * hash 는 순서를 보장하지 않으므로 읽을 때 상품과 옵션을 id 순으로 정렬한다.
+ */
+public class CartHashCodec {
+
+    public static final String KEY_PREFIX = "cart:";
+    public static final String MESSAGES_FIELD = "messages";
+    public static final String VERSION_FIELD = "version";
+
+    private static final String PRODUCT_PREFIX = "product:";
+    private static final String ITEM_PREFIX = "item:";
+    private static final String COUNT_PREFIX = "count:";
+
+    private static final ObjectMapper mapper = new ObjectMapper()
+        .setSerializationInclusion(Include.NON_NULL);
+    private static final TypeReference<List<String>> MESSAGES_TYPE = new TypeReference<List<String>>() {
+    };
+
+    public static String key(Long customerId) {
+        return KEY_PREFIX + customerId;
+    }
+
+    public static String productField(Long productId) {
+        return PRODUCT_PREFIX + productId;
+    }
+
+    public static String itemField(Long productId, Long itemId) {
+        return ITEM_PREFIX + productId + ":" + itemId;
+    }
+
+    public static String countField(Long productId, Long itemId) {
+        return COUNT_PREFIX + productId + ":" + itemId;
+    }
+
+    public static Map<String, String> encode(Cart cart) {
+        Map<String, String> fields = new HashMap<>();
+        for (Cart.Product product : cart.getProducts()) {
+            fields.put(productField(product.getId()), encodeProduct(product));
+            for (Cart.ProductItem item : product.getItems()) {
+                fields.put(itemField(product.getId(), item.getId()), encodeItem(item));
+                fields.put(countField(product.getId(), item.getId()), String.valueOf(item.getCount()));
+            }
+        }
+        if (!cart.getMessages().isEmpty()) {
+            fields.put(MESSAGES_FIELD, encodeMessages(cart.getMessages()));
+        }
+        if (cart.getVersion() != null) {
+            fields.put(VERSION_FIELD, String.valueOf(cart.getVersion()));
+        }
+        return fields;
+    }
+
+    public static Cart decode(Long customerId, Map<String, String> fields) {
+        Cart cart = new Cart(customerId);
+        Map<Long, Cart.Product> products = new TreeMap<>();
+        Map<Long, Map<Long, Cart.ProductItem>> items = new HashMap<>();
+
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            String name = field.getKey();
+            if (name.startsWith(PRODUCT_PREFIX)) {
+                Cart.Product product = read(field.getValue(), Cart.Product.class);
+                product.setItems(new ArrayList<>());
+                products.put(product.getId(), product);
+            } else if (name.startsWith(ITEM_PREFIX)) {
+                long productId = Long.parseLong(name.substring(ITEM_PREFIX.length(), name.lastIndexOf(':')));
+                Cart.ProductItem item = read(field.getValue(), Cart.ProductItem.class);
+                item.setCount(parseCount(fields.get(countField(productId, item.getId()))));
+                items.computeIfAbsent(productId, key -> new TreeMap<>()).put(item.getId(), item);
+            } else if (name.equals(MESSAGES_FIELD)) {
+                cart.setMessages(decodeMessages(field.getValue()));
+            } else if (name.equals(VERSION_FIELD)) {
+                cart.setVersion(Long.valueOf(field.getValue()));
+            }
+        }
+
+        for (Cart.Product product : products.values()) {
+            Map<Long, Cart.ProductItem> productItems = items.get(product.getId());
+            if (productItems != null) {
+                product.getItems().addAll(productItems.values());
+            }
+            cart.getProducts().add(product);
+        }
+        return cart;
+    }
+
+    public static String encodeProduct(Cart.Product product) {
+        return write(Cart.Product.builder()
+            .id(product.getId())
+            .sellerId(product.getSellerId())
+            .name(product.getName())
+            .description(product.getDescription())
+            .items(null)
+            .build());
+    }
+
+    public static String encodeItem(Cart.ProductItem item) {
+        return write(Cart.ProductItem.builder()
+            .id(item.getId())
+            .name(item.getName())
+            .price(item.getPrice())
+            .build());
+    }
+
+    public static Cart.Product decodeProduct(String value) {
+        return read(value, Cart.Product.class);
+    }
+
+    public static Cart.ProductItem decodeItem(String value) {
+        return read(value, Cart.ProductItem.class);
+    }
+
+    public static String encodeMessages(List<String> messages) {
+        return write(messages);
+    }
+
+    public static List<String> decodeMessages(String value) {
+        if (value == null) {
+            return new ArrayList<>();
+        }
+        try {
+            return mapper.readValue(value, MESSAGES_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new CustomException(ErrorCode.CART_CHANGE_FAIL);
+        }
+    }
+
+    private static Integer parseCount(String value) {
+        return value == null ? 0 : Integer.valueOf(value);
+    }
+
+    private static String write(Object value) {
+        try {
+            return mapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new CustomException(ErrorCode.CART_CHANGE_FAIL);
+        }
+    }
+
+    private static <T> T read(String value, Class<T> classType) {
+        try {
+            return mapper.readValue(value, classType);
+        } catch (JsonProcessingException e) {
+            throw new CustomException(ErrorCode.CART_CHANGE_FAIL);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.zerobase.cms.order.domain.repository;
+
+import com.zerobase.cms.order.domain.model.OrderMailOutbox;
+import com.zerobase.cms.order.domain.model.OrderMailOutbox.Status;
+import java.time.LocalDateTime;
+import java.util.List;
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface OrderMailOutboxRepository extends JpaRepository<OrderMailOutbox, Long> {
+
+    // 다른 서버가 잠근 행은 기다리지 않고 건너뛴다(lock.timeout -2 는 Hibernate 의 SKIP LOCKED).
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    List<OrderMailOutbox> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+        Status status, LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("update OrderMailOutbox o set o.nextAttemptAt = :leaseUntil where o.id in :ids")
+    int claim(@Param("ids") List<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // 보낸 메일의 nextAttemptAt 은 마지막으로 가져간 시각의 lease 끝이므로 보낸 시각으로 쓴다.
+    @Query("select o.id from OrderMailOutbox o where o.status = :status and o.nextAttemptAt < :before "
+        + "order by o.nextAttemptAt asc")
+    List<Long> findIdsByStatusAndNextAttemptAtBefore(@Param("status") Status status,
+        @Param("before") LocalDateTime before, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("delete from OrderMailOutbox o where o.id in :ids")
+    int deleteAllByIdIn(@Param("ids") List<Long> ids);
+}
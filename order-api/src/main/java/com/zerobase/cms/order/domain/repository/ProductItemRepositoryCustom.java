@@ -0,0 +1,10 @@
+package com.zerobase.cms.order.domain.repository;
+
+import java.util.SortedMap;
+
+public interface ProductItemRepositoryCustom {
+
+    int[] decreaseCounts(SortedMap<Long, Integer> countByItemId);
+
+    int[] increaseCounts(SortedMap<Long, Integer> countByItemId);
+}
@@ -0,0 +1,40 @@
+package com.zerobase.cms.order.domain.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class ProductItemRepositoryImpl implements ProductItemRepositoryCustom {
+
+    private static final String DECREASE_COUNT_SQL =
+        "UPDATE product_item SET count = count - ? WHERE id = ? AND count >= ?";
+    private static final String INCREASE_COUNT_SQL =
+        "UPDATE product_item SET count = count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 아이템 id 순서로 갱신해야 동시에 주문이 들어와도 행 잠금 순서가 같아 교착 상태가 생기지 않는다.
+    @Override
+    public int[] decreaseCounts(SortedMap<Long, Integer> countByItemId) {
+        List<Object[]> args = new ArrayList<>(countByItemId.size());
+        for (Map.Entry<Long, Integer> entry : countByItemId.entrySet()) {
+            args.add(new Object[]{entry.getValue(), entry.getKey(), entry.getValue()});
+        }
+        return jdbcTemplate.batchUpdate(DECREASE_COUNT_SQL, args);
+    }
+
+    @Override
+    public int[] increaseCounts(SortedMap<Long, Integer> countByItemId) {
+        List<Object[]> args = new ArrayList<>(countByItemId.size());
+        for (Map.Entry<Long, Integer> entry : countByItemId.entrySet()) {
+            args.add(new Object[]{entry.getValue(), entry.getKey()});
+        }
+        return jdbcTemplate.batchUpdate(INCREASE_COUNT_SQL, args);
+    }
+}
@@ -12,6 +12,8 @@ public interface ProductRepository extends JpaRepository<Product, Long>, Product
     @EntityGraph(attributePaths = {"productItems"}, type = EntityGraphType.LOAD)
     Optional<Product> findBySellerIdAndId(Long sellerId, Long id);
 
+    boolean existsBySellerIdAndId(Long sellerId, Long id);
+
     @EntityGraph(attributePaths = {"productItems"}, type = EntityGraphType.LOAD)
     Optional<Product> findWithProductItemsById(Long id);
 
@@ -1,9 +1,14 @@
 package com.zerobase.cms.order.domain.repository;
 
 import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.product.ProductSearchDto;
 import java.util.List;
 
 public interface ProductRepositoryCustom {
 
     List<Product> searchByName(String name);
+
+    List<ProductSearchDto> searchByName(String name, long offset, int limit);
+
+    List<ProductSearchDto> searchByNameAfter(String name, Long lastId, int limit);
 }
@@ -1,8 +1,12 @@
 package com.zerobase.cms.order.domain.repository;
 
+import com.querydsl.core.types.ConstructorExpression;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import com.zerobase.cms.order.domain.model.Product;
 import com.zerobase.cms.order.domain.model.QProduct;
+import com.zerobase.cms.order.domain.product.ProductSearchDto;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
@@ -21,4 +25,36 @@ public class ProductRepositoryImpl implements ProductRepositoryCustom{
             .where(product.name.like(search))
             .fetch();
     }
+
+    @Override
+    public List<ProductSearchDto> searchByName(String name, long offset, int limit) {
+        QProduct product = QProduct.product;
+        return queryFactory.select(searchProjection(product))
+            .from(product)
+            .where(nameContains(product, name))
+            .orderBy(product.id.desc())
+            .offset(offset)
+            .limit(limit)
+            .fetch();
+    }
+
+    @Override
+    public List<ProductSearchDto> searchByNameAfter(String name, Long lastId, int limit) {
+        QProduct product = QProduct.product;
+        return queryFactory.select(searchProjection(product))
+            .from(product)
+            .where(nameContains(product, name), lastId == null ? null : product.id.lt(lastId))
+            .orderBy(product.id.desc())
+            .limit(limit)
+            .fetch();
+    }
+
+    // 엔티티와 productItems 를 로딩하지 않도록 필요한 컬럼만 DTO 로 바로 조회한다.
+    private static ConstructorExpression<ProductSearchDto> searchProjection(QProduct product) {
+        return Projections.constructor(ProductSearchDto.class, product.id, product.name, product.description);
+    }
+
+    private static BooleanExpression nameContains(QProduct product, String name) {
+        return product.name.like("%" + name + "%");
+    }
 }
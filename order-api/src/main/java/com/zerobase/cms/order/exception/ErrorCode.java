@@ -11,9 +11,13 @@ public enum ErrorCode {
     NOT_FOUND_ITEM(HttpStatus.BAD_REQUEST, "아이템을 찾을 수 없습니다."),
     NOT_ENOUGH_ITEM_COUNT(HttpStatus.BAD_REQUEST, "상품의 수량이 부족합니다."),
     SAME_ITEM_NAME(HttpStatus.BAD_REQUEST, "아이템 명 중복입니다."),
+    PRODUCT_IMPORT_FAIL(HttpStatus.BAD_REQUEST, "상품 파일을 읽을 수 없습니다."),
     ORDER_FAIL_CHECK_CART(HttpStatus.BAD_REQUEST, "주문 불가. 장바구니를 확인해 주세요."),
     ORDER_FAIL_NOT_ENOUGH_BALANCE(HttpStatus.BAD_REQUEST, "주문 불가. 잔액 부족입니다."),
-    CART_CHANGE_FAIL(HttpStatus.BAD_REQUEST, "장바구니에 추가할 수 없습니다.");
+    ORDER_DUPLICATE(HttpStatus.CONFLICT, "같은 Idempotency-Key 로 이미 처리 중이거나 처리된 주문입니다."),
+    ORDER_IDEMPOTENCY_KEY_CANCELLED(HttpStatus.CONFLICT, "실패해서 결제가 취소된 주문의 Idempotency-Key 입니다. 새 키로 다시 주문해 주세요."),
+    CART_CHANGE_FAIL(HttpStatus.BAD_REQUEST, "장바구니에 추가할 수 없습니다."),
+    CART_CONFLICT(HttpStatus.CONFLICT, "장바구니가 다른 요청에서 변경되었습니다. 다시 확인해 주세요.");
 
     private final HttpStatus httpStatus;
     private final String detail;
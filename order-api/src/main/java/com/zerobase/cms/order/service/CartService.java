@@ -3,14 +3,22 @@ package com.zerobase.cms.order.service;
 import com.zerobase.cms.order.client.RedisClient;
 import com.zerobase.cms.order.domain.product.AddProductCartForm;
 import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.domain.redis.CartFieldChanges;
+import com.zerobase.cms.order.domain.redis.CartHashCodec;
 import com.zerobase.cms.order.domain.redis.Cart.Product;
 import com.zerobase.cms.order.domain.redis.Cart.ProductItem;
+import com.zerobase.cms.order.exception.CustomException;
+import com.zerobase.cms.order.exception.ErrorCode;
+import io.micrometer.core.annotation.Timed;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -20,20 +28,54 @@ public class CartService {
 
     private final RedisClient redisClient;
 
+    // true 이면 장바구니를 상품/옵션 단위 필드의 Redis hash 로 저장한다.
+    @Value("${cart.hash-storage.enabled:false}")
+    private boolean hashStorage;
+
+    /**
+     * 장바구니를 덮어쓴다. cart 에 version 이 있으면 저장된 장바구니의 version 과 같을 때만 반영한다.
+     */
+    @Timed("cart.redis")
     public Cart putCart(Long customerId, Cart cart){
-        redisClient.put(customerId, cart);
+        Long expectedVersion = cart == null ? null : cart.getVersion();
+        UnaryOperator<Cart> replace = current -> {
+            if (expectedVersion != null && current != null && !expectedVersion.equals(current.getVersion())) {
+                throw new CustomException(ErrorCode.CART_CONFLICT);
+            }
+            return cart;
+        };
+        if (hashStorage) {
+            redisClient.updateCartHash(customerId, replace);
+        } else {
+            redisClient.updateCart(customerId, replace);
+        }
         return cart;
     }
 
+    @Timed("cart.redis")
     public Cart getCart(Long customerId){
-        Cart cart = redisClient.get(customerId, Cart.class);
+        Cart cart = hashStorage ? redisClient.getCartHash(customerId) : redisClient.get(customerId, Cart.class);
         return cart != null ? cart : new Cart();
     }
 
-    public Cart addCart(Long customerId, AddProductCartForm form) {
+    /**
+     * 저장된 장바구니에 mutation 을 적용해 저장한다. 동시에 다른 요청이 장바구니를 바꾸면 mutation 이 다시 호출된다.
+     */
+    @Timed("cart.redis")
+    public Cart updateCart(Long customerId, UnaryOperator<Cart> mutation) {
+        UnaryOperator<Cart> update = current -> mutation.apply(current != null ? current : new Cart(customerId));
+        return hashStorage ? redisClient.updateCartHash(customerId, update) : redisClient.updateCart(customerId, update);
+    }
 
-        Cart cart = redisClient.get(customerId, Cart.class);
+    @Timed("cart.redis")
+    public Cart addCart(Long customerId, AddProductCartForm form) {
+        if (hashStorage) {
+            return addCartHash(customerId, form);
+        }
+        return redisClient.updateCart(customerId, current -> addCart(customerId, current, form));
+    }
 
+    private Cart addCart(Long customerId, Cart cart, AddProductCartForm form) {
         if (cart == null) {
             cart = new Cart(customerId);
         }
@@ -58,7 +100,7 @@ public class CartService {
                 if(redisItem == null){
                     redisProduct.getItems().add(item);
                 } else {
-                    if(redisItem.getPrice().equals(item.getPrice())){
+                    if(!redisItem.getPrice().equals(item.getPrice())){
                         cart.addMessage(redisProduct.getName() + item.getName() + "의 정보가 변경되었습니다. 확인 부탁드립니다.");
                     }
                     redisItem.setCount(item.getCount() + redisItem.getCount());
@@ -68,7 +110,59 @@ public class CartService {
             Cart.Product product = Cart.Product.from(form);
             cart.getProducts().add(product);
         }
-        redisClient.put(customerId, cart);
         return cart;
     }
+
+    // 추가하는 상품과 옵션 필드만 읽고 쓰므로 장바구니 크기와 무관하게 처리된다.
+    private Cart addCartHash(Long customerId, AddProductCartForm form) {
+        List<String> fieldNames = new ArrayList<>();
+        fieldNames.add(CartHashCodec.productField(form.getId()));
+        fieldNames.add(CartHashCodec.MESSAGES_FIELD);
+        for (AddProductCartForm.ProductItem item : form.getItems()) {
+            fieldNames.add(CartHashCodec.itemField(form.getId(), item.getId()));
+        }
+        return redisClient.updateCartFields(customerId, fieldNames, values -> addCartFields(form, values));
+    }
+
+    private CartFieldChanges addCartFields(AddProductCartForm form, List<String> values) {
+        CartFieldChanges changes = new CartFieldChanges();
+        List<String> messages = new ArrayList<>();
+        String productValue = values.get(0);
+
+        if (productValue == null) {
+            Cart.Product product = Cart.Product.from(form);
+            changes.put(CartHashCodec.productField(product.getId()), CartHashCodec.encodeProduct(product));
+            for (Cart.ProductItem item : product.getItems()) {
+                changes.put(CartHashCodec.itemField(product.getId(), item.getId()), CartHashCodec.encodeItem(item));
+                changes.put(CartHashCodec.countField(product.getId(), item.getId()), String.valueOf(item.getCount()));
+            }
+        } else {
+            Cart.Product redisProduct = CartHashCodec.decodeProduct(productValue);
+            if (!redisProduct.getName().equals(form.getName())) {
+                messages.add(redisProduct.getName() + "의 정보가 변경되었습니다. 확인 부탁드립니다.");
+            }
+
+            for (int i = 0; i < form.getItems().size(); i++) {
+                Cart.ProductItem item = Cart.ProductItem.from(form.getItems().get(i));
+                String itemValue = values.get(i + 2);
+                if (itemValue == null) {
+                    changes.put(CartHashCodec.itemField(form.getId(), item.getId()), CartHashCodec.encodeItem(item));
+                    changes.put(CartHashCodec.countField(form.getId(), item.getId()), String.valueOf(item.getCount()));
+                } else {
+                    Cart.ProductItem redisItem = CartHashCodec.decodeItem(itemValue);
+                    if (!redisItem.getPrice().equals(item.getPrice())) {
+                        messages.add(redisProduct.getName() + item.getName() + "의 정보가 변경되었습니다. 확인 부탁드립니다.");
+                    }
+                    changes.increment(CartHashCodec.countField(form.getId(), item.getId()), item.getCount());
+                }
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            List<String> cartMessages = CartHashCodec.decodeMessages(values.get(1));
+            cartMessages.addAll(messages);
+            changes.put(CartHashCodec.MESSAGES_FIELD, CartHashCodec.encodeMessages(cartMessages));
+        }
+        return changes;
+    }
 }
@@ -0,0 +1,117 @@
+package com.zerobase.cms.order.service;
+
+import com.zerobase.cms.order.domain.model.OrderMailOutbox;
+import com.zerobase.cms.order.domain.model.OrderMailOutbox.Status;
+import com.zerobase.cms.order.domain.repository.OrderMailOutboxRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 주문 확인 메일 outbox. 주문은 잔액을 차감한 뒤 메일을 짧은 트랜잭션 하나로 기록하고 {@code OrderMailSender} 가 커밋된 메일을 따로 보낸다.
+ * 기록이 실패한 주문은 {@code OrderApplication} 이 재고와 잔액을 되돌린다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderMailOutboxService {
+
+    private final OrderMailOutboxRepository orderMailOutboxRepository;
+
+    @Value("${order.mail.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    @Value("${order.mail.backoff-millis:1000}")
+    private long backoffMillis = 1000;
+
+    @Value("${order.mail.max-backoff-millis:300000}")
+    private long maxBackoffMillis = 300000;
+
+    @Value("${order.mail.lease-millis:60000}")
+    private long leaseMillis = 60000;
+
+    @Value("${order.mail.sent-retention-days:7}")
+    private long sentRetentionDays = 7;
+
+    @Value("${order.mail.delete-chunk-size:1000}")
+    private int deleteChunkSize = 1000;
+
+    @Transactional
+    public OrderMailOutbox enqueue(Long customerId, String email, String subject, String text) {
+        return orderMailOutboxRepository.save(OrderMailOutbox.builder()
+            .customerId(customerId)
+            .email(email)
+            .subject(subject)
+            .text(text)
+            .status(Status.PENDING)
+            .attempts(0)
+            .nextAttemptAt(LocalDateTime.now())
+            .build());
+    }
+
+    /**
+     * 보낼 차례가 된 메일을 최대 limit 개 가져온다.
+     * 다른 서버가 잠근 행은 건너뛰고, 가져온 행은 UPDATE 한 번으로 lease 를 걸어 그 동안 다른 서버가 가져가지 못한다.
+     * 보내는 도중 서버가 죽으면 lease 가 끝난 뒤 다시 보낸다.
+     */
+    @Transactional
+    public List<OrderMailOutbox> claimDue(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderMailOutbox> claimed = orderMailOutboxRepository
+            .findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(Status.PENDING, now, PageRequest.of(0, limit));
+        if (claimed.isEmpty()) {
+            return claimed;
+        }
+        List<Long> ids = new ArrayList<>(claimed.size());
+        for (OrderMailOutbox mail : claimed) {
+            ids.add(mail.getId());
+        }
+        orderMailOutboxRepository.claim(ids, now.plusNanos(leaseMillis * 1_000_000));
+        return claimed;
+    }
+
+    @Transactional
+    public void markSent(Long id) {
+        orderMailOutboxRepository.findById(id)
+            .ifPresent(mail -> mail.setStatus(Status.SENT));
+    }
+
+    // 실패할 때마다 대기 시간을 두 배로 늘리고, maxAttempts 번 실패하면 더 보내지 않는다.
+    @Transactional
+    public void markFailed(Long id) {
+        orderMailOutboxRepository.findById(id).ifPresent(mail -> {
+            mail.setAttempts(mail.getAttempts() + 1);
+            if (mail.getAttempts() >= maxAttempts) {
+                mail.setStatus(Status.FAILED);
+                log.warn("order mail failed. id={}, attempts={}", id, mail.getAttempts());
+                return;
+            }
+            long backoff = Math.min(maxBackoffMillis, backoffMillis << (mail.getAttempts() - 1));
+            mail.setNextAttemptAt(LocalDateTime.now().plusNanos(backoff * 1_000_000));
+        });
+    }
+
+    /**
+     * 보낸 지 sentRetentionDays 가 지난 메일을 지우고 지운 수를 돌려준다.
+     * deleteChunkSize 개씩 따로 커밋해 한 번에 오래 잠그지 않는다. 실패한 메일은 확인할 수 있도록 남겨 둔다.
+     */
+    public int deleteSent() {
+        LocalDateTime before = LocalDateTime.now().minusDays(sentRetentionDays);
+        int deleted = 0;
+        List<Long> ids;
+        do {
+            ids = orderMailOutboxRepository.findIdsByStatusAndNextAttemptAtBefore(
+                Status.SENT, before, PageRequest.of(0, deleteChunkSize));
+            if (!ids.isEmpty()) {
+                deleted += orderMailOutboxRepository.deleteAllByIdIn(ids);
+            }
+        } while (ids.size() == deleteChunkSize);
+        return deleted;
+    }
+}
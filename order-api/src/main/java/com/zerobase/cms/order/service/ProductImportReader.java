@@ -0,0 +1,266 @@
+package com.zerobase.cms.order.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.cms.order.domain.product.AddProductForm;
+import com.zerobase.cms.order.domain.product.AddProductItemForm;
+import com.zerobase.cms.order.exception.CustomException;
+import com.zerobase.cms.order.exception.ErrorCode;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 상품 일괄 등록 파일을 한 상품씩 읽는다. 파일 전체를 메모리에 올리지 않는다.
+ * <pre>
+ * NDJSON  한 줄에 AddProductForm JSON 하나
+ * CSV     첫 줄은 헤더(name,description,itemName,price,count).
+ *         이어지는 줄의 name, description 이 같으면 한 상품의 옵션으로 묶는다.
+ * </pre>
+ */
+abstract class ProductImportReader {
+
+    static final String NAME = "name";
+    static final String DESCRIPTION = "description";
+    static final String ITEM_NAME = "itemName";
+    static final String PRICE = "price";
+    static final String COUNT = "count";
+
+    protected final BufferedReader reader;
+    protected long lineNumber;
+
+    protected ProductImportReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    static ProductImportReader ndjson(BufferedReader reader, ObjectMapper mapper) {
+        return new NdjsonReader(reader, mapper);
+    }
+
+    static ProductImportReader csv(BufferedReader reader) throws IOException {
+        return new CsvReader(reader);
+    }
+
+    // 다음 상품을 읽는다. 파일 끝이면 null.
+    abstract ImportRow next() throws IOException;
+
+    // 빈 줄은 건너뛴다.
+    protected String readLine() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!line.trim().isEmpty()) {
+                return line;
+            }
+        }
+        return null;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    static class ImportRow {
+        private final long line;
+        private final AddProductForm form;
+        private final String error;
+
+        static ImportRow of(long line, AddProductForm form) {
+            return new ImportRow(line, form, null);
+        }
+
+        static ImportRow error(long line, String error) {
+            return new ImportRow(line, null, error);
+        }
+    }
+
+    private static class NdjsonReader extends ProductImportReader {
+
+        private final ObjectMapper mapper;
+
+        private NdjsonReader(BufferedReader reader, ObjectMapper mapper) {
+            super(reader);
+            this.mapper = mapper;
+        }
+
+        @Override
+        ImportRow next() throws IOException {
+            String line = readLine();
+            if (line == null) {
+                return null;
+            }
+            AddProductForm form;
+            try {
+                form = mapper.readValue(line, AddProductForm.class);
+            } catch (JsonProcessingException e) {
+                form = null;
+            }
+            return form == null ? ImportRow.error(lineNumber, "JSON 형식이 아닙니다.") : ImportRow.of(lineNumber, form);
+        }
+    }
+
+    private static class CsvReader extends ProductImportReader {
+
+        private final Map<String, Integer> columns = new HashMap<>();
+        private CsvRow pending;
+
+        private CsvReader(BufferedReader reader) throws IOException {
+            super(reader);
+            String header = readLine();
+            // 엑셀에서 저장한 파일은 BOM 으로 시작한다.
+            if (header != null && header.charAt(0) == '\uFEFF') {
+                header = header.substring(1);
+            }
+            List<String> names = header == null ? null : parseLine(header);
+            if (names == null) {
+                throw new CustomException(ErrorCode.PRODUCT_IMPORT_FAIL);
+            }
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim(), i);
+            }
+            if (!columns.containsKey(NAME) || !columns.containsKey(ITEM_NAME)
+                || !columns.containsKey(PRICE) || !columns.containsKey(COUNT)) {
+                throw new CustomException(ErrorCode.PRODUCT_IMPORT_FAIL);
+            }
+        }
+
+        @Override
+        ImportRow next() throws IOException {
+            CsvRow first = pending != null ? pending : readRow();
+            pending = null;
+            if (first == null) {
+                return null;
+            }
+            if (first.error != null) {
+                return ImportRow.error(first.line, first.error);
+            }
+
+            List<AddProductItemForm> items = new ArrayList<>();
+            String error = addItem(first, items);
+            CsvRow row;
+            while ((row = readRow()) != null) {
+                if (row.error != null || !first.sameProduct(row)) {
+                    pending = row;
+                    break;
+                }
+                if (error == null) {
+                    error = addItem(row, items);
+                }
+            }
+            if (error != null) {
+                return ImportRow.error(first.line, error);
+            }
+            return ImportRow.of(first.line, AddProductForm.builder()
+                .name(first.name)
+                .description(first.description)
+                .items(items)
+                .build());
+        }
+
+        private CsvRow readRow() throws IOException {
+            String line = readLine();
+            if (line == null) {
+                return null;
+            }
+            List<String> values = parseLine(line);
+            if (values == null) {
+                return CsvRow.error(lineNumber, "따옴표가 닫히지 않았습니다.");
+            }
+            if (values.size() != columns.size()) {
+                return CsvRow.error(lineNumber, "컬럼 수가 헤더와 다릅니다.");
+            }
+            CsvRow row = new CsvRow(lineNumber);
+            row.name = value(values, NAME);
+            row.description = value(values, DESCRIPTION);
+            row.itemName = value(values, ITEM_NAME);
+            row.price = value(values, PRICE);
+            row.count = value(values, COUNT);
+            return row;
+        }
+
+        private String value(List<String> values, String column) {
+            Integer index = columns.get(column);
+            return index == null ? null : values.get(index);
+        }
+
+        // 옵션 컬럼이 모두 비어 있으면 옵션 없이 상품만 있는 줄이다.
+        private static String addItem(CsvRow row, List<AddProductItemForm> items) {
+            if (row.itemName.isEmpty() && row.price.trim().isEmpty() && row.count.trim().isEmpty()) {
+                return null;
+            }
+            try {
+                items.add(AddProductItemForm.builder()
+                    .name(row.itemName)
+                    .price(Integer.valueOf(row.price.trim()))
+                    .count(Integer.valueOf(row.count.trim()))
+                    .build());
+                return null;
+            } catch (NumberFormatException e) {
+                return row.line + "번째 줄의 가격과 수량은 숫자여야 합니다.";
+            }
+        }
+
+        /**
+         * RFC 4180 형식의 한 줄을 나눈다. 따옴표로 감싼 값에는 쉼표와 "" 로 쓴 따옴표가 들어갈 수 있다.
+         * 줄바꿈이 들어간 값은 지원하지 않으며, 따옴표가 닫히지 않으면 null.
+         */
+        static List<String> parseLine(String line) {
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c != '"') {
+                        value.append(c);
+                    } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        value.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else {
+                    value.append(c);
+                }
+            }
+            if (quoted) {
+                return null;
+            }
+            values.add(value.toString());
+            return values;
+        }
+    }
+
+    private static class CsvRow {
+        private final long line;
+        private String name;
+        private String description;
+        private String itemName;
+        private String price;
+        private String count;
+        private String error;
+
+        private CsvRow(long line) {
+            this.line = line;
+        }
+
+        private static CsvRow error(long line, String error) {
+            CsvRow row = new CsvRow(line);
+            row.error = error;
+            return row;
+        }
+
+        private boolean sameProduct(CsvRow other) {
+            return name.equals(other.name) && Objects.equals(description, other.description);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.zerobase.cms.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.cms.order.domain.product.AddProductForm;
+import com.zerobase.cms.order.domain.product.AddProductItemForm;
+import com.zerobase.cms.order.domain.product.ProductImportResult;
+import com.zerobase.cms.order.exception.CustomException;
+import com.zerobase.cms.order.exception.ErrorCode;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.util.StringUtils;
+
+/**
+ * 판매자의 상품 파일을 읽으며 chunkSize 개씩 모아 청크마다 한 트랜잭션으로 저장한다.
+ * 형식이 잘못된 상품은 건너뛰고, 저장에 실패한 청크가 있어도 다음 청크를 계속 저장한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductImportService {
+
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    @Value("${order.product-import.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Value("${order.product-import.max-errors:1000}")
+    private int maxErrors = 1000;
+
+    public ProductImportResult importNdjson(Long sellerId, InputStream in) {
+        BufferedReader reader = reader(in);
+        return importProducts(sellerId, ProductImportReader.ndjson(reader, objectMapper));
+    }
+
+    public ProductImportResult importCsv(Long sellerId, InputStream in) {
+        BufferedReader reader = reader(in);
+        try {
+            return importProducts(sellerId, ProductImportReader.csv(reader));
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.PRODUCT_IMPORT_FAIL);
+        }
+    }
+
+    private ProductImportResult importProducts(Long sellerId, ProductImportReader reader) {
+        ProductImportResult result = new ProductImportResult();
+        List<AddProductForm> forms = new ArrayList<>(chunkSize);
+        long firstLine = 0;
+        long lastLine = 0;
+        try {
+            ProductImportReader.ImportRow row;
+            while ((row = reader.next()) != null) {
+                String error = row.getError() != null ? row.getError() : validate(row.getForm());
+                if (error != null) {
+                    result.addError(row.getLine(), error, maxErrors);
+                    continue;
+                }
+                if (forms.isEmpty()) {
+                    firstLine = row.getLine();
+                }
+                lastLine = row.getLine();
+                forms.add(row.getForm());
+                if (forms.size() == chunkSize) {
+                    saveChunk(sellerId, forms, firstLine, lastLine, result);
+                    forms = new ArrayList<>(chunkSize);
+                }
+            }
+        } catch (IOException e) {
+            // 이미 읽은 상품까지는 저장하고 결과를 돌려준다.
+            result.addMessage(lastLine, ErrorCode.PRODUCT_IMPORT_FAIL.getDetail(), maxErrors);
+        }
+        if (!forms.isEmpty()) {
+            saveChunk(sellerId, forms, firstLine, lastLine, result);
+        }
+        log.info("product import finished. sellerId={}, total={}, imported={}, failed={}",
+            sellerId, result.getTotalCount(), result.getImportedCount(), result.getFailedCount());
+        return result;
+    }
+
+    private void saveChunk(Long sellerId, List<AddProductForm> forms, long firstLine, long lastLine,
+        ProductImportResult result) {
+        boolean saved;
+        try {
+            productService.addProducts(sellerId, forms);
+            saved = true;
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("product import chunk failed. sellerId={}, lines={}-{}", sellerId, firstLine, lastLine, e);
+            result.addMessage(firstLine, firstLine + "~" + lastLine + "번째 줄의 상품을 저장하지 못했습니다.", maxErrors);
+            saved = false;
+        }
+        // open-in-view 로 요청 내내 같은 EntityManager 를 쓰므로 저장한 상품이 쌓이지 않게 비운다.
+        entityManager.clear();
+        result.addChunk(firstLine, lastLine, forms.size(), saved);
+        log.info("product import chunk. sellerId={}, chunk={}, lines={}-{}, count={}, saved={}",
+            sellerId, result.getChunks().size(), firstLine, lastLine, forms.size(), saved);
+    }
+
+    static String validate(AddProductForm form) {
+        if (!StringUtils.hasText(form.getName())) {
+            return "상품명이 비어 있습니다.";
+        }
+        if (form.getItems() == null) {
+            return "옵션 목록이 없습니다.";
+        }
+        Set<String> names = new HashSet<>();
+        for (AddProductItemForm item : form.getItems()) {
+            if (item == null || !StringUtils.hasText(item.getName())) {
+                return "옵션명이 비어 있습니다.";
+            }
+            if (item.getPrice() == null || item.getPrice() < 0) {
+                return "옵션 가격은 0 이상이어야 합니다.";
+            }
+            if (item.getCount() == null || item.getCount() < 0) {
+                return "옵션 수량은 0 이상이어야 합니다.";
+            }
+            if (!names.add(item.getName())) {
+                return ErrorCode.SAME_ITEM_NAME.getDetail();
+            }
+        }
+        return null;
+    }
+
+    private static BufferedReader reader(InputStream in) {
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+}
@@ -1,5 +1,4 @@
 package com.zerobase.cms.order.service;
-import com.zerobase.cms.order.domain.model.Product;
 import com.zerobase.cms.order.domain.model.ProductItem;
 import com.zerobase.cms.order.domain.product.AddProductItemForm;
 import com.zerobase.cms.order.domain.product.UpdateProductItemForm;
@@ -7,7 +6,13 @@ import com.zerobase.cms.order.domain.repository.ProductItemRepository;
 import com.zerobase.cms.order.domain.repository.ProductRepository;
 import com.zerobase.cms.order.exception.CustomException;
 import com.zerobase.cms.order.exception.ErrorCode;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,27 +21,71 @@ import org.springframework.transaction.annotation.Transactional;
 public class ProductItemService {
     private final ProductRepository productRepository;
     private final ProductItemRepository productItemRepository;
+    private final ProductSnapshotCache productSnapshotCache;
 
     public ProductItem getProductItem(Long id){
         return productItemRepository.getById(id);
     }
 
+    /**
+     * 주문 수량만큼 재고를 한 번의 batch 로 차감한다. 한 행이라도 재고가 부족하면 트랜잭션 전체를 롤백한다.
+     */
+    @Transactional
+    public void decreaseCounts(Map<Long, Integer> countByItemId) {
+        if (countByItemId.isEmpty()) {
+            return;
+        }
+        SortedMap<Long, Integer> sorted = new TreeMap<>(countByItemId);
+        for (int updated : productItemRepository.decreaseCounts(sorted)) {
+            if (updated == Statement.SUCCESS_NO_INFO) {
+                // rewriteBatchedStatements 처럼 행 단위 결과를 주지 않는 드라이버 설정에서는 재고 부족을 판별할 수 없다.
+                throw new IllegalStateException("batch update count is not available");
+            }
+            if (updated == 0) {
+                throw new CustomException(ErrorCode.NOT_ENOUGH_ITEM_COUNT);
+            }
+        }
+        // 주문마다 캐시를 비우면 많이 팔리는 상품일수록 캐시가 소용없어진다. 재고는 위 조건부 UPDATE 가 보장하므로
+        // 장바구니에 보이는 재고는 ttl 동안 늦게 반영되도록 둔다.
+    }
+
+    /**
+     * 주문이 재고 차감 뒤에 실패했을 때 차감한 수량을 되돌린다.
+     */
+    @Transactional
+    public void increaseCounts(Map<Long, Integer> countByItemId) {
+        if (countByItemId.isEmpty()) {
+            return;
+        }
+        productItemRepository.increaseCounts(new TreeMap<>(countByItemId));
+    }
+
     public ProductItem saveProductItem(ProductItem productItem){
         return productItemRepository.save(productItem);
     }
 
+    /**
+     * 상품의 옵션 목록을 읽지 않고 옵션 한 건만 insert 한다. 옵션명 중복은 (product_id, name) 유니크 제약이 최종적으로 막는다.
+     */
     @Transactional
-    public Product addProductItem(Long sellerId, AddProductItemForm form) {
-        Product product = productRepository.findBySellerIdAndId(sellerId, form.getProductId())
-            .orElseThrow(() -> new CustomException(ErrorCode.NOT_FOUND_PRODUCT));
-        if (product.getProductItems().stream()
-            .anyMatch(item -> item.getName().equals(form.getName()))) {
+    public ProductItem addProductItem(Long sellerId, AddProductItemForm form) {
+        if (!productRepository.existsBySellerIdAndId(sellerId, form.getProductId())) {
+            throw new CustomException(ErrorCode.NOT_FOUND_PRODUCT);
+        }
+        if (productItemRepository.existsByProductIdAndName(form.getProductId(), form.getName())) {
             throw new CustomException(ErrorCode.SAME_ITEM_NAME);
         }
 
         ProductItem productItem = ProductItem.of(sellerId, form);
-        product.getProductItems().add(productItem);
-        return product;
+        productItem.setProduct(productRepository.getById(form.getProductId()));
+        try {
+            // 동시에 같은 이름으로 추가한 경우 위 조회를 통과하므로 여기서 제약 위반을 확인한다.
+            productItemRepository.saveAndFlush(productItem);
+        } catch (DataIntegrityViolationException e) {
+            throw new CustomException(ErrorCode.SAME_ITEM_NAME);
+        }
+        productSnapshotCache.invalidate(form.getProductId());
+        return productItem;
     }
 
     @Transactional
@@ -47,6 +96,7 @@ public class ProductItemService {
         productItem.setName(form.getName());
         productItem.setCount(form.getCount());
         productItem.setPrice(form.getPrice());
+        productSnapshotCache.invalidateItems(Collections.singletonList(productItem.getId()));
         return productItem;
     }
 
@@ -57,6 +107,7 @@ public class ProductItemService {
             .orElseThrow(() -> new CustomException(ErrorCode.NOT_FOUND_ITEM));
 
         productItemRepository.delete(productItem);
+        productSnapshotCache.invalidateItems(Collections.singletonList(productItem.getId()));
 
         return productItem;
     }
@@ -0,0 +1,435 @@
+package com.zerobase.cms.order.service;
+
+import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.product.ProductSearchDto;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 상품명과 설명에 대한 메모리 역색인.
+ * 한글은 띄어쓰기 단위가 검색어와 잘 맞지 않으므로 글자 bi-gram 으로 색인하고 BM25 로 정렬한다.
+ * 한 글자 검색어도 긴 단어 안의 글자와 맞도록 모든 글자를 uni-gram 으로 함께 색인한다.
+ * <p>
+ * 색인은 인스턴스마다 따로 있다. 이 인스턴스에서 커밋된 변경은 {@link #index}, {@link #remove} 로 바로 반영하고
+ * changeListener 로 알려 ProductSearchIndexSync 가 다른 인스턴스에 전달한다.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int NAME_WEIGHT = 2;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Consumer<Long> changeListener = productId -> {
+    };
+
+    private Map<String, Postings> postings = new HashMap<>();
+    private Map<Long, Integer> docIdByProductId = new HashMap<>();
+    private long[] productIds = new long[64];
+    private String[] names = new String[64];
+    private String[] descriptions = new String[64];
+    private int[] docLengths = new int[64];
+    private BitSet deleted = new BitSet();
+    private int docCount;
+    private int liveDocCount;
+    private long totalDocLength;
+    // 전체 재색인 중에 들어온 변경. 재색인이 없으면 null 이다.
+    private List<Change> changesDuringRebuild;
+
+    // 트랜잭션 안에서 호출되면 커밋된 뒤에 반영해 롤백된 변경이 검색되지 않도록 한다.
+    public void index(Product product) {
+        Long id = product.getId();
+        String name = product.getName();
+        String description = product.getDescription();
+        afterCommit(() -> {
+            add(id, name, description);
+            changeListener.accept(id);
+        });
+    }
+
+    public void remove(Long productId) {
+        afterCommit(() -> {
+            delete(productId);
+            changeListener.accept(productId);
+        });
+    }
+
+    // index, remove 로 반영한 상품 id 를 받는다. add, delete 는 다른 인스턴스의 변경을 받아 적용할 때 쓰므로 알리지 않는다.
+    public void setChangeListener(Consumer<Long> changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    public void add(Long productId, String name, String description) {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(new Change(productId, name, description, false));
+            }
+            removeDocument(productId);
+            addDocument(productId, name, description);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void delete(Long productId) {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(new Change(productId, null, null, true));
+            }
+            removeDocument(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 전체 재색인을 시작한다. DB 를 읽기 전에 호출해야 하며, 이후 들어오는 변경은 현재 색인에 반영하면서 따로 기록해 둔다.
+     * 반환된 빈 색인을 채운 뒤 {@link #finishRebuild} 로 넘기면 기록된 변경을 다시 적용한 뒤 한 번에 교체한다.
+     * 재색인이 읽은 오래된 행이 그 사이에 커밋된 수정이나 삭제를 덮어쓰지 않도록 하기 위함이다.
+     */
+    public ProductSearchIndex startRebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+            return new ProductSearchIndex();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void finishRebuild(ProductSearchIndex rebuilt) {
+        lock.writeLock().lock();
+        try {
+            postings = rebuilt.postings;
+            docIdByProductId = rebuilt.docIdByProductId;
+            productIds = rebuilt.productIds;
+            names = rebuilt.names;
+            descriptions = rebuilt.descriptions;
+            docLengths = rebuilt.docLengths;
+            deleted = rebuilt.deleted;
+            docCount = rebuilt.docCount;
+            liveDocCount = rebuilt.liveDocCount;
+            totalDocLength = rebuilt.totalDocLength;
+
+            List<Change> changes = changesDuringRebuild;
+            changesDuringRebuild = null;
+            if (changes == null) {
+                return;
+            }
+            for (Change change : changes) {
+                removeDocument(change.productId);
+                if (!change.deleted) {
+                    addDocument(change.productId, change.name, change.description);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<ProductSearchDto> search(String query, int limit) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        // 검색어가 짧으면 모든 n-gram 이, 길면 75% 이상이 일치해야 결과에 포함한다.
+        int minMatch = queryTerms.size() <= 2 ? queryTerms.size() : (queryTerms.size() * 3 + 3) / 4;
+
+        lock.readLock().lock();
+        try {
+            float avgDocLength = liveDocCount == 0 ? 1 : (float) totalDocLength / liveDocCount;
+            Postings[] lists = new Postings[queryTerms.size()];
+            float[] idfs = new float[queryTerms.size()];
+            int listCount = 0;
+            for (String term : queryTerms) {
+                Postings termPostings = postings.get(term);
+                int df = termPostings == null ? 0 : termPostings.live;
+                if (df > 0) {
+                    lists[listCount] = termPostings;
+                    idfs[listCount] = (float) Math.log(1 + (liveDocCount - df + 0.5) / (df + 0.5));
+                    listCount++;
+                }
+            }
+
+            // posting 은 docId 오름차순이므로 문서 단위로 병합하면서 점수를 계산해 boxing 없이 top-k 만 남긴다.
+            PriorityQueue<ScoredDoc> top = new PriorityQueue<>(Comparator.comparingDouble(ScoredDoc::getScore));
+            int[] cursors = new int[listCount];
+            while (true) {
+                int docId = Integer.MAX_VALUE;
+                int remaining = 0;
+                for (int i = 0; i < listCount; i++) {
+                    if (cursors[i] < lists[i].size) {
+                        docId = Math.min(docId, lists[i].docIds[cursors[i]]);
+                        remaining++;
+                    }
+                }
+                if (remaining < minMatch) {
+                    break;
+                }
+
+                float score = 0;
+                int matched = 0;
+                for (int i = 0; i < listCount; i++) {
+                    if (cursors[i] < lists[i].size && lists[i].docIds[cursors[i]] == docId) {
+                        int tf = lists[i].freqs[cursors[i]];
+                        float norm = K1 * (1 - B + B * docLengths[docId] / avgDocLength);
+                        score += idfs[i] * tf * (K1 + 1) / (tf + norm);
+                        matched++;
+                        cursors[i]++;
+                    }
+                }
+                if (matched < minMatch || deleted.get(docId)) {
+                    continue;
+                }
+                if (top.size() < limit) {
+                    top.offer(new ScoredDoc(docId, score));
+                } else if (top.peek().score < score) {
+                    top.poll();
+                    top.offer(new ScoredDoc(docId, score));
+                }
+            }
+
+            ProductSearchDto[] result = new ProductSearchDto[top.size()];
+            for (int i = result.length - 1; i >= 0; i--) {
+                int docId = top.poll().docId;
+                result[i] = ProductSearchDto.builder()
+                    .id(productIds[docId])
+                    .name(names[docId])
+                    .description(descriptions[docId])
+                    .build();
+            }
+            return new ArrayList<>(Arrays.asList(result));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String normalized = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean letter = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                if (i - start == 1) {
+                    tokens.add(normalized.substring(start, i));
+                }
+                for (int j = start; j + 2 <= i; j++) {
+                    tokens.add(normalized.substring(j, j + 2));
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    // 색인할 term. bi-gram 에 더해 모든 글자를 uni-gram 으로 넣는다. 한 글자 단어의 uni-gram 은 한 번만 들어간다.
+    static List<String> indexTerms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String token : tokenize(text)) {
+            if (token.length() > 1) {
+                terms.add(token);
+            }
+        }
+        String normalized = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < normalized.length(); i++) {
+            if (Character.isLetterOrDigit(normalized.charAt(i))) {
+                terms.add(String.valueOf(normalized.charAt(i)));
+            }
+        }
+        return terms;
+    }
+
+    int documentFrequency(String term) {
+        lock.readLock().lock();
+        try {
+            Postings termPostings = postings.get(term);
+            return termPostings == null ? 0 : termPostings.live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 문서의 term 별 live 수를 함께 줄여 검색 때 df 를 tombstone 을 건너뛰며 세지 않도록 한다.
+    private void removeDocument(Long productId) {
+        Integer docId = docIdByProductId.remove(productId);
+        if (docId == null) {
+            return;
+        }
+        Set<String> terms = new HashSet<>(indexTerms(names[docId]));
+        terms.addAll(indexTerms(descriptions[docId]));
+        for (String term : terms) {
+            postings.get(term).live--;
+        }
+        deleted.set(docId);
+        liveDocCount--;
+        totalDocLength -= docLengths[docId];
+        names[docId] = null;
+        descriptions[docId] = null;
+        if (docCount - liveDocCount > Math.max(liveDocCount, 1024)) {
+            compact();
+        }
+    }
+
+    private void addDocument(Long productId, String name, String description) {
+        int docId = docCount++;
+        ensureCapacity(docCount);
+
+        Map<String, int[]> termFreqs = new HashMap<>();
+        for (String token : indexTerms(name)) {
+            termFreqs.computeIfAbsent(token, key -> new int[1])[0] += NAME_WEIGHT;
+        }
+        for (String token : indexTerms(description)) {
+            termFreqs.computeIfAbsent(token, key -> new int[1])[0]++;
+        }
+        // 문서 길이는 검색어와 같은 방식으로 나눈 token 수로 세어 uni-gram 이 긴 검색어의 정렬을 바꾸지 않게 한다.
+        int length = tokenize(name).size() * NAME_WEIGHT + tokenize(description).size();
+        for (Map.Entry<String, int[]> entry : termFreqs.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), key -> new Postings()).add(docId, entry.getValue()[0]);
+        }
+
+        productIds[docId] = productId;
+        names[docId] = name;
+        descriptions[docId] = description;
+        docLengths[docId] = length;
+        docIdByProductId.put(productId, docId);
+        liveDocCount++;
+        totalDocLength += length;
+    }
+
+    private void compact() {
+        long[] liveProductIds = new long[liveDocCount];
+        String[] liveNames = new String[liveDocCount];
+        String[] liveDescriptions = new String[liveDocCount];
+        int live = 0;
+        for (int docId = 0; docId < docCount; docId++) {
+            if (!deleted.get(docId)) {
+                liveProductIds[live] = productIds[docId];
+                liveNames[live] = names[docId];
+                liveDescriptions[live] = descriptions[docId];
+                live++;
+            }
+        }
+
+        postings = new HashMap<>();
+        docIdByProductId = new HashMap<>();
+        productIds = new long[Math.max(64, live)];
+        names = new String[productIds.length];
+        descriptions = new String[productIds.length];
+        docLengths = new int[productIds.length];
+        deleted = new BitSet();
+        docCount = 0;
+        liveDocCount = 0;
+        totalDocLength = 0;
+        for (int i = 0; i < live; i++) {
+            addDocument(liveProductIds[i], liveNames[i], liveDescriptions[i]);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= productIds.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, productIds.length * 2);
+        productIds = Arrays.copyOf(productIds, newCapacity);
+        names = Arrays.copyOf(names, newCapacity);
+        descriptions = Arrays.copyOf(descriptions, newCapacity);
+        docLengths = Arrays.copyOf(docLengths, newCapacity);
+    }
+
+    private static void afterCommit(Runnable runnable) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runnable.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runnable.run();
+            }
+        });
+    }
+
+    private static class ScoredDoc {
+        private final int docId;
+        private final float score;
+
+        private ScoredDoc(int docId, float score) {
+            this.docId = docId;
+            this.score = score;
+        }
+
+        private float getScore() {
+            return score;
+        }
+    }
+
+    private static class Postings {
+        private int[] docIds = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+        // tombstone 이 아닌 문서 수
+        private int live;
+
+        private void add(int docId, int freq) {
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docIds[size] = docId;
+            freqs[size] = freq;
+            size++;
+            live++;
+        }
+    }
+
+    private static class Change {
+        private final Long productId;
+        private final String name;
+        private final String description;
+        private final boolean deleted;
+
+        private Change(Long productId, String name, String description, boolean deleted) {
+            this.productId = productId;
+            this.name = name;
+            this.description = description;
+            this.deleted = deleted;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.zerobase.cms.order.service;
+
+import com.zerobase.cms.order.domain.repository.ProductRepository;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import javax.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 인스턴스마다 따로 있는 상품 검색 색인을 Redis pub/sub 으로 맞춘다.
+ * 이 인스턴스에서 커밋된 상품 변경은 id 를 CHANNEL 로 보내고, 다른 인스턴스는 그 상품을 DB 에서 다시 읽어 색인을 고친다.
+ * 메시지에는 상품 id 만 담으므로 순서가 바뀌어 도착해도 마지막으로 읽은 DB 값이 남는다.
+ * <p>
+ * pub/sub 은 받는 쪽이 연결되어 있을 때만 전달되므로 Redis 연결이 끊긴 동안의 변경은 그 인스턴스가 다시 시작할 때 맞춰진다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndexSync implements MessageListener {
+
+    public static final String CHANNEL = "product:search-index";
+    // 자기가 보낸 메시지는 이미 반영했으므로 건너뛴다.
+    private static final String INSTANCE_ID = UUID.randomUUID().toString();
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ProductRepository productRepository;
+    private final ProductSearchIndex productSearchIndex;
+
+    @PostConstruct
+    public void register() {
+        productSearchIndex.setChangeListener(this::publish);
+    }
+
+    // 알리지 못해도 이 인스턴스의 색인과 DB 는 이미 맞으므로 호출한 쪽을 실패시키지 않는다.
+    public void publish(Long productId) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, INSTANCE_ID + ":" + productId);
+        } catch (RuntimeException e) {
+            log.warn("product search index publish fail. productId={}", productId, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(':');
+        if (separator < 0 || body.substring(0, separator).equals(INSTANCE_ID)) {
+            return;
+        }
+        try {
+            reload(Long.valueOf(body.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            log.warn("product search index reload fail. message={}", body, e);
+        }
+    }
+
+    void reload(Long productId) {
+        productRepository.findById(productId).ifPresentOrElse(
+            product -> productSearchIndex.add(product.getId(), product.getName(), product.getDescription()),
+            () -> productSearchIndex.delete(productId));
+    }
+}
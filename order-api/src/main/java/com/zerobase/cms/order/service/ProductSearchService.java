@@ -1,23 +1,65 @@
 package com.zerobase.cms.order.service;
 
 import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.product.ProductSearchDto;
+import com.zerobase.cms.order.domain.product.ProductSnapshot;
 import com.zerobase.cms.order.domain.repository.ProductRepository;
 import com.zerobase.cms.order.exception.CustomException;
+import java.util.ArrayList;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import com.zerobase.cms.order.exception.ErrorCode;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ProductSearchService {
 
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final int INDEX_LOAD_CHUNK_SIZE = 1000;
+
     private final ProductRepository productRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductSnapshotCache productSnapshotCache;
+
+    // 기동 시 전체 상품을 id 역순 키셋으로 나눠 읽어 역색인을 채운다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        ProductSearchIndex rebuilt = productSearchIndex.startRebuild();
+        Long lastId = null;
+        List<ProductSearchDto> chunk;
+        do {
+            chunk = productRepository.searchByNameAfter("", lastId, INDEX_LOAD_CHUNK_SIZE);
+            for (ProductSearchDto dto : chunk) {
+                rebuilt.add(dto.getId(), dto.getName(), dto.getDescription());
+                lastId = dto.getId();
+            }
+        } while (chunk.size() == INDEX_LOAD_CHUNK_SIZE);
+        productSearchIndex.finishRebuild(rebuilt);
+        log.info("product search index built. size={}", productSearchIndex.size());
+    }
 
     public List<Product> searchByName(String name){
         return productRepository.searchByName(name);
     }
 
+    public List<ProductSearchDto> searchByName(String name, int page, int size) {
+        int limit = pageSize(size);
+        return productRepository.searchByName(name, (long) Math.max(page, 0) * limit, limit);
+    }
+
+    public List<ProductSearchDto> searchByNameAfter(String name, Long lastId, int size) {
+        return productRepository.searchByNameAfter(name, lastId, pageSize(size));
+    }
+
+    public List<ProductSearchDto> searchByIndex(String query, int size) {
+        return productSearchIndex.search(query, pageSize(size));
+    }
+
     public Product getByProductId(Long productId) {
         return productRepository.findWithProductItemsById(productId)
             .orElseThrow(() -> new CustomException(ErrorCode.NOT_FOUND_PRODUCT));
@@ -26,4 +68,41 @@ public class ProductSearchService {
     public List<Product> getListByProductIds(List<Long> productIds) {
         return productRepository.findAllByIdIn(productIds);
     }
+
+    public ProductSnapshot getSnapshot(Long productId) {
+        ProductSnapshot snapshot = productSnapshotCache.get(productId);
+        if (snapshot == null) {
+            long generation = productSnapshotCache.generation();
+            snapshot = ProductSnapshot.from(getByProductId(productId));
+            productSnapshotCache.put(snapshot, generation);
+        }
+        return snapshot;
+    }
+
+    // 캐시에 없는 상품만 모아 한 번에 조회한다. 없는 상품은 결과에서 빠진다.
+    public List<ProductSnapshot> getSnapshots(List<Long> productIds) {
+        List<ProductSnapshot> snapshots = new ArrayList<>(productIds.size());
+        List<Long> missedIds = new ArrayList<>();
+        for (Long productId : productIds) {
+            ProductSnapshot snapshot = productSnapshotCache.get(productId);
+            if (snapshot != null) {
+                snapshots.add(snapshot);
+            } else {
+                missedIds.add(productId);
+            }
+        }
+        if (!missedIds.isEmpty()) {
+            long generation = productSnapshotCache.generation();
+            for (Product product : productRepository.findAllByIdIn(missedIds)) {
+                ProductSnapshot snapshot = ProductSnapshot.from(product);
+                productSnapshotCache.put(snapshot, generation);
+                snapshots.add(snapshot);
+            }
+        }
+        return snapshots;
+    }
+
+    private static int pageSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
 }
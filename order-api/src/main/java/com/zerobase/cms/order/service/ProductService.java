@@ -8,6 +8,11 @@ import com.zerobase.cms.order.domain.product.UpdateProductItemForm;
 import com.zerobase.cms.order.domain.repository.ProductRepository;
 import com.zerobase.cms.order.exception.CustomException;
 import com.zerobase.cms.order.exception.ErrorCode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,30 +21,57 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class ProductService {
     private final ProductRepository productRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductSnapshotCache productSnapshotCache;
 
     @Transactional
     public Product addProduct(Long sellerId, AddProductForm form) {
-        return productRepository.save(Product.of(sellerId, form));
+        Product product = productRepository.save(Product.of(sellerId, form));
+        productSearchIndex.index(product);
+        return product;
+    }
+
+    // id 를 미리 받아 두는 생성 전략이라 커밋할 때 insert 가 배치로 묶인다.
+    @Transactional
+    public List<Product> addProducts(Long sellerId, List<AddProductForm> forms) {
+        List<Product> products = productRepository.saveAll(forms.stream()
+            .map(form -> Product.of(sellerId, form))
+            .collect(Collectors.toList()));
+        products.forEach(productSearchIndex::index);
+        return products;
     }
 
+    /**
+     * 옵션을 id 로 한 번 색인해 두고 값이 바뀐 필드만 반영한다.
+     * 바뀌지 않은 옵션은 dirty 가 되지 않아 UPDATE 와 이력 insert 가 생기지 않고, 바뀐 옵션의 UPDATE 는 커밋할 때 배치로 묶인다.
+     */
     @Transactional
     public Product updateProduct(Long sellerId, UpdateProductForm form) {
         Product product = productRepository.findBySellerIdAndId(sellerId, form.getId())
             .orElseThrow(() -> new CustomException(ErrorCode.NOT_FOUND_PRODUCT));
-        product.setName(form.getName());
-        product.setDescription(form.getDescription());
-
-        for(UpdateProductItemForm itemForm : form.getItems()){
-            ProductItem item = product.getProductItems().stream()
-                .filter(pi -> pi.getId().equals(itemForm.getId()))
-                .findFirst()
-                .orElseThrow(() -> new CustomException(ErrorCode.NOT_FOUND_ITEM));
-
-            item.setName(itemForm.getName());
-            item.setCount(itemForm.getCount());
-            item.setPrice(itemForm.getPrice());
+        boolean textChanged = !Objects.equals(product.getName(), form.getName())
+            || !Objects.equals(product.getDescription(), form.getDescription());
+        if (textChanged) {
+            product.setName(form.getName());
+            product.setDescription(form.getDescription());
         }
 
+        Map<Long, ProductItem> itemById = new HashMap<>(product.getProductItems().size() * 2);
+        for (ProductItem item : product.getProductItems()) {
+            itemById.put(item.getId(), item);
+        }
+        for (UpdateProductItemForm itemForm : form.getItems()) {
+            ProductItem item = itemById.get(itemForm.getId());
+            if (item == null) {
+                throw new CustomException(ErrorCode.NOT_FOUND_ITEM);
+            }
+            applyChanges(item, itemForm);
+        }
+        if (textChanged) {
+            productSearchIndex.index(product);
+        }
+        productSnapshotCache.invalidate(product.getId());
+
         return product;
     }
 
@@ -49,7 +81,21 @@ public class ProductService {
             .orElseThrow(() -> new CustomException(ErrorCode.NOT_FOUND_PRODUCT));
 
         productRepository.delete(product);
+        productSearchIndex.remove(productId);
+        productSnapshotCache.invalidate(productId);
 
         return product;
     }
+
+    private static void applyChanges(ProductItem item, UpdateProductItemForm form) {
+        if (!Objects.equals(item.getName(), form.getName())) {
+            item.setName(form.getName());
+        }
+        if (!Objects.equals(item.getCount(), form.getCount())) {
+            item.setCount(form.getCount());
+        }
+        if (!Objects.equals(item.getPrice(), form.getPrice())) {
+            item.setPrice(form.getPrice());
+        }
+    }
 }
@@ -0,0 +1,196 @@
+package com.zerobase.cms.order.service;
+
+import com.zerobase.cms.order.domain.product.ProductItemSnapshot;
+import com.zerobase.cms.order.domain.product.ProductSnapshot;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 상품 스냅샷 near cache. 크기를 넘으면 가장 오래 쓰이지 않은 상품부터 버리고, ttl 이 지나면 다시 읽는다.
+ * 상품이나 옵션을 바꾸는 쪽에서 invalidate 를 호출해야 하며, 다른 서버에서 바뀐 값은 ttl 동안 늦게 반영될 수 있다.
+ */
+@Component
+public class ProductSnapshotCache {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, Long> productIdByItemId = new HashMap<>();
+    private long generation;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    @Autowired
+    public ProductSnapshotCache(
+        @Value("${product.snapshot-cache.max-size:10000}") int maxSize,
+        @Value("${product.snapshot-cache.ttl-millis:5000}") long ttlMillis) {
+        this(maxSize, ttlMillis, System::currentTimeMillis);
+    }
+
+    ProductSnapshotCache(int maxSize, long ttlMillis, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+    public ProductSnapshot get(Long productId) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(productId);
+            if (entry == null || entry.expiresAt <= clock.getAsLong()) {
+                if (entry != null) {
+                    remove(productId);
+                }
+                missCount.increment();
+                return null;
+            }
+            hitCount.increment();
+            return entry.snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * DB 에서 읽기 전에 호출해 두고 put 에 넘긴다. 읽는 동안 invalidate 가 있었으면 읽은 값은 캐시하지 않는다.
+     */
+    public long generation() {
+        lock.lock();
+        try {
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(ProductSnapshot snapshot, long loadedGeneration) {
+        lock.lock();
+        try {
+            if (loadedGeneration != generation) {
+                return;
+            }
+            remove(snapshot.getId());
+            entries.put(snapshot.getId(), new Entry(snapshot, clock.getAsLong() + ttlMillis));
+            for (ProductItemSnapshot item : snapshot.getProductItems()) {
+                productIdByItemId.put(item.getId(), snapshot.getId());
+            }
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (entries.size() > maxSize) {
+                removeItems(eldest.next());
+                eldest.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 트랜잭션 중이면 커밋 후에도 한 번 더 지워 커밋 전에 다시 읽힌 값이 남지 않게 한다.
+    public void invalidate(Long productId) {
+        runNowAndAfterCommit(() -> invalidateNow(productId));
+    }
+
+    public void invalidateItems(Collection<Long> itemIds) {
+        runNowAndAfterCommit(() -> {
+            lock.lock();
+            try {
+                generation++;
+                for (Long itemId : itemIds) {
+                    Long productId = productIdByItemId.get(itemId);
+                    if (productId != null) {
+                        remove(productId);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            generation++;
+            entries.clear();
+            productIdByItemId.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    private void invalidateNow(Long productId) {
+        lock.lock();
+        try {
+            generation++;
+            remove(productId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(Long productId) {
+        removeItems(entries.remove(productId));
+    }
+
+    private void removeItems(Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        for (ProductItemSnapshot item : entry.snapshot.getProductItems()) {
+            productIdByItemId.remove(item.getId(), entry.snapshot.getId());
+        }
+    }
+
+    private static void runNowAndAfterCommit(Runnable runnable) {
+        runnable.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    runnable.run();
+                }
+            });
+        }
+    }
+
+    private static class Entry {
+        private final ProductSnapshot snapshot;
+        private final long expiresAt;
+
+        private Entry(ProductSnapshot snapshot, long expiresAt) {
+            this.snapshot = snapshot;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
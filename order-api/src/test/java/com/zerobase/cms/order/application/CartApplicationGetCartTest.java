@@ -0,0 +1,136 @@
+package com.zerobase.cms.order.application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.zerobase.cms.order.domain.product.ProductItemSnapshot;
+import com.zerobase.cms.order.domain.product.ProductSnapshot;
+import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.service.CartService;
+import com.zerobase.cms.order.service.ProductSearchService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CartApplicationGetCartTest {
+
+    @Mock
+    private CartService cartService;
+
+    @Mock
+    private ProductSearchService productSearchService;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private CartApplication cartApplication;
+
+    @Test
+    void getCart_unchanged() {
+        given(cartService.getCart(1L))
+            .willReturn(cart(10000, 1));
+        given(productSearchService.getSnapshots(anyList()))
+            .willReturn(products(10000, 5));
+
+        Cart result = cartApplication.getCart(1L);
+
+        assertEquals(1, result.getProducts().get(0).getItems().get(0).getCount());
+        assertTrue(result.getMessages().isEmpty());
+        assertEquals(1, cartApplication.getSkippedWriteCount());
+        verify(cartService, never()).updateCart(anyLong(), any());
+        assertEquals(1, meterRegistry.get("cart.refresh").tag("cached", "true").timer().count());
+        assertEquals(1, meterRegistry.get("cart.size").summary().totalAmount());
+    }
+
+    @Test
+    void getCart_empty() {
+        given(cartService.getCart(1L))
+            .willReturn(new Cart());
+
+        Cart result = cartApplication.getCart(1L);
+
+        assertEquals(1L, result.getCustomerId());
+        assertEquals(1, cartApplication.getSkippedWriteCount());
+        verifyNoInteractions(productSearchService);
+    }
+
+    @Test
+    void getCart_priceChanged() {
+        Cart stored = cart(10000, 1);
+        given(cartService.getCart(1L))
+            .willReturn(stored);
+        given(productSearchService.getSnapshots(anyList()))
+            .willReturn(products(9000, 5));
+        List<Cart> saved = new ArrayList<>();
+        given(cartService.updateCart(anyLong(), any()))
+            .willAnswer(invocation -> {
+                Cart current = cart(10000, 1);
+                Cart result = invocation.<UnaryOperator<Cart>>getArgument(1).apply(current);
+                saved.add(result);
+                return result;
+            });
+
+        Cart result = cartApplication.getCart(1L);
+
+        assertEquals(9000, result.getProducts().get(0).getItems().get(0).getPrice());
+        assertEquals(1, result.getMessages().size());
+        assertTrue(saved.get(0).getMessages().isEmpty());
+        assertEquals(0, cartApplication.getSkippedWriteCount());
+    }
+
+    @Test
+    void getCart_storedMessages() {
+        Cart stored = cart(10000, 1);
+        stored.setVersion(3L);
+        stored.addMessage("message");
+        given(cartService.getCart(1L))
+            .willReturn(stored);
+        given(productSearchService.getSnapshots(anyList()))
+            .willReturn(products(10000, 5));
+        given(cartService.updateCart(anyLong(), any()))
+            .willAnswer(invocation -> {
+                Cart current = cart(10000, 1);
+                current.setVersion(3L);
+                return invocation.<UnaryOperator<Cart>>getArgument(1).apply(current);
+            });
+
+        Cart result = cartApplication.getCart(1L);
+
+        assertEquals(Collections.singletonList("message"), result.getMessages());
+        verify(productSearchService).getSnapshots(anyList());
+    }
+
+    private static Cart cart(int price, int count) {
+        Cart cart = new Cart(1L);
+        List<Cart.ProductItem> items = new ArrayList<>();
+        items.add(Cart.ProductItem.builder().id(1L).name("item").price(price).count(count).build());
+        cart.getProducts().add(Cart.Product.builder().id(1L).sellerId(1L).name("product").items(items).build());
+        return cart;
+    }
+
+    private static List<ProductSnapshot> products(int price, int count) {
+        List<ProductItemSnapshot> items = new ArrayList<>();
+        items.add(new ProductItemSnapshot(1L, "item", price, count));
+        List<ProductSnapshot> products = new ArrayList<>();
+        products.add(new ProductSnapshot(1L, 1L, "product", "description", items));
+        return products;
+    }
+}
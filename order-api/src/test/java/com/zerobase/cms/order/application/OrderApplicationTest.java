@@ -4,26 +4,48 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
+import com.zerobase.cms.order.client.RedisClient;
 import com.zerobase.cms.order.client.UserClient;
+import com.zerobase.cms.order.client.user.ChangeBalanceForm;
 import com.zerobase.cms.order.client.user.CustomerDto;
 import com.zerobase.cms.order.domain.redis.Cart;
 import com.zerobase.cms.order.domain.redis.Cart.Product;
 import com.zerobase.cms.order.domain.redis.Cart.ProductItem;
 import com.zerobase.cms.order.exception.CustomException;
 import com.zerobase.cms.order.exception.ErrorCode;
+import com.zerobase.cms.order.service.OrderMailOutboxService;
 import com.zerobase.cms.order.service.ProductItemService;
+import com.zerobase.domain.common.UserVo;
+import com.zerobase.domain.config.JwtAuthenticationProvider;
+import feign.FeignException;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 class OrderApplicationTest {
@@ -34,9 +56,21 @@ class OrderApplicationTest {
     @Mock
     private UserClient userClient;
 
+    @Mock
+    private RedisClient redisClient;
+
+    @Mock
+    private JwtAuthenticationProvider provider;
+
     @Mock
     private ProductItemService productItemService;
 
+    @Mock
+    private OrderMailOutboxService orderMailOutboxService;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private OrderApplication orderApplication;
 
@@ -59,29 +93,88 @@ class OrderApplicationTest {
             .items(productItems)
             .build());
 
-        given(cartApplication.refreshCart(any()))
+        given(cartApplication.refreshCart(any(), eq(false)))
             .willReturn(Cart.builder()
                 .messages(new ArrayList<>())
                 .products(products)
                 .build());
 
-        given(userClient.getCustomerInfo(anyString()))
+        given(userClient.reserveBalance(anyString(), anyString(), any()))
             .willReturn(ResponseEntity.of(Optional.of(CustomerDto.builder()
-                .balance(100)
+                .id(1L)
+                .email("zerobase@naver.com")
+                .balance(50)
                 .build())));
 
-        given(productItemService.getProductItem(anyLong()))
-            .willReturn(com.zerobase.cms.order.domain.model.ProductItem.builder()
-                .id(1L)
-                .sellerId(1L)
-                .name("item")
-                .count(5)
-                .price(50)
+        OrderTimings timings = new OrderTimings();
+        Cart result = orderApplication.order("token", null, new Cart(), timings);
+
+        assertEquals(1, result.getProducts().get(0).getItems().get(0).getCount());
+        verify(productItemService).decreaseCounts(Collections.singletonMap(1L, 1));
+        ArgumentCaptor<ChangeBalanceForm> form = ArgumentCaptor.forClass(ChangeBalanceForm.class);
+        verify(userClient).reserveBalance(eq("token"), anyString(), form.capture());
+        assertEquals(-50, form.getValue().getMoney());
+        verify(userClient, never()).getCustomerInfo(anyString());
+        verify(orderMailOutboxService).enqueue(eq(1L), eq("zerobase@naver.com"), anyString(), eq(result.toString()));
+        assertEquals(1, meterRegistry.get("order.items").summary().totalAmount());
+        assertEquals(Arrays.asList("refresh", "stock", "balance", "mail"),
+            new ArrayList<>(timings.getStageNanos().keySet()));
+        assertEquals(1, meterRegistry.get("order.stage")
+            .tags("stage", "balance", "result", "success").timer().count());
+    }
+
+    @Test
+    void recordTimingsAfterFailure() {
+        given(cartApplication.refreshCart(any(), eq(false)))
+            .willReturn(Cart.builder()
+                .messages(Collections.singletonList("message"))
+                .products(new ArrayList<>())
                 .build());
+        ReflectionTestUtils.setField(orderApplication, "slowOrderThresholdMillis", 0L);
+        OrderTimings timings = new OrderTimings();
 
-        Cart result = orderApplication.order("token", any());
+        assertThrows(CustomException.class, () -> orderApplication.order("token", null, new Cart(), timings));
 
-        assertEquals(1, result.getProducts().get(0).getItems().get(0).getCount());
+        assertEquals(Arrays.asList("refresh"), new ArrayList<>(timings.getStageNanos().keySet()));
+        assertEquals(1, meterRegistry.get("order.stage")
+            .tags("stage", "refresh", "result", "fail").timer().count());
+    }
+
+    @Test
+    void orderFail_NOT_ENOUGH_ITEM_COUNT() {
+        List<ProductItem> productItems = new ArrayList<>();
+        productItems.add(ProductItem.builder()
+            .id(1L)
+            .name("item")
+            .count(1)
+            .price(50)
+            .build());
+
+        List<Product> products = new ArrayList<>();
+        products.add(Product.builder()
+            .id(1L)
+            .sellerId(1L)
+            .name("product")
+            .description("description")
+            .items(productItems)
+            .build());
+
+        given(cartApplication.refreshCart(any(), eq(false)))
+            .willReturn(Cart.builder()
+                .messages(new ArrayList<>())
+                .products(products)
+                .build());
+
+        willThrow(new CustomException(ErrorCode.NOT_ENOUGH_ITEM_COUNT))
+            .given(productItemService).decreaseCounts(anyMap());
+
+        CustomException exception = assertThrows(CustomException.class,
+            () -> orderApplication.order("token", null, new Cart(), new OrderTimings()));
+
+        assertEquals(ErrorCode.NOT_ENOUGH_ITEM_COUNT, exception.getErrorCode());
+        verify(userClient, never()).reserveBalance(anyString(), anyString(), any());
+        verify(productItemService, never()).increaseCounts(anyMap());
+        verify(orderMailOutboxService, never()).enqueue(any(), any(), any(), any());
     }
 
     @Test
@@ -106,14 +199,14 @@ class OrderApplicationTest {
             .items(productItems)
             .build());
 
-        given(cartApplication.refreshCart(any()))
+        given(cartApplication.refreshCart(any(), eq(false)))
             .willReturn(Cart.builder()
                 .messages(messages)
                 .products(products)
                 .build());
 
         CustomException exception = assertThrows(CustomException.class,
-            () -> orderApplication.order("zerobase", any()));
+            () -> orderApplication.order("zerobase", null, new Cart(), new OrderTimings()));
 
         assertEquals(ErrorCode.ORDER_FAIL_CHECK_CART, exception.getErrorCode());
         assertEquals("주문 불가. 장바구니를 확인해 주세요.", exception.getMessage());
@@ -138,21 +231,168 @@ class OrderApplicationTest {
             .items(productItems)
             .build());
 
-        given(userClient.getCustomerInfo(anyString()))
-            .willReturn(ResponseEntity.of(Optional.of(CustomerDto.builder()
-                .balance(10)
-                .build())));
-
-        given(cartApplication.refreshCart(any()))
+        given(cartApplication.refreshCart(any(), eq(false)))
             .willReturn(Cart.builder()
                 .messages(new ArrayList<>())
                 .products(products)
                 .build());
 
+        given(userClient.reserveBalance(anyString(), anyString(), any()))
+            .willThrow(errorStatus(400, "{\"message\":\"잔액이 부족합니다.\",\"errorCode\":\"NOT_ENOUGH_BALANCE\"}"));
+
         CustomException exception = assertThrows(CustomException.class,
-            () -> orderApplication.order("zerobase", any()));
+            () -> orderApplication.order("zerobase", null, new Cart(), new OrderTimings()));
 
         assertEquals(ErrorCode.ORDER_FAIL_NOT_ENOUGH_BALANCE, exception.getErrorCode());
         assertEquals("주문 불가. 잔액 부족입니다.", exception.getMessage());
+        verify(orderMailOutboxService, never()).enqueue(any(), any(), any(), any());
+        // 재고 차감은 이미 커밋됐으므로 되돌린다. user-api 가 거절했으므로 잔액은 취소하지 않는다.
+        verify(productItemService).increaseCounts(Collections.singletonMap(1L, 1));
+        verify(userClient, never()).cancelBalance(anyString(), anyString());
+    }
+
+    @Test
+    void keepOriginalExceptionWhenRestoreFails() {
+        givenOrderCart();
+        given(orderMailOutboxService.enqueue(any(), any(), any(), any()))
+            .willThrow(new IllegalStateException("outbox"));
+        willThrow(new IllegalStateException("restore"))
+            .given(productItemService).increaseCounts(anyMap());
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> orderApplication.order("token", null, new Cart(), new OrderTimings()));
+
+        assertEquals("outbox", exception.getMessage());
+        assertEquals("restore", exception.getSuppressed()[0].getMessage());
+    }
+
+    @Test
+    void orderTwiceWithSameIdempotencyKey() {
+        givenOrderCart();
+        given(provider.getUserVo("token"))
+            .willReturn(new UserVo(1L, "zerobase@naver.com"));
+        given(redisClient.setIfAbsent(eq("order:idempotency:1:order-1"), anyLong()))
+            .willReturn(true, false);
+
+        orderApplication.order("token", "order-1", new Cart(), new OrderTimings());
+        CustomException exception = assertThrows(CustomException.class,
+            () -> orderApplication.order("token", "order-1", new Cart(), new OrderTimings()));
+
+        assertEquals(ErrorCode.ORDER_DUPLICATE, exception.getErrorCode());
+        verify(userClient).reserveBalance(eq("token"), eq("order-1"), any());
+        verify(productItemService).decreaseCounts(anyMap());
+        verify(redisClient, never()).delete(anyString());
+    }
+
+    @Test
+    void cancelChargeWhenOrderFailsAfterCharge() {
+        givenOrderCart();
+        given(provider.getUserVo("token"))
+            .willReturn(new UserVo(1L, "zerobase@naver.com"));
+        given(redisClient.setIfAbsent(eq("order:idempotency:1:order-1"), anyLong()))
+            .willReturn(true);
+        given(orderMailOutboxService.enqueue(any(), any(), any(), any()))
+            .willThrow(new IllegalStateException("outbox"));
+
+        assertThrows(IllegalStateException.class,
+            () -> orderApplication.order("token", "order-1", new Cart(), new OrderTimings()));
+
+        // 잔액은 차감됐지만 주문이 실패했으므로 같은 키로 취소를 보낸다.
+        verify(userClient).cancelBalance("token", "order-1");
+        verify(productItemService).increaseCounts(anyMap());
+        verify(redisClient).delete("order:idempotency:1:order-1");
+    }
+
+    @Test
+    void cancelChargeWhenBalanceResultUnknown() {
+        givenOrderCart();
+        given(userClient.reserveBalance(anyString(), anyString(), any()))
+            .willThrow(errorStatus(500, "{}"));
+
+        assertThrows(FeignException.class,
+            () -> orderApplication.order("token", null, new Cart(), new OrderTimings()));
+
+        // 키가 없는 주문도 차감에 보낸 키로 취소한다.
+        ArgumentCaptor<String> reserveKey = ArgumentCaptor.forClass(String.class);
+        verify(userClient).reserveBalance(eq("token"), reserveKey.capture(), any());
+        verify(userClient).cancelBalance("token", reserveKey.getValue());
+        verify(productItemService).increaseCounts(anyMap());
+        verify(orderMailOutboxService, never()).enqueue(any(), any(), any(), any());
+    }
+
+    @Test
+    void keepOriginalExceptionWhenCancelFails() {
+        givenOrderCart();
+        given(orderMailOutboxService.enqueue(any(), any(), any(), any()))
+            .willThrow(new IllegalStateException("outbox"));
+        given(userClient.cancelBalance(anyString(), anyString()))
+            .willThrow(new IllegalStateException("cancel"));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> orderApplication.order("token", null, new Cart(), new OrderTimings()));
+
+        assertEquals("outbox", exception.getMessage());
+        assertEquals("cancel", exception.getSuppressed()[0].getMessage());
+        verify(productItemService).increaseCounts(anyMap());
+    }
+
+    @Test
+    void orderFail_ORDER_IDEMPOTENCY_KEY_CANCELLED() {
+        givenOrderCart();
+        given(provider.getUserVo("token"))
+            .willReturn(new UserVo(1L, "zerobase@naver.com"));
+        given(redisClient.setIfAbsent(eq("order:idempotency:1:order-1"), anyLong()))
+            .willReturn(true);
+        given(userClient.reserveBalance(anyString(), anyString(), any()))
+            .willThrow(errorStatus(409, "{\"errorCode\":\"IDEMPOTENCY_KEY_CANCELLED\"}"));
+
+        CustomException exception = assertThrows(CustomException.class,
+            () -> orderApplication.order("token", "order-1", new Cart(), new OrderTimings()));
+
+        assertEquals(ErrorCode.ORDER_IDEMPOTENCY_KEY_CANCELLED, exception.getErrorCode());
+        verify(userClient, never()).cancelBalance(anyString(), anyString());
+        verify(productItemService).increaseCounts(anyMap());
+    }
+
+    private void givenOrderCart() {
+        List<ProductItem> productItems = new ArrayList<>();
+        productItems.add(ProductItem.builder()
+            .id(1L)
+            .name("item")
+            .count(1)
+            .price(50)
+            .build());
+
+        List<Product> products = new ArrayList<>();
+        products.add(Product.builder()
+            .id(1L)
+            .sellerId(1L)
+            .name("product")
+            .description("description")
+            .items(productItems)
+            .build());
+
+        given(cartApplication.refreshCart(any(), eq(false)))
+            .willReturn(Cart.builder()
+                .messages(new ArrayList<>())
+                .products(products)
+                .build());
+        given(userClient.reserveBalance(anyString(), anyString(), any()))
+            .willReturn(ResponseEntity.of(Optional.of(CustomerDto.builder()
+                .id(1L)
+                .email("zerobase@naver.com")
+                .balance(50)
+                .build())));
+    }
+
+    private static FeignException errorStatus(int status, String body) {
+        Request request = Request.create(HttpMethod.POST, "/customer/balance/reserve",
+            Collections.emptyMap(), null, StandardCharsets.UTF_8, null);
+        return FeignException.errorStatus("UserClient#reserveBalance", Response.builder()
+            .status(status)
+            .request(request)
+            .headers(Collections.emptyMap())
+            .body(body, StandardCharsets.UTF_8)
+            .build());
     }
 }
\ No newline at end of file
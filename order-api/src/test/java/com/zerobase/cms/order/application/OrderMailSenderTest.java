@@ -0,0 +1,91 @@
+package com.zerobase.cms.order.application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.zerobase.cms.order.client.UserClient;
+import com.zerobase.cms.order.client.mailgun.SendMailForm;
+import com.zerobase.cms.order.domain.model.OrderMailOutbox;
+import com.zerobase.cms.order.service.OrderMailOutboxService;
+import com.zerobase.domain.config.JwtAuthenticationProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class OrderMailSenderTest {
+
+    @Mock
+    private OrderMailOutboxService orderMailOutboxService;
+
+    @Mock
+    private UserClient userClient;
+
+    private final JwtAuthenticationProvider provider = new JwtAuthenticationProvider();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OrderMailSender orderMailSender;
+
+    @BeforeEach
+    void setUp() {
+        orderMailSender = new OrderMailSender(orderMailOutboxService, userClient, provider, meterRegistry, 10, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderMailSender.shutdown();
+    }
+
+    @Test
+    void sendPendingMails() throws Exception {
+        given(orderMailOutboxService.claimDue(anyInt()))
+            .willReturn(Arrays.asList(mail(1L), mail(2L)));
+
+        orderMailSender.sendPendingMails();
+
+        ArgumentCaptor<String> token = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<SendMailForm> form = ArgumentCaptor.forClass(SendMailForm.class);
+        verify(userClient, times(2)).sendEmail(token.capture(), form.capture());
+        assertEquals(1L, provider.getUserVo(token.getValue()).getId());
+        assertEquals("zerobase@naver.com", form.getValue().getTo());
+        verify(orderMailOutboxService).markSent(1L);
+        verify(orderMailOutboxService).markSent(2L);
+        assertEquals(2, meterRegistry.get("order.mail.send").tag("result", "success").timer().count());
+    }
+
+    @Test
+    void markFailedWhenSendFails() {
+        given(userClient.sendEmail(any(), any()))
+            .willThrow(new RuntimeException("user-api down"));
+
+        orderMailSender.send(mail(1L));
+
+        verify(orderMailOutboxService).markFailed(eq(1L));
+        verify(orderMailOutboxService, never()).markSent(any());
+        assertEquals(1, meterRegistry.get("order.mail.send").tag("result", "fail").timer().count());
+    }
+
+    private static OrderMailOutbox mail(Long id) {
+        return OrderMailOutbox.builder()
+            .id(id)
+            .customerId(1L)
+            .email("zerobase@naver.com")
+            .subject("subject")
+            .text("text")
+            .build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.zerobase.cms.order.application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class OrderTimingsTest {
+
+    @Test
+    void stages() {
+        OrderTimings timings = new OrderTimings();
+
+        timings.start("refresh");
+        timings.start("stock");
+        timings.start("refresh");
+        timings.end();
+        timings.end();
+
+        assertEquals(Arrays.asList("refresh", "stock"), new ArrayList<>(timings.getStageNanos().keySet()));
+        long sum = timings.getStageNanos().values().stream().mapToLong(Long::longValue).sum();
+        assertTrue(sum <= timings.getTotalNanos());
+        assertTrue(timings.toServerTiming()
+            .matches("refresh;dur=\\d+\\.\\d, stock;dur=\\d+\\.\\d, total;dur=\\d+\\.\\d"));
+    }
+}
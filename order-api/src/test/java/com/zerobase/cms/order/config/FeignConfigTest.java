@@ -0,0 +1,88 @@
+package com.zerobase.cms.order.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpServer;
+import feign.Client;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+// 가상 스레드에서 동시에 호출해도 max-connections 개까지만 보내고 연결을 다시 쓰는지 로컬 stub 서버로 확인한다.
+class FeignConfigTest {
+
+    private HttpServer server;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final Set<Integer> clientPorts = Collections.synchronizedSet(new HashSet<>());
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            byte[] response = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void limitConcurrentRequests() throws Exception {
+        FeignConfig feignConfig = new FeignConfig();
+        Client client = feignConfig.feignClient(feignConfig.okHttpClient(2, 60000), 2);
+        Request request = Request.create(HttpMethod.GET,
+            "http://127.0.0.1:" + server.getAddress().getPort() + "/customer/getInfo",
+            Collections.emptyMap(), null, StandardCharsets.UTF_8, null);
+
+        List<Future<Integer>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 20; i++) {
+                results.add(executor.submit(() -> {
+                    try (Response response = client.execute(request, new Request.Options())) {
+                        response.body().asInputStream().readAllBytes();
+                        return response.status();
+                    }
+                }));
+            }
+        }
+
+        for (Future<Integer> result : results) {
+            assertEquals(200, result.get());
+        }
+        assertTrue(maxInFlight.get() <= 2);
+        assertTrue(clientPorts.size() <= 2);
+    }
+}
@@ -0,0 +1,76 @@
+package com.zerobase.cms.order.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class IdGeneratorInitializerTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private IdGeneratorInitializer initializer;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:idgen;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        initializer = new IdGeneratorInitializer(jdbcTemplate);
+
+        jdbcTemplate.execute(IdGeneratorInitializer.CREATE_TABLE);
+        jdbcTemplate.execute("CREATE TABLE product (id BIGINT PRIMARY KEY)");
+        jdbcTemplate.execute("CREATE TABLE product_item (id BIGINT PRIMARY KEY)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS hibernate_sequences");
+        jdbcTemplate.execute("DROP TABLE product");
+        jdbcTemplate.execute("DROP TABLE product_item");
+    }
+
+    @Test
+    void startAfterExistingIds() {
+        jdbcTemplate.update("INSERT INTO product VALUES (1), (42)");
+
+        initializer.afterSingletonsInstantiated();
+
+        assertEquals(43, nextVal("product"));
+        assertEquals(1, nextVal("product_item"));
+    }
+
+    @Test
+    void moveForwardOnlyWhenBehind() {
+        jdbcTemplate.update("INSERT INTO product VALUES (42)");
+        jdbcTemplate.update("INSERT INTO product_item VALUES (7)");
+        jdbcTemplate.update("INSERT INTO hibernate_sequences VALUES ('product', 10), ('product_item', 300)");
+
+        initializer.afterSingletonsInstantiated();
+        initializer.afterSingletonsInstantiated();
+
+        assertEquals(43, nextVal("product"));
+        assertEquals(300, nextVal("product_item"));
+    }
+
+    @Test
+    void createMissingTableForPopulatedProducts() {
+        jdbcTemplate.execute("DROP TABLE hibernate_sequences");
+        jdbcTemplate.update("INSERT INTO product VALUES (5), (120)");
+        jdbcTemplate.update("INSERT INTO product_item VALUES (3)");
+
+        initializer.afterSingletonsInstantiated();
+        initializer.afterSingletonsInstantiated();
+
+        assertEquals(121, nextVal("product"));
+        assertEquals(4, nextVal("product_item"));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM hibernate_sequences", Integer.class));
+    }
+
+    private long nextVal(String segment) {
+        return jdbcTemplate.queryForObject("SELECT next_val FROM hibernate_sequences WHERE sequence_name = ?",
+            Long.class, segment);
+    }
+}
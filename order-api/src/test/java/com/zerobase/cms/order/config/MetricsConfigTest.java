@@ -0,0 +1,45 @@
+package com.zerobase.cms.order.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.BDDMockito.given;
+
+import com.zerobase.cms.order.application.CartApplication;
+import com.zerobase.cms.order.client.RedisClient;
+import com.zerobase.cms.order.service.ProductSnapshotCache;
+import com.zerobase.domain.config.JwtAuthenticationProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class MetricsConfigTest {
+
+    @Mock
+    private RedisClient redisClient;
+
+    @Mock
+    private CartApplication cartApplication;
+
+    @Test
+    void counterMetrics() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ProductSnapshotCache productSnapshotCache = new ProductSnapshotCache(10, 1000);
+        JwtAuthenticationProvider provider = new JwtAuthenticationProvider();
+        given(redisClient.getConflictCount()).willReturn(3L);
+        given(cartApplication.getSkippedWriteCount()).willReturn(5L);
+
+        new MetricsConfig().counterMetrics(meterRegistry, redisClient, cartApplication, productSnapshotCache, provider)
+            .afterSingletonsInstantiated();
+        productSnapshotCache.get(1L);
+
+        assertEquals(3, meterRegistry.get("cart.redis.conflicts").functionCounter().count());
+        assertEquals(5, meterRegistry.get("cart.write.skipped").functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.gets")
+            .tags("cache", "product-snapshot", "result", "miss").functionCounter().count());
+        assertEquals(0, meterRegistry.get("cache.gets")
+            .tags("cache", "verified-token", "result", "hit").functionCounter().count());
+    }
+}
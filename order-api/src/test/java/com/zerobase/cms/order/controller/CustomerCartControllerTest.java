@@ -1,9 +1,11 @@
 package com.zerobase.cms.order.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -127,23 +129,22 @@ class CustomerCartControllerTest {
             .messages(new ArrayList<>())
             .build();
 
-        given(orderApplication.order(anyString(), any()))
+        given(orderApplication.order(anyString(), eq("order-1"), any(), any()))
             .willReturn(cart);
 
-        given(orderApplication.sendOrderMail(anyString(), any()))
-            .willReturn("result");
-
         given(provider.getUserVo(anyString()))
             .willReturn(new UserVo(1L, "zerobase@naver.com"));
 
         MvcResult result = mockMvc.perform(post("/customer/cart/order")
                 .header("X-AUTH-TOKEN", "token")
+                .header("Idempotency-Key", "order-1")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(cart)))
             .andExpect(status().isOk())
             .andDo(print())
             .andReturn();
 
-        assertEquals(result.getResponse().getContentAsString(), "result");
+        assertEquals(result.getResponse().getContentAsString(), cart.toString());
+        assertTrue(result.getResponse().getHeader("Server-Timing").startsWith("total;dur="));
     }
 }
\ No newline at end of file
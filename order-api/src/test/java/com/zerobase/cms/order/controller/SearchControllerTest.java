@@ -1,5 +1,6 @@
 package com.zerobase.cms.order.controller;
 
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
@@ -10,6 +11,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.zerobase.cms.order.domain.model.Product;
 import com.zerobase.cms.order.domain.model.ProductItem;
+import com.zerobase.cms.order.domain.product.ProductSearchDto;
 import com.zerobase.cms.order.service.ProductSearchService;
 import java.util.ArrayList;
 import java.util.List;
@@ -67,6 +69,44 @@ class SearchControllerTest {
             .andDo(print());
     }
 
+    @Test
+    void searchByNamePage() throws Exception {
+        List<ProductSearchDto> products = new ArrayList<>();
+        products.add(ProductSearchDto.builder()
+            .id(1L)
+            .name("zerobase")
+            .description("description")
+            .build());
+
+        given(productSearchService.searchByName(anyString(), anyInt(), anyInt()))
+            .willReturn(products);
+
+        mockMvc.perform(get("/search/product/page?name=zerobase&page=0&size=20"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").value(1L))
+            .andExpect(jsonPath("$[0].name").value("zerobase"))
+            .andDo(print());
+    }
+
+    @Test
+    void searchByIndex() throws Exception {
+        List<ProductSearchDto> products = new ArrayList<>();
+        products.add(ProductSearchDto.builder()
+            .id(1L)
+            .name("나이키 운동화")
+            .description("description")
+            .build());
+
+        given(productSearchService.searchByIndex(anyString(), anyInt()))
+            .willReturn(products);
+
+        mockMvc.perform(get("/search/product/fulltext?query=운동화&size=20"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").value(1L))
+            .andExpect(jsonPath("$[0].name").value("나이키 운동화"))
+            .andDo(print());
+    }
+
     @Test
     void getDetail() throws Exception {
         List<ProductItem> productItems = new ArrayList<>();
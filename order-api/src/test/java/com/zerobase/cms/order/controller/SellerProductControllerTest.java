@@ -16,8 +16,10 @@ import com.zerobase.cms.order.domain.model.Product;
 import com.zerobase.cms.order.domain.model.ProductItem;
 import com.zerobase.cms.order.domain.product.AddProductForm;
 import com.zerobase.cms.order.domain.product.AddProductItemForm;
+import com.zerobase.cms.order.domain.product.ProductImportResult;
 import com.zerobase.cms.order.domain.product.UpdateProductForm;
 import com.zerobase.cms.order.domain.product.UpdateProductItemForm;
+import com.zerobase.cms.order.service.ProductImportService;
 import com.zerobase.cms.order.service.ProductItemService;
 import com.zerobase.cms.order.service.ProductService;
 import com.zerobase.domain.common.UserVo;
@@ -42,6 +44,9 @@ class SellerProductControllerTest {
     @MockBean
     private ProductItemService productItemService;
 
+    @MockBean
+    private ProductImportService productImportService;
+
     @MockBean
     private JwtAuthenticationProvider provider;
 
@@ -111,36 +116,16 @@ class SellerProductControllerTest {
             .count(1)
             .build();
 
-        ProductItem item = ProductItem.builder()
-            .id(1L)
-            .sellerId(1L)
-            .name("item1")
-            .price(1000)
-            .count(1)
-            .build();
-
-        List<ProductItem> productItems = new ArrayList<>();
-        productItems.add(item);
-
-        List<AddProductItemForm> itemForms = new ArrayList<>();
-        itemForms.add(itemForm);
-
-        AddProductForm form = AddProductForm.builder()
-            .name("zerobase")
-            .description("description")
-            .items(itemForms)
-            .build();
-
         given(provider.getUserVo(anyString()))
             .willReturn(new UserVo(1L, "zerobase@naver.com"));
 
         given(productItemService.addProductItem(anyLong(), any()))
-            .willReturn(Product.builder()
+            .willReturn(ProductItem.builder()
                 .id(1L)
                 .sellerId(1L)
-                .name("zerobase")
-                .description("description")
-                .productItems(productItems)
+                .name("item1")
+                .price(1000)
+                .count(1)
                 .build());
 
         mockMvc.perform(post("/seller/product/item")
@@ -149,7 +134,7 @@ class SellerProductControllerTest {
                 .content(objectMapper.writeValueAsString(itemForm)))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.id").value(1L))
-            .andExpect(jsonPath("$.name").value("zerobase"))
+            .andExpect(jsonPath("$.name").value("item1"))
             .andDo(print());
     }
 
@@ -304,4 +289,25 @@ class SellerProductControllerTest {
             .andExpect(jsonPath("$.name").value("zerobase"))
             .andDo(print());
     }
-}
\ No newline at end of file
+
+    @Test
+    void importProductsCsv() throws Exception {
+        ProductImportResult result = new ProductImportResult();
+        result.addChunk(2, 3, 2, true);
+
+        given(provider.getUserVo(anyString()))
+            .willReturn(new UserVo(1L, "zerobase@naver.com"));
+
+        given(productImportService.importCsv(anyLong(), any()))
+            .willReturn(result);
+
+        mockMvc.perform(post("/seller/product/import")
+                .header("X-AUTH-TOKEN", "token")
+                .contentType("text/csv")
+                .content("name,description,itemName,price,count\np1,d,i1,100,1\np2,d,i1,100,1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.importedCount").value(2))
+            .andExpect(jsonPath("$.chunks[0].saved").value(true))
+            .andDo(print());
+    }
+}
@@ -0,0 +1,66 @@
+package com.zerobase.cms.order.domain.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class CartHashCodecTest {
+
+    @Test
+    void encodeAndDecode() {
+        Cart cart = new Cart(1L);
+        cart.getProducts().add(product(20L, item(2L, 3), item(1L, 5)));
+        cart.getProducts().add(product(10L, item(3L, 1)));
+        cart.addMessage("message");
+
+        Map<String, String> fields = CartHashCodec.encode(cart);
+
+        assertEquals("5", fields.get("count:20:1"));
+        assertEquals("{\"id\":1,\"name\":\"item1\",\"price\":1000}", fields.get("item:20:1"));
+        assertEquals("{\"id\":20,\"sellerId\":1,\"name\":\"product20\",\"description\":\"description\"}",
+            fields.get("product:20"));
+
+        Cart result = CartHashCodec.decode(1L, fields);
+
+        assertEquals(1L, result.getCustomerId());
+        assertEquals(10L, result.getProducts().get(0).getId());
+        assertEquals(20L, result.getProducts().get(1).getId());
+        assertEquals(1L, result.getProducts().get(1).getItems().get(0).getId());
+        assertEquals(5, result.getProducts().get(1).getItems().get(0).getCount());
+        assertEquals(3, result.getProducts().get(1).getItems().get(1).getCount());
+        assertEquals(Arrays.asList("message"), result.getMessages());
+    }
+
+    @Test
+    void decodeEmpty() {
+        Cart cart = new Cart(1L);
+
+        assertTrue(CartHashCodec.encode(cart).isEmpty());
+        assertTrue(CartHashCodec.decode(1L, CartHashCodec.encode(cart)).getProducts().isEmpty());
+    }
+
+    private static Cart.Product product(Long id, Cart.ProductItem... items) {
+        List<Cart.ProductItem> productItems = new ArrayList<>(Arrays.asList(items));
+        return Cart.Product.builder()
+            .id(id)
+            .sellerId(1L)
+            .name("product" + id)
+            .description("description")
+            .items(productItems)
+            .build();
+    }
+
+    private static Cart.ProductItem item(Long id, int count) {
+        return Cart.ProductItem.builder()
+            .id(id)
+            .name("item" + id)
+            .count(count)
+            .price(1000)
+            .build();
+    }
+}
@@ -0,0 +1,99 @@
+package com.zerobase.cms.order.domain.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.zerobase.cms.order.config.IdGeneratorInitializer;
+import com.zerobase.cms.order.config.QueryDslConfig;
+import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.model.ProductItem;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Envers 는 커밋할 때 이력을 쓰므로 테스트 트랜잭션 없이 단계마다 커밋한다.
+@DataJpaTest(properties = "feign.client.url.user-api=http://localhost")
+@Import({QueryDslConfig.class, IdGeneratorInitializer.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductItemAuditTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductItemRepository productItemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void orderStockDecreaseIsNotAudited() {
+        Long itemId = saveItem();
+        int revisions = revisions(itemId);
+
+        transactionTemplate.execute(status -> {
+            TreeMap<Long, Integer> counts = new TreeMap<>();
+            counts.put(itemId, 2);
+            return productItemRepository.decreaseCounts(counts);
+        });
+
+        assertEquals(3, count(itemId));
+        assertEquals(revisions, revisions(itemId));
+    }
+
+    @Test
+    void sellerChangesAreAudited() {
+        Long itemId = saveItem();
+        int revisions = revisions(itemId);
+
+        transactionTemplate.execute(status -> {
+            productItemRepository.findById(itemId).get().setCount(50);
+            return null;
+        });
+        transactionTemplate.execute(status -> {
+            productItemRepository.findById(itemId).get().setPrice(20);
+            return null;
+        });
+        transactionTemplate.execute(status -> {
+            productItemRepository.findById(itemId).get().setName("b");
+            return null;
+        });
+
+        assertEquals(revisions + 3, revisions(itemId));
+        assertEquals(50, jdbcTemplate.queryForObject(
+            "SELECT count FROM product_item_aud WHERE id = ? ORDER BY rev DESC LIMIT 1", Integer.class, itemId));
+    }
+
+    private Long saveItem() {
+        return transactionTemplate.execute(status -> {
+            List<ProductItem> items = new ArrayList<>();
+            items.add(ProductItem.builder().sellerId(1L).name("a").price(10).count(5).build());
+            Product product = Product.builder()
+                .sellerId(1L)
+                .name("product")
+                .description("description")
+                .productItems(items)
+                .build();
+            items.get(0).setProduct(product);
+            return productRepository.save(product).getProductItems().get(0).getId();
+        });
+    }
+
+    private int revisions(Long itemId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product_item_aud WHERE id = ?", Integer.class, itemId);
+    }
+
+    private int count(Long itemId) {
+        return jdbcTemplate.queryForObject("SELECT count FROM product_item WHERE id = ?", Integer.class, itemId);
+    }
+}
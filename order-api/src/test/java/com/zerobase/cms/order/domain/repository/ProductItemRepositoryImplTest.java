@@ -0,0 +1,111 @@
+package com.zerobase.cms.order.domain.repository;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ProductItemRepositoryImplTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private ProductItemRepositoryImpl productItemRepository;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:stock;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        productItemRepository = new ProductItemRepositoryImpl(jdbcTemplate);
+
+        jdbcTemplate.execute("CREATE TABLE product_item (id BIGINT PRIMARY KEY, count INT)");
+        jdbcTemplate.update("INSERT INTO product_item VALUES (1, 100), (2, 10000)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE product_item");
+    }
+
+    @Test
+    void decreaseCounts() {
+        SortedMap<Long, Integer> counts = new TreeMap<>();
+        counts.put(1L, 30);
+        counts.put(2L, 20000);
+
+        assertArrayEquals(new int[]{1, 0}, productItemRepository.decreaseCounts(counts));
+        assertEquals(70, count(1L));
+        assertEquals(10000, count(2L));
+    }
+
+    @Test
+    void increaseCounts() {
+        SortedMap<Long, Integer> counts = new TreeMap<>();
+        counts.put(1L, 30);
+        counts.put(2L, 5);
+
+        assertArrayEquals(new int[]{1, 1}, productItemRepository.increaseCounts(counts));
+        assertEquals(130, count(1L));
+        assertEquals(10005, count(2L));
+    }
+
+    @Test
+    void concurrentOrdersDoNotOversell() throws Exception {
+        int orders = 300;
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < orders; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                SortedMap<Long, Integer> counts = new TreeMap<>();
+                counts.put(1L, 1);
+                counts.put(2L, 1);
+                // 서비스와 같이 한 행이라도 갱신되지 않으면 주문 전체를 롤백한다.
+                return transactionTemplate.execute(status -> {
+                    for (int updated : productItemRepository.decreaseCounts(counts)) {
+                        if (updated == 0) {
+                            status.setRollbackOnly();
+                            return false;
+                        }
+                    }
+                    return true;
+                });
+            }));
+        }
+        start.countDown();
+
+        int succeeded = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                succeeded++;
+            }
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertEquals(100, succeeded);
+        assertEquals(0, count(1L));
+        assertEquals(10000 - 100, count(2L));
+    }
+
+    private int count(Long id) {
+        return jdbcTemplate.queryForObject("SELECT count FROM product_item WHERE id = ?", Integer.class, id);
+    }
+}
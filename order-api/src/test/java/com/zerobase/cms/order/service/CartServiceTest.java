@@ -0,0 +1,196 @@
+package com.zerobase.cms.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+
+import com.zerobase.cms.order.client.RedisClient;
+import com.zerobase.cms.order.domain.product.AddProductCartForm;
+import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.domain.redis.CartFieldChanges;
+import com.zerobase.cms.order.domain.redis.CartHashCodec;
+import com.zerobase.cms.order.exception.CustomException;
+import com.zerobase.cms.order.exception.ErrorCode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class CartServiceTest {
+
+    @Mock
+    private RedisClient redisClient;
+
+    @InjectMocks
+    private CartService cartService;
+
+    @Test
+    void addCart_existingItem() {
+        Cart cart = new Cart(1L);
+        cart.getProducts().add(Cart.Product.from(form(10L, 3)));
+        givenUpdateCart(cart);
+
+        Cart result = cartService.addCart(1L, form(10L, 2));
+
+        assertEquals(5, result.getProducts().get(0).getItems().get(0).getCount());
+        assertEquals(0, result.getMessages().size());
+    }
+
+    @Test
+    void addCart_changedItemPrice() {
+        Cart cart = new Cart(1L);
+        cart.getProducts().add(Cart.Product.from(form(10L, 3)));
+        cart.getProducts().get(0).getItems().get(0).setPrice(900);
+        givenUpdateCart(cart);
+
+        Cart result = cartService.addCart(1L, form(10L, 2));
+
+        assertEquals(Collections.singletonList("productitem의 정보가 변경되었습니다. 확인 부탁드립니다."),
+            result.getMessages());
+    }
+
+    @Test
+    void addCart_emptyCart() {
+        givenUpdateCart(null);
+
+        Cart result = cartService.addCart(1L, form(10L, 2));
+
+        assertEquals(1L, result.getCustomerId());
+        assertEquals(2, result.getProducts().get(0).getItems().get(0).getCount());
+    }
+
+    @Test
+    void putCart_versionConflict() {
+        Cart stored = new Cart(1L);
+        stored.setVersion(3L);
+        givenUpdateCart(stored);
+
+        Cart cart = new Cart(1L);
+        cart.setVersion(2L);
+
+        CustomException exception = assertThrows(CustomException.class,
+            () -> cartService.putCart(1L, cart));
+
+        assertEquals(ErrorCode.CART_CONFLICT, exception.getErrorCode());
+    }
+
+    @Test
+    void putCart_withoutVersion() {
+        Cart stored = new Cart(1L);
+        stored.setVersion(3L);
+        givenUpdateCart(stored);
+
+        cartService.putCart(1L, new Cart(1L));
+        cartService.putCart(1L, null);
+    }
+
+    @Test
+    void addCartHash_newProduct() {
+        ReflectionTestUtils.setField(cartService, "hashStorage", true);
+
+        CartFieldChanges changes = addCartHash(Arrays.asList(null, null, null));
+
+        assertEquals("2", changes.getFields().get("count:10:1"));
+        assertEquals(CartHashCodec.encodeItem(Cart.ProductItem.builder().id(1L).name("item").price(1000).build()),
+            changes.getFields().get("item:10:1"));
+        assertEquals(3, changes.getFields().size());
+    }
+
+    @Test
+    void addCartHash_existingItem() {
+        ReflectionTestUtils.setField(cartService, "hashStorage", true);
+        Cart.Product product = Cart.Product.builder().id(10L).sellerId(1L).name("product").build();
+        Cart.ProductItem item = Cart.ProductItem.builder().id(1L).name("item").price(1000).build();
+
+        CartFieldChanges changes = addCartHash(
+            Arrays.asList(CartHashCodec.encodeProduct(product), null, CartHashCodec.encodeItem(item)));
+
+        assertEquals(Collections.singletonMap("count:10:1", 2L), changes.getIncrements());
+        assertEquals(Collections.emptyMap(), changes.getFields());
+    }
+
+    @Test
+    void addCartHash_changedItemPrice() {
+        ReflectionTestUtils.setField(cartService, "hashStorage", true);
+        Cart.Product product = Cart.Product.builder().id(10L).sellerId(1L).name("product").build();
+        Cart.ProductItem item = Cart.ProductItem.builder().id(1L).name("item").price(900).build();
+
+        CartFieldChanges changes = addCartHash(
+            Arrays.asList(CartHashCodec.encodeProduct(product), null, CartHashCodec.encodeItem(item)));
+
+        assertEquals(Collections.singletonMap("count:10:1", 2L), changes.getIncrements());
+        assertEquals(Collections.singletonList("productitem의 정보가 변경되었습니다. 확인 부탁드립니다."),
+            CartHashCodec.decodeMessages(changes.getFields().get(CartHashCodec.MESSAGES_FIELD)));
+    }
+
+    @Test
+    void addCartHash_changedProductName() {
+        ReflectionTestUtils.setField(cartService, "hashStorage", true);
+        Cart.Product product = Cart.Product.builder().id(10L).sellerId(1L).name("old").build();
+        Cart.ProductItem item = Cart.ProductItem.builder().id(1L).name("item").price(1000).build();
+
+        CartFieldChanges changes = addCartHash(Arrays.asList(CartHashCodec.encodeProduct(product),
+            CartHashCodec.encodeMessages(new ArrayList<>(Collections.singletonList("message"))),
+            CartHashCodec.encodeItem(item)));
+
+        List<String> messages = CartHashCodec.decodeMessages(changes.getFields().get(CartHashCodec.MESSAGES_FIELD));
+        assertEquals(Arrays.asList("message", "old의 정보가 변경되었습니다. 확인 부탁드립니다."), messages);
+    }
+
+    @Test
+    void getCartHash() {
+        ReflectionTestUtils.setField(cartService, "hashStorage", true);
+        given(redisClient.getCartHash(1L))
+            .willReturn(null);
+
+        assertNull(cartService.getCart(1L).getCustomerId());
+    }
+
+    private void givenUpdateCart(Cart stored) {
+        given(redisClient.updateCart(anyLong(), any()))
+            .willAnswer(invocation -> invocation.<UnaryOperator<Cart>>getArgument(1).apply(stored));
+    }
+
+    private CartFieldChanges addCartHash(List<String> values) {
+        List<CartFieldChanges> changes = new ArrayList<>();
+        given(redisClient.updateCartFields(anyLong(), anyList(), any()))
+            .willAnswer(invocation -> {
+                changes.add(invocation.<Function<List<String>, CartFieldChanges>>getArgument(2).apply(values));
+                return new Cart(1L);
+            });
+
+        cartService.addCart(1L, form(10L, 2));
+
+        return changes.get(0);
+    }
+
+    private static AddProductCartForm form(Long productId, int count) {
+        List<AddProductCartForm.ProductItem> items = new ArrayList<>();
+        items.add(AddProductCartForm.ProductItem.builder()
+            .id(1L)
+            .name("item")
+            .count(count)
+            .price(1000)
+            .build());
+        return AddProductCartForm.builder()
+            .id(productId)
+            .sellerId(1L)
+            .name("product")
+            .description("description")
+            .items(items)
+            .build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.zerobase.cms.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.zerobase.cms.order.domain.model.OrderMailOutbox;
+import com.zerobase.cms.order.domain.model.OrderMailOutbox.Status;
+import com.zerobase.cms.order.domain.repository.OrderMailOutboxRepository;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class OrderMailOutboxServiceTest {
+
+    @Mock
+    private OrderMailOutboxRepository orderMailOutboxRepository;
+
+    @InjectMocks
+    private OrderMailOutboxService orderMailOutboxService;
+
+    @Test
+    void enqueue() {
+        given(orderMailOutboxRepository.save(any()))
+            .willAnswer(invocation -> invocation.getArgument(0));
+
+        orderMailOutboxService.enqueue(1L, "zerobase@naver.com", "subject", "text");
+
+        ArgumentCaptor<OrderMailOutbox> captor = ArgumentCaptor.forClass(OrderMailOutbox.class);
+        verify(orderMailOutboxRepository).save(captor.capture());
+        assertEquals(Status.PENDING, captor.getValue().getStatus());
+        assertEquals("zerobase@naver.com", captor.getValue().getEmail());
+        assertEquals(0, captor.getValue().getAttempts());
+    }
+
+    @Test
+    void claimDueLeasesAllInOneUpdate() {
+        OrderMailOutbox first = mail(1L, 0);
+        OrderMailOutbox second = mail(2L, 0);
+        given(orderMailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+            eq(Status.PENDING), any(), any()))
+            .willReturn(Arrays.asList(first, second));
+
+        List<OrderMailOutbox> claimed = orderMailOutboxService.claimDue(10);
+
+        assertEquals(2, claimed.size());
+        verify(orderMailOutboxRepository).claim(eq(Arrays.asList(1L, 2L)), any());
+    }
+
+    @Test
+    void claimDueNothing() {
+        given(orderMailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+            eq(Status.PENDING), any(), any()))
+            .willReturn(Collections.emptyList());
+
+        assertTrue(orderMailOutboxService.claimDue(10).isEmpty());
+        verify(orderMailOutboxRepository, never()).claim(any(), any());
+    }
+
+    @Test
+    void deleteSentInChunks() {
+        ReflectionTestUtils.setField(orderMailOutboxService, "deleteChunkSize", 2);
+        given(orderMailOutboxRepository.findIdsByStatusAndNextAttemptAtBefore(eq(Status.SENT), any(), any()))
+            .willReturn(Arrays.asList(1L, 2L), Collections.singletonList(3L));
+        given(orderMailOutboxRepository.deleteAllByIdIn(any()))
+            .willAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+
+        assertEquals(3, orderMailOutboxService.deleteSent());
+        verify(orderMailOutboxRepository).deleteAllByIdIn(Collections.singletonList(3L));
+    }
+
+    @Test
+    void markFailedBacksOff() {
+        OrderMailOutbox mail = mail(1L, 2);
+        given(orderMailOutboxRepository.findById(1L))
+            .willReturn(Optional.of(mail));
+
+        LocalDateTime before = LocalDateTime.now();
+        orderMailOutboxService.markFailed(1L);
+
+        assertEquals(3, mail.getAttempts());
+        assertEquals(Status.PENDING, mail.getStatus());
+        assertTrue(!mail.getNextAttemptAt().isBefore(before.plusSeconds(4)));
+    }
+
+    @Test
+    void markFailedGivesUpAfterMaxAttempts() {
+        OrderMailOutbox mail = mail(1L, 4);
+        given(orderMailOutboxRepository.findById(1L))
+            .willReturn(Optional.of(mail));
+
+        orderMailOutboxService.markFailed(1L);
+
+        assertEquals(Status.FAILED, mail.getStatus());
+    }
+
+    private static OrderMailOutbox mail(Long id, int attempts) {
+        return OrderMailOutbox.builder()
+            .id(id)
+            .customerId(1L)
+            .email("zerobase@naver.com")
+            .status(Status.PENDING)
+            .attempts(attempts)
+            .nextAttemptAt(LocalDateTime.now())
+            .build();
+    }
+}
@@ -0,0 +1,172 @@
+package com.zerobase.cms.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.cms.order.domain.product.AddProductForm;
+import com.zerobase.cms.order.domain.product.ProductImportResult;
+import com.zerobase.cms.order.exception.CustomException;
+import com.zerobase.cms.order.exception.ErrorCode;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportServiceTest {
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ProductImportService productImportService;
+
+    @BeforeEach
+    void setUp() {
+        productImportService = new ProductImportService(productService, new ObjectMapper(), entityManager);
+        ReflectionTestUtils.setField(productImportService, "chunkSize", 2);
+    }
+
+    @Test
+    void importNdjsonInChunks() {
+        ProductImportResult result = productImportService.importNdjson(1L, input(
+            "{\"name\":\"p1\",\"description\":\"d\",\"items\":[{\"name\":\"i1\",\"price\":100,\"count\":1}]}",
+            "",
+            "{\"name\":\"p2\",\"items\":[]}",
+            "{\"name\":\"p3\",\"items\":[{\"name\":\"i1\",\"price\":-1,\"count\":1}]}",
+            "not json",
+            "{\"name\":\"p4\",\"items\":[]}"));
+
+        ArgumentCaptor<List<AddProductForm>> forms = formsCaptor();
+        verify(productService, times(2)).addProducts(eq(1L), forms.capture());
+        assertEquals(Arrays.asList("p1", "p2"), names(forms.getAllValues().get(0)));
+        assertEquals(Arrays.asList("p4"), names(forms.getAllValues().get(1)));
+        verify(entityManager, times(2)).clear();
+
+        assertEquals(5, result.getTotalCount());
+        assertEquals(3, result.getImportedCount());
+        assertEquals(2, result.getFailedCount());
+        assertEquals(2, result.getChunks().size());
+        assertEquals(1, result.getChunks().get(0).getFirstLine());
+        assertEquals(3, result.getChunks().get(0).getLastLine());
+        assertEquals(6, result.getChunks().get(1).getFirstLine());
+        assertEquals(4, result.getErrors().get(0).getLine());
+        assertEquals("옵션 가격은 0 이상이어야 합니다.", result.getErrors().get(0).getMessage());
+        assertEquals(5, result.getErrors().get(1).getLine());
+    }
+
+    @Test
+    void importCsvGroupsItemsByProduct() {
+        ProductImportResult result = productImportService.importCsv(1L, input(
+            "\uFEFFname,description,itemName,price,count",
+            "p1,\"desc, with comma\",i1,100,1",
+            "p1,\"desc, with comma\",i2,200,2",
+            "\"p\"\"2\",,,,",
+            "p3,d,i1,abc,1",
+            "p3,d,i2,100,1",
+            "p4,d,i1,100"));
+
+        ArgumentCaptor<List<AddProductForm>> forms = formsCaptor();
+        verify(productService).addProducts(eq(1L), forms.capture());
+        List<AddProductForm> saved = forms.getValue();
+        assertEquals(Arrays.asList("p1", "p\"2"), names(saved));
+        assertEquals("desc, with comma", saved.get(0).getDescription());
+        assertEquals(2, saved.get(0).getItems().size());
+        assertEquals(200, saved.get(0).getItems().get(1).getPrice());
+        assertTrue(saved.get(1).getItems().isEmpty());
+
+        assertEquals(4, result.getTotalCount());
+        assertEquals(2, result.getImportedCount());
+        assertEquals(5, result.getErrors().get(0).getLine());
+        assertEquals("5번째 줄의 가격과 수량은 숫자여야 합니다.", result.getErrors().get(0).getMessage());
+        assertEquals(7, result.getErrors().get(1).getLine());
+    }
+
+    @Test
+    void importCsvFail_INVALID_HEADER() {
+        CustomException exception = assertThrows(CustomException.class,
+            () -> productImportService.importCsv(1L, input("name,price", "p1,100")));
+
+        assertEquals(ErrorCode.PRODUCT_IMPORT_FAIL, exception.getErrorCode());
+    }
+
+    @Test
+    void continueAfterChunkFailure() {
+        given(productService.addProducts(eq(1L), anyList()))
+            .willThrow(new DataIntegrityViolationException("duplicate"))
+            .willReturn(new ArrayList<>());
+
+        ProductImportResult result = productImportService.importNdjson(1L, input(
+            "{\"name\":\"p1\",\"items\":[]}",
+            "{\"name\":\"p2\",\"items\":[]}",
+            "{\"name\":\"p3\",\"items\":[]}"));
+
+        assertFalse(result.getChunks().get(0).isSaved());
+        assertTrue(result.getChunks().get(1).isSaved());
+        assertEquals(1, result.getImportedCount());
+        assertEquals(2, result.getFailedCount());
+        assertEquals("1~2번째 줄의 상품을 저장하지 못했습니다.", result.getErrors().get(0).getMessage());
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void validate() {
+        assertNull(ProductImportService.validate(AddProductForm.builder()
+            .name("p")
+            .items(new ArrayList<>())
+            .build()));
+        assertEquals("상품명이 비어 있습니다.", ProductImportService.validate(AddProductForm.builder()
+            .name(" ")
+            .items(new ArrayList<>())
+            .build()));
+        assertEquals("옵션 목록이 없습니다.", ProductImportService.validate(AddProductForm.builder()
+            .name("p")
+            .build()));
+    }
+
+    @Test
+    void validateFail_SAME_ITEM_NAME() {
+        ProductImportResult result = productImportService.importNdjson(1L, input(
+            "{\"name\":\"p1\",\"items\":[{\"name\":\"i\",\"price\":1,\"count\":1},{\"name\":\"i\",\"price\":2,\"count\":1}]}"));
+
+        assertEquals(ErrorCode.SAME_ITEM_NAME.getDetail(), result.getErrors().get(0).getMessage());
+        assertTrue(result.getChunks().isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<AddProductForm>> formsCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
+    private static List<String> names(List<AddProductForm> forms) {
+        List<String> names = new ArrayList<>();
+        forms.forEach(form -> names.add(form.getName()));
+        return names;
+    }
+
+    private static InputStream input(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -4,6 +4,8 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 import com.zerobase.cms.order.domain.model.Product;
 import com.zerobase.cms.order.domain.model.ProductItem;
@@ -14,13 +16,20 @@ import com.zerobase.cms.order.domain.repository.ProductRepository;
 import com.zerobase.cms.order.exception.CustomException;
 import com.zerobase.cms.order.exception.ErrorCode;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.SortedMap;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 @ExtendWith(MockitoExtension.class)
 class ProductItemServiceTest {
@@ -31,6 +40,9 @@ class ProductItemServiceTest {
     @Mock
     private ProductItemRepository productItemRepository;
 
+    @Mock
+    private ProductSnapshotCache productSnapshotCache;
+
     @InjectMocks
     private ProductItemService productItemService;
 
@@ -68,22 +80,13 @@ class ProductItemServiceTest {
 
     @Test
     void addProductItemSuccess() {
-        List<ProductItem> productItems = new ArrayList<>();
-        productItems.add(ProductItem.builder()
+        Product product = Product.builder()
             .id(1L)
-            .name("item")
-            .count(1)
-            .price(50)
-            .build());
-
-        given(productRepository.findBySellerIdAndId(anyLong(), anyLong()))
-            .willReturn(Optional.ofNullable(Product.builder()
-                .id(1L)
-                .sellerId(1L)
-                .name("product")
-                .description("description")
-                .productItems(productItems)
-                .build()));
+            .sellerId(1L)
+            .build();
+        given(productRepository.existsBySellerIdAndId(1L, 1L)).willReturn(true);
+        given(productItemRepository.existsByProductIdAndName(1L, "zero")).willReturn(false);
+        given(productRepository.getById(1L)).willReturn(product);
 
         AddProductItemForm form = AddProductItemForm.builder()
             .productId(1L)
@@ -92,16 +95,20 @@ class ProductItemServiceTest {
             .count(10)
             .build();
 
-        Product result = productItemService.addProductItem(1L, form);
+        ProductItem result = productItemService.addProductItem(1L, form);
 
-        assertEquals(2, result.getProductItems().size());
-        assertEquals("zero", result.getProductItems().get(1).getName());
+        assertEquals("zero", result.getName());
+        assertEquals(1L, result.getSellerId());
+        assertSame(product, result.getProduct());
+        verify(productItemRepository).saveAndFlush(result);
+        verify(productRepository, never()).findBySellerIdAndId(anyLong(), anyLong());
+        verify(productSnapshotCache).invalidate(1L);
     }
 
     @Test
     void addProductItemFail_NOT_FOUND_PRODUCT() {
-        given(productRepository.findBySellerIdAndId(anyLong(), anyLong()))
-            .willReturn(Optional.empty());
+        given(productRepository.existsBySellerIdAndId(anyLong(), anyLong()))
+            .willReturn(false);
 
         AddProductItemForm form = AddProductItemForm.builder()
             .productId(1L)
@@ -119,22 +126,30 @@ class ProductItemServiceTest {
 
     @Test
     void addProductItemFail_SAME_ITEM_NAME() {
-        List<ProductItem> productItems = new ArrayList<>();
-        productItems.add(ProductItem.builder()
-            .id(1L)
+        given(productRepository.existsBySellerIdAndId(anyLong(), anyLong())).willReturn(true);
+        given(productItemRepository.existsByProductIdAndName(1L, "item")).willReturn(true);
+
+        AddProductItemForm form = AddProductItemForm.builder()
+            .productId(1L)
             .name("item")
-            .count(1)
-            .price(50)
-            .build());
+            .price(1000)
+            .count(10)
+            .build();
 
-        given(productRepository.findBySellerIdAndId(anyLong(), anyLong()))
-            .willReturn(Optional.ofNullable(Product.builder()
-                .id(1L)
-                .sellerId(1L)
-                .name("product")
-                .description("description")
-                .productItems(productItems)
-                .build()));
+        CustomException exception = assertThrows(CustomException.class,
+            () -> productItemService.addProductItem(1L, form));
+
+        assertEquals(ErrorCode.SAME_ITEM_NAME, exception.getErrorCode());
+        assertEquals("아이템 명 중복입니다.", exception.getMessage());
+        verify(productItemRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void addProductItemFail_SAME_ITEM_NAME_OnConstraintViolation() {
+        given(productRepository.existsBySellerIdAndId(anyLong(), anyLong())).willReturn(true);
+        given(productItemRepository.existsByProductIdAndName(1L, "item")).willReturn(false);
+        given(productItemRepository.saveAndFlush(any()))
+            .willThrow(new DataIntegrityViolationException("uk_product_item_product_id_name"));
 
         AddProductItemForm form = AddProductItemForm.builder()
             .productId(1L)
@@ -147,7 +162,7 @@ class ProductItemServiceTest {
             () -> productItemService.addProductItem(1L, form));
 
         assertEquals(ErrorCode.SAME_ITEM_NAME, exception.getErrorCode());
-        assertEquals("아이템 명 중복입니다.", exception.getMessage());
+        verify(productSnapshotCache, never()).invalidate(anyLong());
     }
 
     @Test
@@ -235,4 +250,30 @@ class ProductItemServiceTest {
         assertEquals(ErrorCode.NOT_FOUND_ITEM, exception.getErrorCode());
         assertEquals("아이템을 찾을 수 없습니다.", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void decreaseCounts() {
+        Map<Long, Integer> counts = new HashMap<>();
+        counts.put(3L, 1);
+        counts.put(1L, 2);
+        given(productItemRepository.decreaseCounts(any()))
+            .willReturn(new int[]{1, 1});
+
+        productItemService.decreaseCounts(counts);
+
+        ArgumentCaptor<SortedMap<Long, Integer>> captor = ArgumentCaptor.forClass(SortedMap.class);
+        verify(productItemRepository).decreaseCounts(captor.capture());
+        assertEquals(Arrays.asList(1L, 3L), new ArrayList<>(captor.getValue().keySet()));
+    }
+
+    @Test
+    void decreaseCountsFail_NOT_ENOUGH_ITEM_COUNT() {
+        given(productItemRepository.decreaseCounts(any()))
+            .willReturn(new int[]{1, 0});
+
+        CustomException exception = assertThrows(CustomException.class,
+            () -> productItemService.decreaseCounts(Collections.singletonMap(1L, 5)));
+
+        assertEquals(ErrorCode.NOT_ENOUGH_ITEM_COUNT, exception.getErrorCode());
+    }
+}
@@ -0,0 +1,77 @@
+package com.zerobase.cms.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.repository.ProductRepository;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchIndexSyncTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private final ProductSearchIndex productSearchIndex = new ProductSearchIndex();
+
+    private ProductSearchIndexSync sync;
+
+    @BeforeEach
+    void setUp() {
+        sync = new ProductSearchIndexSync(redisTemplate, productRepository, productSearchIndex);
+        sync.register();
+    }
+
+    @Test
+    void publishLocalChangeAndSkipOwnMessage() {
+        productSearchIndex.index(Product.builder().id(1L).name("나이키 운동화").build());
+
+        ArgumentCaptor<Object> message = ArgumentCaptor.forClass(Object.class);
+        verify(redisTemplate).convertAndSend(eq(ProductSearchIndexSync.CHANNEL), message.capture());
+        sync.onMessage(message(message.getValue().toString()), null);
+
+        verify(productRepository, never()).findById(anyLong());
+        assertEquals(1L, productSearchIndex.search("운동화", 10).get(0).getId());
+    }
+
+    @Test
+    void reloadChangeFromOtherInstance() {
+        productSearchIndex.add(1L, "나이키 운동화", null);
+        productSearchIndex.add(2L, "아디다스 운동화", null);
+        given(productRepository.findById(1L))
+            .willReturn(Optional.of(Product.builder().id(1L).name("나이키 슬리퍼").build()));
+        given(productRepository.findById(2L))
+            .willReturn(Optional.empty());
+
+        sync.onMessage(message("other:1"), null);
+        sync.onMessage(message("other:2"), null);
+
+        assertTrue(productSearchIndex.search("운동화", 10).isEmpty());
+        assertEquals(1L, productSearchIndex.search("슬리퍼", 10).get(0).getId());
+        verify(redisTemplate, never()).convertAndSend(eq(ProductSearchIndexSync.CHANNEL), any());
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(ProductSearchIndexSync.CHANNEL.getBytes(StandardCharsets.UTF_8),
+            body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,152 @@
+package com.zerobase.cms.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.product.ProductSearchDto;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ProductSearchIndexTest {
+
+    @Test
+    void tokenize() {
+        assertEquals(Arrays.asList("나이", "이키", "운동", "동화", "a"),
+            ProductSearchIndex.tokenize("나이키 운동화, A"));
+    }
+
+    @Test
+    void searchRankedByBm25() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.add(1L, "나이키 운동화", "가벼운 러닝화");
+        index.add(2L, "아디다스 티셔츠", "운동화와 어울리는 티셔츠");
+        index.add(3L, "무지 양말", "면 양말");
+
+        List<ProductSearchDto> result = index.search("운동화", 10);
+
+        assertEquals(2, result.size());
+        assertEquals(1L, result.get(0).getId());
+        assertEquals(2L, result.get(1).getId());
+        assertEquals("나이키 운동화", result.get(0).getName());
+    }
+
+    @Test
+    void searchSubstringOfWord() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.add(1L, "zerobase keyboard", "mechanical");
+
+        assertEquals(1L, index.search("base", 10).get(0).getId());
+        assertTrue(index.search("mouse", 10).isEmpty());
+    }
+
+    @Test
+    void updateAndDelete() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.add(1L, "나이키 운동화", "러닝화");
+        index.add(1L, "나이키 슬리퍼", "러닝화");
+
+        assertTrue(index.search("운동화", 10).isEmpty());
+        assertEquals(1L, index.search("슬리퍼", 10).get(0).getId());
+        assertEquals(1, index.size());
+
+        index.delete(1L);
+
+        assertTrue(index.search("슬리퍼", 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void compactAfterManyDeletes() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        for (long id = 1; id <= 3000; id++) {
+            index.add(id, "상품" + id, "설명");
+        }
+        for (long id = 1; id <= 2990; id++) {
+            index.delete(id);
+        }
+
+        assertEquals(10, index.size());
+        assertEquals(10, index.search("상품", 100).size());
+        assertEquals(3000L, index.search("상품3000", 1).get(0).getId());
+    }
+
+    @Test
+    void searchLimit() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        for (long id = 1; id <= 50; id++) {
+            index.add(id, "운동화 " + id, null);
+        }
+
+        assertEquals(5, index.search("운동화", 5).size());
+        assertTrue(index.search("", 5).isEmpty());
+    }
+
+    @Test
+    void documentFrequencyExcludesDeleted() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.add(1L, "나이키 운동화", null);
+        index.add(2L, "아디다스 운동화", null);
+        index.add(1L, "나이키 슬리퍼", null);
+        index.delete(2L);
+
+        assertEquals(0, index.documentFrequency("운동"));
+        assertEquals(1, index.documentFrequency("나이"));
+        assertEquals(1, index.documentFrequency("슬리"));
+    }
+
+    @Test
+    void rebuildReplaysChangesMadeDuringBuild() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.add(1L, "나이키 운동화", null);
+
+        ProductSearchIndex rebuilt = index.startRebuild();
+        // 재색인이 변경 전의 행을 읽는 동안 수정과 삭제가 커밋된 경우
+        index.add(1L, "나이키 슬리퍼", null);
+        index.delete(2L);
+        rebuilt.add(1L, "나이키 운동화", null);
+        rebuilt.add(2L, "아디다스 티셔츠", null);
+        index.finishRebuild(rebuilt);
+
+        assertEquals(1, index.size());
+        assertTrue(index.search("운동화", 10).isEmpty());
+        assertTrue(index.search("티셔츠", 10).isEmpty());
+        assertEquals(1L, index.search("슬리퍼", 10).get(0).getId());
+    }
+
+    @Test
+    void searchSingleCharacter() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.add(1L, "아이폰 케이스", null);
+        index.add(2L, "갤럭시 케이스", null);
+        index.add(3L, "폰", null);
+
+        List<ProductSearchDto> result = index.search("폰", 10);
+
+        assertEquals(2, result.size());
+        assertEquals(3L, result.get(0).getId());
+        assertEquals(1L, result.get(1).getId());
+        assertEquals(2, index.search("케이스", 10).size());
+
+        index.delete(1L);
+
+        assertEquals(1, index.documentFrequency("폰"));
+    }
+
+    @Test
+    void notifyOnlyLocalChanges() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        List<Long> changed = new ArrayList<>();
+        index.setChangeListener(changed::add);
+
+        index.index(Product.builder().id(1L).name("나이키 운동화").build());
+        index.remove(2L);
+        index.add(3L, "아디다스 운동화", null);
+        index.delete(3L);
+
+        assertEquals(Arrays.asList(1L, 2L), changed);
+        assertEquals(1L, index.search("운동화", 10).get(0).getId());
+    }
+}
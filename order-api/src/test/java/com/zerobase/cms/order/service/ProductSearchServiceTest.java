@@ -3,15 +3,23 @@ package com.zerobase.cms.order.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
 
 import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.product.ProductSearchDto;
+import com.zerobase.cms.order.domain.product.ProductSnapshot;
 import com.zerobase.cms.order.domain.repository.ProductRepository;
 import com.zerobase.cms.order.exception.CustomException;
 import com.zerobase.cms.order.exception.ErrorCode;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
@@ -26,6 +34,12 @@ class ProductSearchServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private ProductSnapshotCache productSnapshotCache;
+
     @InjectMocks
     private ProductSearchService productSearchService;
 
@@ -49,6 +63,34 @@ class ProductSearchServiceTest {
         assertEquals(1L, result.get(0).getId());
     }
 
+    @Test
+    void searchByNamePage() {
+        List<ProductSearchDto> products = new ArrayList<>();
+        products.add(ProductSearchDto.builder()
+            .id(1L)
+            .name("product")
+            .description("description")
+            .build());
+
+        given(productRepository.searchByName(eq("zerobase"), eq(40L), eq(20)))
+            .willReturn(products);
+
+        List<ProductSearchDto> result = productSearchService.searchByName("zerobase", 2, 20);
+
+        assertEquals("product", result.get(0).getName());
+        assertEquals(1L, result.get(0).getId());
+    }
+
+    @Test
+    void searchByNameAfter_limitPageSize() {
+        given(productRepository.searchByNameAfter(eq("zerobase"), isNull(), eq(ProductSearchService.MAX_PAGE_SIZE)))
+            .willReturn(new ArrayList<>());
+
+        List<ProductSearchDto> result = productSearchService.searchByNameAfter("zerobase", null, 10000);
+
+        assertEquals(0, result.size());
+    }
+
     @Test
     void getByProductIdSuccess() {
         given(productRepository.findWithProductItemsById(anyLong()))
@@ -100,4 +142,51 @@ class ProductSearchServiceTest {
         assertEquals("product", result.get(0).getName());
         assertEquals(1L, result.get(0).getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void buildIndex() {
+        List<ProductSearchDto> products = new ArrayList<>();
+        products.add(ProductSearchDto.builder()
+            .id(2L)
+            .name("product")
+            .description("description")
+            .build());
+
+        ProductSearchIndex rebuilt = new ProductSearchIndex();
+        given(productSearchIndex.startRebuild())
+            .willReturn(rebuilt);
+        given(productRepository.searchByNameAfter(eq(""), isNull(), anyInt()))
+            .willReturn(products);
+
+        productSearchService.buildIndex();
+
+        assertEquals(2L, rebuilt.search("product", 10).get(0).getId());
+        verify(productSearchIndex).finishRebuild(rebuilt);
+    }
+
+    @Test
+    void getSnapshots() {
+        ProductSnapshot cached = new ProductSnapshot(1L, 1L, "cached", "description", new ArrayList<>());
+        given(productSnapshotCache.get(1L))
+            .willReturn(cached);
+        given(productSnapshotCache.generation())
+            .willReturn(7L);
+
+        List<Product> products = new ArrayList<>();
+        products.add(Product.builder()
+            .id(2L)
+            .sellerId(1L)
+            .name("product")
+            .description("description")
+            .productItems(new ArrayList<>())
+            .build());
+        given(productRepository.findAllByIdIn(Collections.singletonList(2L)))
+            .willReturn(products);
+
+        List<ProductSnapshot> result = productSearchService.getSnapshots(Arrays.asList(1L, 2L));
+
+        assertEquals("cached", result.get(0).getName());
+        assertEquals("product", result.get(1).getName());
+        verify(productSnapshotCache).put(result.get(1), 7L);
+    }
+}
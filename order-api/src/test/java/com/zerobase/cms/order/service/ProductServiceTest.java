@@ -3,8 +3,11 @@ package com.zerobase.cms.order.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 import com.zerobase.cms.order.domain.model.Product;
 import com.zerobase.cms.order.domain.model.ProductItem;
@@ -29,6 +32,12 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private ProductSnapshotCache productSnapshotCache;
+
     @InjectMocks
     private ProductService productService;
 
@@ -64,6 +73,26 @@ class ProductServiceTest {
         assertEquals("item", result.getProductItems().get(0).getName());
     }
 
+    @Test
+    void addProducts() {
+        List<AddProductForm> forms = new ArrayList<>();
+        forms.add(AddProductForm.builder()
+            .name("product")
+            .description("description")
+            .items(new ArrayList<>())
+            .build());
+
+        given(productRepository.saveAll(anyList()))
+            .willAnswer(invocation -> invocation.getArgument(0));
+
+        List<Product> result = productService.addProducts(1L, forms);
+
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).getSellerId());
+        assertEquals("product", result.get(0).getName());
+        verify(productSearchIndex).index(result.get(0));
+    }
+
     @Test
     void updateProductSuccess() {
         List<ProductItem> productItems = new ArrayList<>();
@@ -106,6 +135,48 @@ class ProductServiceTest {
         assertEquals(1000, result.getProductItems().get(0).getPrice());
     }
 
+    @Test
+    void updateProductOnlyChangedFields() {
+        List<ProductItem> productItems = new ArrayList<>();
+        List<UpdateProductItemForm> itemForms = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            productItems.add(ProductItem.builder()
+                .id(id)
+                .name("item" + id)
+                .count(1)
+                .price(50)
+                .build());
+            itemForms.add(UpdateProductItemForm.builder()
+                .id(1001 - id)
+                .productId(1L)
+                .name("item" + (1001 - id))
+                .price(id == 1 ? 100 : 50)
+                .count(1)
+                .build());
+        }
+
+        given(productRepository.findBySellerIdAndId(anyLong(), anyLong()))
+            .willReturn(Optional.ofNullable(Product.builder()
+                .id(1L)
+                .sellerId(1L)
+                .name("product")
+                .description("description")
+                .productItems(productItems)
+                .build()));
+
+        Product result = productService.updateProduct(1L, UpdateProductForm.builder()
+            .id(1L)
+            .name("product")
+            .description("description")
+            .items(itemForms)
+            .build());
+
+        assertEquals(100, result.getProductItems().get(999).getPrice());
+        assertEquals(50, result.getProductItems().get(0).getPrice());
+        verify(productSearchIndex, never()).index(any());
+        verify(productSnapshotCache).invalidate(1L);
+    }
+
     @Test
     void updateProductFail_NOT_FOUND_PRODUCT() {
         UpdateProductForm form = UpdateProductForm.builder()
@@ -0,0 +1,71 @@
+package com.zerobase.cms.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.zerobase.cms.order.domain.product.ProductItemSnapshot;
+import com.zerobase.cms.order.domain.product.ProductSnapshot;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class ProductSnapshotCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void expireAfterTtl() {
+        ProductSnapshotCache cache = new ProductSnapshotCache(10, 1000, now::get);
+        ProductSnapshot snapshot = snapshot(1L, 10L);
+        cache.put(snapshot, cache.generation());
+
+        now.set(999);
+        assertSame(snapshot, cache.get(1L));
+        now.set(1000);
+        assertNull(cache.get(1L));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void evictLeastRecentlyUsed() {
+        ProductSnapshotCache cache = new ProductSnapshotCache(2, 1000, now::get);
+        cache.put(snapshot(1L, 10L), cache.generation());
+        cache.put(snapshot(2L, 20L), cache.generation());
+        cache.get(1L);
+        cache.put(snapshot(3L, 30L), cache.generation());
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get(2L));
+        assertEquals(1L, cache.get(1L).getId());
+    }
+
+    @Test
+    void invalidateByItem() {
+        ProductSnapshotCache cache = new ProductSnapshotCache(10, 1000, now::get);
+        cache.put(snapshot(1L, 10L), cache.generation());
+        cache.put(snapshot(2L, 20L), cache.generation());
+
+        cache.invalidateItems(Collections.singletonList(20L));
+
+        assertNull(cache.get(2L));
+        assertEquals(1L, cache.get(1L).getId());
+    }
+
+    @Test
+    void ignoreLoadStartedBeforeInvalidate() {
+        ProductSnapshotCache cache = new ProductSnapshotCache(10, 1000, now::get);
+        long generation = cache.generation();
+        cache.invalidate(1L);
+
+        cache.put(snapshot(1L, 10L), generation);
+
+        assertNull(cache.get(1L));
+    }
+
+    private static ProductSnapshot snapshot(Long productId, Long itemId) {
+        return new ProductSnapshot(productId, 1L, "product", "description",
+            Collections.singletonList(new ProductItemSnapshot(itemId, "item", 1000, 5)));
+    }
+}
@@ -1,6 +1,5 @@
 package com.zerobase.cms.user.application;
 
-import com.zerobase.cms.user.client.MailgunClient;
 import com.zerobase.cms.user.client.mailgun.SendMailForm;
 import com.zerobase.cms.user.domain.SignUpForm;
 import com.zerobase.cms.user.domain.model.Customer;
@@ -8,20 +7,22 @@ import com.zerobase.cms.user.domain.model.Seller;
 import com.zerobase.cms.user.exception.CustomException;
 import com.zerobase.cms.user.exception.ErrorCode;
 import com.zerobase.cms.user.service.customer.SignUpCustomerService;
+import com.zerobase.cms.user.service.mail.MailDispatcher;
 import com.zerobase.cms.user.service.seller.SellerService;
 import java.time.LocalDateTime;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.springframework.stereotype.Service;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class SignUpApplication {
-    private final MailgunClient mailgunClient;
+    private final MailDispatcher mailDispatcher;
     private final SignUpCustomerService signUpCustomerService;
     private final SellerService sellerService;
+    private final SignUpValidator signUpValidator;
 
     public void customerVerify(String email, String code) {
         signUpCustomerService.verifyEmail(email, code);
@@ -31,15 +32,15 @@ public class SignUpApplication {
         if (signUpCustomerService.isEmailExist(form.getEmail())) {
             throw new CustomException(ErrorCode.ALREADY_REGISTER_USER);
         } else {
-            if (!isValidEmail(form.getEmail())) {
+            if (!signUpValidator.isValidEmail(form.getEmail())) {
                 throw new CustomException(ErrorCode.NOT_VALID_EMAIL);
             }
 
-            if (!isValidPhone(form.getPhone())) {
+            if (!signUpValidator.isValidPhone(form.getPhone())) {
                 throw new CustomException(ErrorCode.NOT_VALID_PHONE);
             }
 
-            if (!isValidPassword(form.getPassword())) {
+            if (!signUpValidator.isValidPassword(form.getPassword())) {
                 throw new CustomException(ErrorCode.NOT_VALID_PASSWORD);
             }
 
@@ -53,7 +54,7 @@ public class SignUpApplication {
                 .subject("Verification Email!")
                 .text(getVerificationEmailBody(c.getEmail(), c.getName(),"customer", code))
                 .build();
-            mailgunClient.sendEmail(sendMailForm);
+            sendVerificationMail(sendMailForm);
             signUpCustomerService.changeCustomerValidateEmail(c.getId(), code);
             return "회원 가입에 성공하였습니다.";
         }
@@ -67,15 +68,15 @@ public class SignUpApplication {
         if (sellerService.isEmailExist(form.getEmail())) {
             throw new CustomException(ErrorCode.ALREADY_REGISTER_USER);
         } else {
-            if (!isValidEmail(form.getEmail())) {
+            if (!signUpValidator.isValidEmail(form.getEmail())) {
                 throw new CustomException(ErrorCode.NOT_VALID_EMAIL);
             }
 
-            if (!isValidPhone(form.getPhone())) {
+            if (!signUpValidator.isValidPhone(form.getPhone())) {
                 throw new CustomException(ErrorCode.NOT_VALID_PHONE);
             }
 
-            if (!isValidPassword(form.getPassword())) {
+            if (!signUpValidator.isValidPassword(form.getPassword())) {
                 throw new CustomException(ErrorCode.NOT_VALID_PASSWORD);
             }
 
@@ -89,12 +90,21 @@ public class SignUpApplication {
                 .subject("Verification Email!")
                 .text(getVerificationEmailBody(s.getEmail(), s.getName(),"seller", code))
                 .build();
-            mailgunClient.sendEmail(sendMailForm);
+            sendVerificationMail(sendMailForm);
             sellerService.changeSellerValidateEmail(s.getId(), code);
             return "회원 가입에 성공하였습니다.";
         }
     }
 
+    // 가입은 메일 발송을 기다리지 않는다. 발송에 실패하면 로그를 남기며, 인증 메일은 다시 가입을 시도해야 받을 수 있다.
+    private void sendVerificationMail(SendMailForm form) {
+        mailDispatcher.dispatch(form).whenComplete((body, e) -> {
+            if (e != null) {
+                log.warn("verification mail send fail. to={}", form.getTo(), e);
+            }
+        });
+    }
+
     private String getRandomCode() {
         return RandomStringUtils.random(10, true, true);
     }
@@ -107,41 +117,4 @@ public class SignUpApplication {
             .append("&code=")
             .append(code).toString();
     }
-
-    private static boolean isValidEmail(String email) {
-        boolean err = false;
-        String regex = "^[_a-z0-9-]+(.[_a-z0-9-]+)*@(?:\\w+\\.)+\\w+$";
-        Pattern p = Pattern.compile(regex);
-        Matcher m = p.matcher(email);
-        if(m.matches()) {
-            err = true;
-        }
-        return err;
-    }
-
-    private static boolean isValidPhone(String phone) {
-        if (phone.length() > 11 || phone.length() < 5) {
-            return false;
-        }
-        boolean err = false;
-        String regex = "^[0-9]*$";
-        Pattern p = Pattern.compile(regex);
-        Matcher m = p.matcher(phone);
-        if(m.matches()) {
-            err = true;
-        }
-        return err;
-    }
-
-    //최소 8자리에 숫자, 문자, 특수문자 각각 1개 이상 포함
-    private static boolean isValidPassword(String password) {
-        boolean err = false;
-        String regex = "^(?=.*[A-Za-z])(?=.*\\d)(?=.*[$@$!%*#?&])[A-Za-z\\d$@$!%*#?&]{8,}$";
-        Pattern p = Pattern.compile(regex);
-        Matcher m = p.matcher(password);
-        if(m.matches()) {
-            err = true;
-        }
-        return err;
-    }
 }
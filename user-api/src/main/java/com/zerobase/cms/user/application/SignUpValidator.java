@@ -0,0 +1,134 @@
+package com.zerobase.cms.user.application;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 회원 가입 입력값 검증.
+ * 이전에 쓰던 정규식과 같은 규칙을 한 번의 순회로 검사해 입력 길이에 비례하는 시간 안에 끝난다.
+ * <pre>
+ * email    ^[_a-z0-9-]+(.[_a-z0-9-]+)*@(?:\w+\.)+\w+$
+ * phone    5~11 자리, ^[0-9]*$
+ * password ^(?=.*[A-Za-z])(?=.*\d)(?=.*[$@$!%*#?&])[A-Za-z\d$@$!%*#?&]{8,}$
+ * </pre>
+ * email 정규식은 긴 입력에서 역추적이 길어지고 StackOverflowError 까지 나므로 정규식 대신 직접 검사한다.
+ */
+@Component
+public class SignUpValidator {
+
+    private static final int MIN_PHONE_LENGTH = 5;
+    private static final int MAX_PHONE_LENGTH = 11;
+    private static final int MIN_PASSWORD_LENGTH = 8;
+
+    /**
+     * 마지막 '@' 를 기준으로 나눈다. 도메인에는 '@' 가 올 수 없고 로컬 부분의 '.' 은 아무 글자나 허용하기 때문이다.
+     * 로컬 부분: [_a-z0-9-] 로 시작하고 끝나며, 그 밖의 글자(줄바꿈 제외)는 연달아 오지 않는다.
+     * 도메인: \w 로 시작하고 끝나며, '.' 이 한 개 이상 있고 연달아 오지 않는다.
+     */
+    public boolean isValidEmail(String email) {
+        if (email == null) {
+            return false;
+        }
+        int at = email.lastIndexOf('@');
+        return at > 0 && isValidLocalPart(email, at) && isValidDomain(email, at + 1);
+    }
+
+    public boolean isValidPhone(String phone) {
+        if (phone == null || phone.length() > MAX_PHONE_LENGTH || phone.length() < MIN_PHONE_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < phone.length(); i++) {
+            if (!isDigit(phone.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //최소 8자리에 숫자, 문자, 특수문자 각각 1개 이상 포함
+    public boolean isValidPassword(String password) {
+        if (password == null || password.length() < MIN_PASSWORD_LENGTH) {
+            return false;
+        }
+        boolean letter = false;
+        boolean digit = false;
+        boolean special = false;
+        for (int i = 0; i < password.length(); i++) {
+            char c = password.charAt(i);
+            if (isLetter(c)) {
+                letter = true;
+            } else if (isDigit(c)) {
+                digit = true;
+            } else if (isSpecial(c)) {
+                special = true;
+            } else {
+                return false;
+            }
+        }
+        return letter && digit && special;
+    }
+
+    private static boolean isValidLocalPart(String email, int end) {
+        boolean previousSeparator = true;
+        int i = 0;
+        while (i < end) {
+            int c = email.codePointAt(i);
+            i += Character.charCount(c);
+            if (isLocalChar(c)) {
+                previousSeparator = false;
+            } else if (previousSeparator || isLineTerminator(c)) {
+                return false;
+            } else {
+                previousSeparator = true;
+            }
+        }
+        return !previousSeparator;
+    }
+
+    private static boolean isValidDomain(String email, int start) {
+        if (start == email.length()) {
+            return false;
+        }
+        boolean previousDot = true;
+        boolean dot = false;
+        for (int i = start; i < email.length(); i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                if (previousDot) {
+                    return false;
+                }
+                previousDot = true;
+                dot = true;
+            } else if (isWordChar(c)) {
+                previousDot = false;
+            } else {
+                return false;
+            }
+        }
+        return dot && !previousDot;
+    }
+
+    private static boolean isLocalChar(int c) {
+        return (c >= 'a' && c <= 'z') || isDigit(c) || c == '_' || c == '-';
+    }
+
+    private static boolean isWordChar(int c) {
+        return isLetter(c) || isDigit(c) || c == '_';
+    }
+
+    private static boolean isLetter(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isSpecial(int c) {
+        return c == '$' || c == '@' || c == '!' || c == '%' || c == '*' || c == '#' || c == '?' || c == '&';
+    }
+
+    // 정규식의 '.' 이 매칭하지 않는 글자
+    private static boolean isLineTerminator(int c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == 0x2028 || c == 0x2029;
+    }
+}
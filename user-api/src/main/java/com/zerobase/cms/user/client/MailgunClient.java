@@ -3,14 +3,20 @@ package com.zerobase.cms.user.client;
 import com.zerobase.cms.user.client.mailgun.SendMailForm;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cloud.openfeign.FeignClient;
+import java.util.Map;
 import org.springframework.cloud.openfeign.SpringQueryMap;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 
-@FeignClient(name = "mailgun", url = "https://api.mailgun.net/v3/")
+@FeignClient(name = "mailgun", url = "${mailgun.api.url:https://api.mailgun.net/v3/}")
 @Qualifier("mailgun")
 public interface MailgunClient {
 
     @PostMapping("${mailgun.api.domain}" + "/messages")
     ResponseEntity<String> sendEmail(@SpringQueryMap SendMailForm from);
+
+    // to 에 여러 주소를 넣고 recipient-variables 로 받는 사람마다 다른 값을 넣어 한 번에 보낸다.
+    @PostMapping(value = "${mailgun.api.domain}" + "/messages", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    ResponseEntity<String> sendBatchEmail(Map<String, ?> form);
 }
@@ -1,6 +1,10 @@
 package com.zerobase.cms.user.config;
 
+import feign.Client;
 import feign.auth.BasicAuthRequestInterceptor;
+import java.util.concurrent.TimeUnit;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -17,4 +21,21 @@ public class FeignConfig {
         return new BasicAuthRequestInterceptor("api", apiKey);
     }
 
+    // 기본 Client 는 요청마다 연결을 새로 맺으므로 keep-alive 연결을 재사용하는 OkHttp 로 보낸다.
+    @Bean
+    public OkHttpClient okHttpClient(
+        @Value("${feign.okhttp.max-idle-connections:20}") int maxIdleConnections,
+        @Value("${feign.okhttp.keep-alive-millis:300000}") long keepAliveMillis) {
+        return new OkHttpClient.Builder()
+            .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveMillis, TimeUnit.MILLISECONDS))
+            .connectTimeout(5, TimeUnit.SECONDS)
+            .readTimeout(30, TimeUnit.SECONDS)
+            .build();
+    }
+
+    @Bean
+    public Client feignClient(OkHttpClient okHttpClient) {
+        return new feign.okhttp.OkHttpClient(okHttpClient);
+    }
+
 }
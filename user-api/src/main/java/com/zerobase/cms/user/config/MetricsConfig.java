@@ -0,0 +1,70 @@
+package com.zerobase.cms.user.config;
+
+import com.zerobase.cms.user.config.filter.PrincipalCache;
+import com.zerobase.cms.user.service.customer.BalanceIdempotencyCache;
+import com.zerobase.cms.user.service.mail.MailDispatcher;
+import com.zerobase.domain.config.JwtAuthenticationProvider;
+import com.zerobase.domain.config.SpringfoxHandlerMappingFilter;
+import com.zerobase.domain.config.VerifiedTokenCache;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+/**
+ * /actuator/prometheus 로 지표를 내보낸다. 노출할 endpoint 와 히스토그램 설정은 metrics.properties 에 있고,
+ * 외부 설정 파일에 같은 키가 있으면 그 값이 우선한다.
+ */
+@Configuration
+@PropertySource("classpath:metrics.properties")
+public class MetricsConfig {
+
+    // actuator endpoint 와 springfox 를 함께 띄우기 위한 우회 설정. 이유는 SpringfoxHandlerMappingFilter 에 적어 두었다.
+    @Bean
+    public static SpringfoxHandlerMappingFilter springfoxHandlerMappingFilter() {
+        return new SpringfoxHandlerMappingFilter();
+    }
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    // MeterBinder 는 MeterRegistry 를 만드는 도중에 바인딩되어 이 빈들과 순환 참조가 생기므로 모든 싱글톤이 만들어진 뒤 등록한다.
+    @Bean
+    public SmartInitializingSingleton counterMetrics(MeterRegistry meterRegistry, PrincipalCache principalCache,
+        BalanceIdempotencyCache balanceIdempotencyCache, MailDispatcher mailDispatcher,
+        JwtAuthenticationProvider jwtAuthenticationProvider) {
+        return () -> {
+            FunctionCounter.builder("cache.gets", principalCache, PrincipalCache::getHitCount)
+                .tags("cache", "principal", "result", "hit")
+                .register(meterRegistry);
+            FunctionCounter.builder("cache.gets", principalCache, PrincipalCache::getMissCount)
+                .tags("cache", "principal", "result", "miss")
+                .register(meterRegistry);
+            FunctionCounter.builder("balance.idempotency.replays", balanceIdempotencyCache,
+                    BalanceIdempotencyCache::getReplayCount)
+                .register(meterRegistry);
+
+            // mail.dispatch.batches timer 는 MailDispatcher 가 직접 기록한다.
+            FunctionCounter.builder("mail.dispatch.messages", mailDispatcher, MailDispatcher::getMessageCount)
+                .register(meterRegistry);
+            FunctionCounter.builder("mail.dispatch.failures", mailDispatcher, MailDispatcher::getFailureCount)
+                .register(meterRegistry);
+            Gauge.builder("mail.dispatch.queue", mailDispatcher, MailDispatcher::getQueueDepth)
+                .register(meterRegistry);
+
+            VerifiedTokenCache tokenCache = jwtAuthenticationProvider.getTokenCache();
+            FunctionCounter.builder("cache.gets", tokenCache, VerifiedTokenCache::getHitCount)
+                .tags("cache", "verified-token", "result", "hit")
+                .register(meterRegistry);
+            FunctionCounter.builder("cache.gets", tokenCache, VerifiedTokenCache::getMissCount)
+                .tags("cache", "verified-token", "result", "miss")
+                .register(meterRegistry);
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.zerobase.cms.user.config;
+
+import java.util.concurrent.Executors;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * spring.threads.virtual.enabled=true 이면 Tomcat 이 요청마다 가상 스레드를 만들어 처리한다.
+ * 속성이 없으면 꺼져 있고 Tomcat 의 기존 스레드 풀로 처리한다.
+ * 요청 스레드가 DB 응답을 기다리는 동안 플랫폼 스레드를 붙잡지 않는다.
+ * MailgunClient(Feign) 호출은 MailDispatcher 가 모아서 보낸다. 그 스레드는 mail.dispatch.virtual-threads 로 따로 정한다.
+ * Boot 3.2 부터는 같은 속성을 Boot 가 직접 처리하므로 그때 이 설정은 지운다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadExecutorCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("tomcat-handler-", 0).factory()));
+    }
+}
@@ -1,6 +1,7 @@
 package com.zerobase.cms.user.config.filter;
 
 import com.zerobase.cms.user.service.customer.CustomerService;
+import com.zerobase.domain.common.UserType;
 import com.zerobase.domain.common.UserVo;
 import com.zerobase.domain.config.JwtAuthenticationProvider;
 import java.io.IOException;
@@ -19,6 +20,7 @@ public class CustomFilter implements Filter {
 
     private final JwtAuthenticationProvider jwtAuthenticationProvider;
     private final CustomerService customerService;
+    private final PrincipalCache principalCache;
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
@@ -29,9 +31,13 @@ public class CustomFilter implements Filter {
             throw new ServletException("Invalid Access");
         }
         UserVo vo = jwtAuthenticationProvider.getUserVo(token);
-        customerService.findByIdAndEmail(vo.getId(), vo.getEmail()).orElseThrow(
-            () -> new ServletException("Invalid Access")
-        );
+        if (!principalCache.contains(UserType.CUSTOMER, vo)) {
+            customerService.findByIdAndEmail(vo.getId(), vo.getEmail()).orElseThrow(
+                () -> new ServletException("Invalid Access")
+            );
+            principalCache.put(UserType.CUSTOMER, vo);
+        }
+        req.setAttribute(PrincipalCache.USER_VO_ATTRIBUTE, vo);
         chain.doFilter(request, response);
     }
 }
@@ -0,0 +1,140 @@
+package com.zerobase.cms.user.config.filter;
+
+import com.zerobase.domain.common.UserType;
+import com.zerobase.domain.common.UserVo;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 필터에서 DB 로 확인한 회원과 셀러를 ttl 동안 기억해 요청마다 조회하지 않게 한다.
+ * id 와 이메일만 기억하므로 회원이나 셀러 정보를 바꾸는 쪽에서 invalidate 를 호출한다.
+ */
+@Component
+public class PrincipalCache {
+
+    // 필터가 확인한 UserVo 를 컨트롤러에 넘길 때 쓰는 request attribute 이름
+    public static final String USER_VO_ATTRIBUTE = "userVo";
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // 읽은 순서로 정렬해 가득 차면 가장 오래 쓰지 않은 항목 하나만 뺀다.
+    private final Map<String, Entry> entries;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    @Autowired
+    public PrincipalCache(
+        @Value("${auth.principal-cache.max-size:10000}") int maxSize,
+        @Value("${auth.principal-cache.ttl-millis:30000}") long ttlMillis) {
+        this(maxSize, ttlMillis, System::currentTimeMillis);
+    }
+
+    PrincipalCache(int maxSize, long ttlMillis, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > PrincipalCache.this.maxSize;
+            }
+        };
+    }
+
+    public boolean contains(UserType userType, UserVo vo) {
+        String key = key(userType, vo.getId());
+        boolean hit;
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt <= clock.getAsLong()) {
+                entries.remove(key);
+                entry = null;
+            }
+            hit = entry != null && entry.email.equals(vo.getEmail());
+        } finally {
+            lock.unlock();
+        }
+        if (hit) {
+            hitCount.increment();
+        } else {
+            missCount.increment();
+        }
+        return hit;
+    }
+
+    public void put(UserType userType, UserVo vo) {
+        Entry entry = new Entry(vo.getEmail(), clock.getAsLong() + ttlMillis);
+        lock.lock();
+        try {
+            entries.put(key(userType, vo.getId()), entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 트랜잭션 중이면 커밋 후에도 한 번 더 지워 커밋 전에 다시 채워진 값이 남지 않게 한다.
+    public void invalidate(UserType userType, Long id) {
+        String key = key(userType, id);
+        remove(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(key);
+                }
+            });
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    private void remove(String key) {
+        lock.lock();
+        try {
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String key(UserType userType, Long id) {
+        return userType.name() + ":" + id;
+    }
+
+    private static class Entry {
+        private final String email;
+        private final long expiresAt;
+
+        private Entry(String email, long expiresAt) {
+            this.email = email;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
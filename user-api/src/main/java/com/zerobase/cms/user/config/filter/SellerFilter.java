@@ -1,6 +1,7 @@
 package com.zerobase.cms.user.config.filter;
 
 import com.zerobase.cms.user.service.seller.SellerService;
+import com.zerobase.domain.common.UserType;
 import com.zerobase.domain.common.UserVo;
 import com.zerobase.domain.config.JwtAuthenticationProvider;
 import java.io.IOException;
@@ -19,6 +20,7 @@ public class SellerFilter implements Filter {
 
     private final JwtAuthenticationProvider jwtAuthenticationProvider;
     private final SellerService sellerService;
+    private final PrincipalCache principalCache;
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
@@ -29,9 +31,13 @@ public class SellerFilter implements Filter {
             throw new ServletException("Invalid Access");
         }
         UserVo vo = jwtAuthenticationProvider.getUserVo(token);
-        sellerService.findByIdAndEmail(vo.getId(), vo.getEmail()).orElseThrow(
-            () -> new ServletException("Invalid Access")
-        );
+        if (!principalCache.contains(UserType.SELLER, vo)) {
+            sellerService.findByIdAndEmail(vo.getId(), vo.getEmail()).orElseThrow(
+                () -> new ServletException("Invalid Access")
+            );
+            principalCache.put(UserType.SELLER, vo);
+        }
+        req.setAttribute(PrincipalCache.USER_VO_ATTRIBUTE, vo);
         chain.doFilter(request, response);
     }
 }
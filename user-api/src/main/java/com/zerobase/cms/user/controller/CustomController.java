@@ -1,21 +1,25 @@
 package com.zerobase.cms.user.controller;
 
+import com.zerobase.cms.user.config.filter.PrincipalCache;
+import com.zerobase.cms.user.domain.customer.BalanceHistoryPage;
 import com.zerobase.cms.user.domain.customer.ChangeBalanceForm;
 import com.zerobase.cms.user.domain.customer.CustomerDto;
 import com.zerobase.cms.user.domain.model.Customer;
 import com.zerobase.cms.user.exception.CustomException;
 import com.zerobase.cms.user.exception.ErrorCode;
+import com.zerobase.cms.user.service.customer.BalanceIdempotencyCache;
 import com.zerobase.cms.user.service.customer.CustomerBalanceService;
 import com.zerobase.cms.user.service.customer.CustomerService;
 import com.zerobase.domain.common.UserVo;
-import com.zerobase.domain.config.JwtAuthenticationProvider;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -23,13 +27,12 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class CustomController {
 
-    private final JwtAuthenticationProvider provider;
     private final CustomerService customerService;
     private final CustomerBalanceService customerBalanceService;
+    private final BalanceIdempotencyCache balanceIdempotencyCache;
 
     @GetMapping("/getInfo")
-    public ResponseEntity<CustomerDto> getInfo(@RequestHeader(name = "X-AUTH-TOKEN") String token) {
-        UserVo vo = provider.getUserVo(token);
+    public ResponseEntity<CustomerDto> getInfo(@RequestAttribute(PrincipalCache.USER_VO_ATTRIBUTE) UserVo vo) {
         Customer c = customerService.findByIdAndEmail(vo.getId(), vo.getEmail()).orElseThrow(
             () -> new CustomException(ErrorCode.NOT_FOUND_USER));
 
@@ -38,10 +41,45 @@ public class CustomController {
 
     @PostMapping("/balance")
     public ResponseEntity<Integer> changeBalance(
-        @RequestHeader(name = "X-AUTH-TOKEN") String token,
+        @RequestAttribute(PrincipalCache.USER_VO_ATTRIBUTE) UserVo vo,
+        @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
         @RequestBody ChangeBalanceForm form
     ) {
-        UserVo vo = provider.getUserVo(token);
-        return ResponseEntity.ok(customerBalanceService.changeBalance(vo.getId(), form).getCurrentMoney());
+        return ResponseEntity.ok(applyBalanceChange(vo, idempotencyKey, form));
+    }
+
+    // 잔액을 바꾸고 바뀐 잔액이 담긴 회원 정보를 돌려줘 주문 한 건이 user-api 를 한 번만 호출하게 한다.
+    @PostMapping("/balance/reserve")
+    public ResponseEntity<CustomerDto> reserveBalance(
+        @RequestAttribute(PrincipalCache.USER_VO_ATTRIBUTE) UserVo vo,
+        @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+        @RequestBody ChangeBalanceForm form
+    ) {
+        return ResponseEntity.ok(new CustomerDto(vo.getId(), vo.getEmail(), applyBalanceChange(vo, idempotencyKey, form)));
+    }
+
+    // 결과를 알 수 없거나 뒤 단계가 실패한 주문의 잔액 차감을 같은 Idempotency-Key 로 되돌린다.
+    @PostMapping("/balance/cancel")
+    public ResponseEntity<Void> cancelBalance(
+        @RequestAttribute(PrincipalCache.USER_VO_ATTRIBUTE) UserVo vo,
+        @RequestHeader(name = "Idempotency-Key") String idempotencyKey
+    ) {
+        customerBalanceService.cancelBalanceChange(vo.getId(), idempotencyKey);
+        balanceIdempotencyCache.invalidate(vo.getId(), idempotencyKey);
+        return ResponseEntity.ok().build();
+    }
+
+    @GetMapping("/balance/history")
+    public ResponseEntity<BalanceHistoryPage> getBalanceHistory(
+        @RequestAttribute(PrincipalCache.USER_VO_ATTRIBUTE) UserVo vo,
+        @RequestParam(required = false) Long cursor,
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(customerBalanceService.getBalanceHistory(vo.getId(), cursor, size));
+    }
+
+    private Integer applyBalanceChange(UserVo vo, String idempotencyKey, ChangeBalanceForm form) {
+        return balanceIdempotencyCache.execute(vo.getId(), idempotencyKey, form.getMoney(),
+            () -> customerBalanceService.changeBalance(vo.getId(), idempotencyKey, form));
     }
 }
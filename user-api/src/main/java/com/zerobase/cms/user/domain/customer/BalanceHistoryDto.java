@@ -0,0 +1,17 @@
+package com.zerobase.cms.user.domain.customer;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BalanceHistoryDto {
+
+    private Long id;
+    private Integer changeMoney;
+    private Integer currentMoney;
+    private String fromMessage;
+    private String description;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,16 @@
+package com.zerobase.cms.user.domain.customer;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * nextCursor 를 다음 요청의 cursor 로 넘기면 이어지는 이력을 받는다. 마지막 페이지면 null.
+ */
+@Getter
+@AllArgsConstructor
+public class BalanceHistoryPage {
+
+    private List<BalanceHistoryDto> histories;
+    private Long nextCursor;
+}
@@ -5,7 +5,9 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -18,6 +20,10 @@ import lombok.Setter;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+// 이력 조회가 읽는 컬럼을 모두 담아 테이블을 다시 읽지 않고 인덱스만으로 페이지를 만든다.
+// columnList 는 Hibernate 의 논리 이름(필드명)을 쓰며, 실제 컬럼은 change_money 처럼 snake_case 로 만들어진다.
+@Table(indexes = @Index(name = "idx_customer_balance_history_customer_id",
+    columnList = "customer_id, id, changeMoney, currentMoney, fromMessage, description, createdAt"))
 public class CustomerBalanceHistory extends BaseEntity{
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,48 @@
+package com.zerobase.cms.user.domain.model;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Idempotency-Key 로 처리한 잔액 변경. 잔액 변경, 이력과 같은 트랜잭션에서 저장한다.
+ * 같은 회원의 같은 키는 unique 제약으로 한 행만 남으므로 재시작이나 다른 인스턴스로 온 재시도도 한 번만 반영된다.
+ * 취소된 키는 행을 지우지 않고 cancelled 로 남겨 같은 키로 늦게 도착한 요청이 다시 차감하지 못하게 한다.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_customer_balance_idempotency_key",
+    columnNames = {"customer_id", "idempotency_key"}))
+public class CustomerBalanceIdempotency {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Column(name = "idempotency_key", nullable = false)
+    private String idempotencyKey;
+
+    private Integer money;
+
+    // 변경 후 잔액. 재시도에는 이 값을 그대로 돌려준다.
+    private Integer currentMoney;
+
+    @Column(nullable = false)
+    private boolean cancelled;
+
+    private LocalDateTime createdAt;
+}
@@ -5,7 +5,8 @@ import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.web.bind.annotation.RequestParam;
 
-public interface CustomerBalanceHistoryRepository extends JpaRepository<CustomerBalanceHistory, Long> {
+public interface CustomerBalanceHistoryRepository extends JpaRepository<CustomerBalanceHistory, Long>,
+    CustomerBalanceHistoryRepositoryCustom {
 
     Optional<CustomerBalanceHistory> findFirstByCustomer_IdOrderByIdDesc(
         @RequestParam("customer_id") Long customerId);
@@ -0,0 +1,12 @@
+package com.zerobase.cms.user.domain.repository;
+
+import com.zerobase.cms.user.domain.customer.BalanceHistoryDto;
+import java.util.List;
+
+public interface CustomerBalanceHistoryRepositoryCustom {
+
+    /**
+     * 회원의 잔액 이력을 최신순으로 limit 건 읽는다. cursor 가 있으면 그 id 보다 이전 이력부터 읽는다.
+     */
+    List<BalanceHistoryDto> findHistories(Long customerId, Long cursor, int limit);
+}
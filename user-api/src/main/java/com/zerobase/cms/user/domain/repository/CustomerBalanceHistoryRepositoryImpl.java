@@ -0,0 +1,41 @@
+package com.zerobase.cms.user.domain.repository;
+
+import com.zerobase.cms.user.domain.customer.BalanceHistoryDto;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class CustomerBalanceHistoryRepositoryImpl implements CustomerBalanceHistoryRepositoryCustom {
+
+    // OFFSET 대신 마지막으로 받은 id 다음부터 읽으므로 (customer_id, id) 로 시작하는 인덱스에서 바로 시작 위치를 찾는다.
+    // 몇 번째 페이지든 읽는 행은 limit 건뿐이고, 고르는 컬럼이 모두 인덱스에 있어 테이블은 읽지 않는다.
+    // 컬럼을 더 고르려면 인덱스에도 넣어야 한다.
+    private static final String SELECT_SQL =
+        "SELECT id, change_money, current_money, from_message, description, created_at "
+            + "FROM customer_balance_history WHERE customer_id = ? ";
+    private static final String FIRST_PAGE_SQL = SELECT_SQL + "ORDER BY id DESC LIMIT ?";
+    private static final String NEXT_PAGE_SQL = SELECT_SQL + "AND id < ? ORDER BY id DESC LIMIT ?";
+
+    private static final RowMapper<BalanceHistoryDto> ROW_MAPPER = (rs, rowNum) -> new BalanceHistoryDto(
+        rs.getLong("id"),
+        rs.getObject("change_money", Integer.class),
+        rs.getObject("current_money", Integer.class),
+        rs.getString("from_message"),
+        rs.getString("description"),
+        rs.getObject("created_at", LocalDateTime.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<BalanceHistoryDto> findHistories(Long customerId, Long cursor, int limit) {
+        if (cursor == null) {
+            return jdbcTemplate.query(FIRST_PAGE_SQL, ROW_MAPPER, customerId, limit);
+        }
+        return jdbcTemplate.query(NEXT_PAGE_SQL, ROW_MAPPER, customerId, cursor, limit);
+    }
+}
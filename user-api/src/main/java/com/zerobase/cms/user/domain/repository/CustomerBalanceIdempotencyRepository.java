@@ -0,0 +1,11 @@
+package com.zerobase.cms.user.domain.repository;
+
+import com.zerobase.cms.user.domain.model.CustomerBalanceIdempotency;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CustomerBalanceIdempotencyRepository extends JpaRepository<CustomerBalanceIdempotency, Long>,
+    CustomerBalanceIdempotencyRepositoryCustom {
+
+    Optional<CustomerBalanceIdempotency> findByCustomerIdAndIdempotencyKey(Long customerId, String idempotencyKey);
+}
@@ -0,0 +1,24 @@
+package com.zerobase.cms.user.domain.repository;
+
+public interface CustomerBalanceIdempotencyRepositoryCustom {
+
+    /**
+     * 키를 선점한다. 이미 같은 회원의 같은 키가 있으면 false 를 돌려준다.
+     * 다른 트랜잭션이 같은 키를 넣고 아직 끝나지 않았으면 그 트랜잭션이 끝날 때까지 기다린다.
+     */
+    boolean claim(Long customerId, String idempotencyKey, int money);
+
+    void complete(Long customerId, String idempotencyKey, int currentMoney);
+
+    void release(Long customerId, String idempotencyKey);
+
+    /**
+     * 아직 요청이 도착하지 않은 키를 취소된 상태로 넣는다. 이미 같은 회원의 같은 키가 있으면 false 를 돌려준다.
+     */
+    boolean claimCancelled(Long customerId, String idempotencyKey);
+
+    /**
+     * 처리가 끝난 키를 취소된 상태로 바꾼다. 이미 취소됐거나 처리 중이면 false 를 돌려준다.
+     */
+    boolean cancel(Long customerId, String idempotencyKey);
+}
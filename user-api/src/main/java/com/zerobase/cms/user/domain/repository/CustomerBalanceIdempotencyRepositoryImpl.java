@@ -0,0 +1,58 @@
+package com.zerobase.cms.user.domain.repository;
+
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class CustomerBalanceIdempotencyRepositoryImpl implements CustomerBalanceIdempotencyRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT INTO customer_balance_idempotency "
+        + "(customer_id, idempotency_key, money, cancelled, created_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String COMPLETE_SQL = "UPDATE customer_balance_idempotency SET current_money = ? "
+        + "WHERE customer_id = ? AND idempotency_key = ?";
+    private static final String CANCEL_SQL = "UPDATE customer_balance_idempotency SET cancelled = TRUE "
+        + "WHERE customer_id = ? AND idempotency_key = ? AND cancelled = FALSE AND current_money IS NOT NULL";
+    private static final String DELETE_SQL =
+        "DELETE FROM customer_balance_idempotency WHERE customer_id = ? AND idempotency_key = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 중복 키 오류는 SQL 한 문장만 실패시키므로 트랜잭션은 그대로 이어서 저장된 결과를 읽을 수 있다.
+    @Override
+    public boolean claim(Long customerId, String idempotencyKey, int money) {
+        return insert(customerId, idempotencyKey, money, false);
+    }
+
+    @Override
+    public boolean claimCancelled(Long customerId, String idempotencyKey) {
+        return insert(customerId, idempotencyKey, null, true);
+    }
+
+    @Override
+    public void complete(Long customerId, String idempotencyKey, int currentMoney) {
+        jdbcTemplate.update(COMPLETE_SQL, currentMoney, customerId, idempotencyKey);
+    }
+
+    @Override
+    public void release(Long customerId, String idempotencyKey) {
+        jdbcTemplate.update(DELETE_SQL, customerId, idempotencyKey);
+    }
+
+    @Override
+    public boolean cancel(Long customerId, String idempotencyKey) {
+        return jdbcTemplate.update(CANCEL_SQL, customerId, idempotencyKey) > 0;
+    }
+
+    private boolean insert(Long customerId, String idempotencyKey, Integer money, boolean cancelled) {
+        try {
+            jdbcTemplate.update(INSERT_SQL, customerId, idempotencyKey, money, cancelled, LocalDateTime.now());
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+}
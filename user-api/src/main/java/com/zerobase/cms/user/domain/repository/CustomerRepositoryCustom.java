@@ -0,0 +1,12 @@
+package com.zerobase.cms.user.domain.repository;
+
+import java.util.Optional;
+
+public interface CustomerRepositoryCustom {
+
+    /**
+     * 잔액이 0 미만이 되지 않을 때만 money 만큼 잔액을 바꾸고 바뀐 잔액을 돌려준다.
+     * 회원이 없거나 잔액이 부족하면 비어 있는 값을 돌려준다.
+     */
+    Optional<Integer> changeBalance(Long customerId, int money);
+}
@@ -0,0 +1,27 @@
+package com.zerobase.cms.user.domain.repository;
+
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class CustomerRepositoryImpl implements CustomerRepositoryCustom {
+
+    private static final String CHANGE_BALANCE_SQL =
+        "UPDATE customer SET balance = COALESCE(balance, 0) + ? WHERE id = ? AND COALESCE(balance, 0) + ? >= 0";
+    private static final String SELECT_BALANCE_SQL = "SELECT balance FROM customer WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 갱신한 행의 잠금은 트랜잭션이 끝날 때까지 유지되므로 바로 읽은 잔액은 이 변경이 반영된 값이다.
+    @Override
+    public Optional<Integer> changeBalance(Long customerId, int money) {
+        if (jdbcTemplate.update(CHANGE_BALANCE_SQL, money, customerId, money) == 0) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(
+            jdbcTemplate.queryForObject(SELECT_BALANCE_SQL, Integer.class, customerId));
+    }
+}
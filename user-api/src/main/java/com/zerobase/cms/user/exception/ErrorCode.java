@@ -17,7 +17,12 @@ public enum ErrorCode {
     NOT_VALID_PHONE(HttpStatus.BAD_REQUEST, "핸드폰 번호 형식을 확인해주세요."),
     NOT_VALID_PASSWORD(HttpStatus.BAD_REQUEST, "비밀번호는 최소 8자리에 숫자, 문자, 특수문자 각각 1개 이상 포함해야 합니다."),
     WRONG_EMAIL_ADDRESS(HttpStatus.BAD_REQUEST, "이메일 주소가 다릅니다."),
-    WRONG_VERIFICATION(HttpStatus.BAD_REQUEST, "잘못된 인증 시도입니다.");
+    WRONG_VERIFICATION(HttpStatus.BAD_REQUEST, "잘못된 인증 시도입니다."),
+    IDEMPOTENCY_KEY_REUSED(HttpStatus.UNPROCESSABLE_ENTITY, "이미 다른 요청에 사용된 Idempotency-Key 입니다."),
+    IDEMPOTENCY_KEY_IN_USE(HttpStatus.CONFLICT, "같은 Idempotency-Key 의 요청을 처리하고 있습니다. 잠시 후 다시 시도해 주세요."),
+    IDEMPOTENCY_KEY_CANCELLED(HttpStatus.CONFLICT, "취소된 Idempotency-Key 입니다. 새 키로 다시 요청해 주세요."),
+    MAIL_QUEUE_FULL(HttpStatus.SERVICE_UNAVAILABLE, "메일 발송 대기열이 가득 찼습니다. 잠시 후 다시 시도해 주세요."),
+    MAIL_SEND_TIMEOUT(HttpStatus.GATEWAY_TIMEOUT, "메일 발송 결과를 기다리는 시간이 지났습니다.");
 
 
 
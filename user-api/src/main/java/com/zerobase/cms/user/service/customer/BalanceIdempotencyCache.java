@@ -0,0 +1,151 @@
+package com.zerobase.cms.user.service.customer;
+
+import com.zerobase.cms.user.exception.CustomException;
+import com.zerobase.cms.user.exception.ErrorCode;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Idempotency-Key 로 들어온 잔액 변경 결과를 ttl 동안 보관해 같은 키로 다시 들어온 요청에는 저장된 결과를 돌려준다.
+ * 같은 키의 요청이 동시에 들어오면 먼저 들어온 요청만 실행하고 나머지는 그 결과를 기다린다.
+ * 실패한 요청은 보관하지 않아 같은 키로 다시 시도할 수 있다.
+ * <p>
+ * 이 인스턴스 안에서 DB 를 거치지 않고 되돌려 주는 빠른 경로일 뿐이다. 중복 차감은 CustomerBalanceService 가
+ * customer_balance_idempotency 의 unique 키로 막으므로, 재시작이나 다른 인스턴스, 밀려난 키의 재시도도 한 번만 반영된다.
+ */
+@Component
+public class BalanceIdempotencyCache {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // ttl 이 모두 같으므로 넣은 순서가 곧 만료 순서다.
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    private final LongAdder replayCount = new LongAdder();
+
+    @Autowired
+    public BalanceIdempotencyCache(
+        @Value("${customer.balance.idempotency.max-size:100000}") int maxSize,
+        @Value("${customer.balance.idempotency.ttl-millis:600000}") long ttlMillis) {
+        this(maxSize, ttlMillis, System::currentTimeMillis);
+    }
+
+    BalanceIdempotencyCache(int maxSize, long ttlMillis, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+    public Integer execute(Long customerId, String idempotencyKey, Integer money, Supplier<Integer> action) {
+        if (!StringUtils.hasText(idempotencyKey)) {
+            return action.get();
+        }
+        String key = customerId + ":" + idempotencyKey;
+        Entry entry = new Entry(money, new CompletableFuture<>(), clock.getAsLong() + ttlMillis);
+        Entry stored;
+
+        lock.lock();
+        try {
+            evict();
+            stored = entries.putIfAbsent(key, entry);
+            if (stored == null && entries.size() > maxSize) {
+                Iterator<Entry> eldest = entries.values().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (stored != null) {
+            if (!Objects.equals(stored.money, money)) {
+                throw new CustomException(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+            }
+            replayCount.increment();
+            return await(stored.result);
+        }
+
+        try {
+            Integer result = action.get();
+            entry.result.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                entries.remove(key, entry);
+            } finally {
+                lock.unlock();
+            }
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // 취소된 키는 DB 에서 거절하도록 보관한 결과를 버린다.
+    public void invalidate(Long customerId, String idempotencyKey) {
+        lock.lock();
+        try {
+            entries.remove(customerId + ":" + idempotencyKey);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getReplayCount() {
+        return replayCount.sum();
+    }
+
+    private void evict() {
+        long now = clock.getAsLong();
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (eldest.hasNext() && eldest.next().expiresAt <= now) {
+            eldest.remove();
+        }
+    }
+
+    private static Integer await(CompletableFuture<Integer> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static class Entry {
+        private final Integer money;
+        private final CompletableFuture<Integer> result;
+        private final long expiresAt;
+
+        private Entry(Integer money, CompletableFuture<Integer> result, long expiresAt) {
+            this.money = money;
+            this.result = result;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,14 +1,22 @@
 package com.zerobase.cms.user.service.customer;
 
+import com.zerobase.cms.user.domain.customer.BalanceHistoryDto;
+import com.zerobase.cms.user.domain.customer.BalanceHistoryPage;
 import com.zerobase.cms.user.domain.customer.ChangeBalanceForm;
 import com.zerobase.cms.user.domain.model.CustomerBalanceHistory;
+import com.zerobase.cms.user.domain.model.CustomerBalanceIdempotency;
 import com.zerobase.cms.user.domain.repository.CustomerBalanceHistoryRepository;
+import com.zerobase.cms.user.domain.repository.CustomerBalanceIdempotencyRepository;
 import com.zerobase.cms.user.domain.repository.CustomerRepository;
 import com.zerobase.cms.user.exception.CustomException;
 import com.zerobase.cms.user.exception.ErrorCode;
+import java.util.List;
+import java.util.Objects;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 @Service
 @RequiredArgsConstructor
@@ -16,9 +24,79 @@ public class CustomerBalanceService {
 
     private final CustomerBalanceHistoryRepository customerBalanceHistoryRepository;
     private final CustomerRepository customerRepository;
+    private final CustomerBalanceIdempotencyRepository customerBalanceIdempotencyRepository;
+
+    @Value("${customer.balance.ledger-mode.enabled:false}")
+    private boolean ledgerMode;
+
+    @Value("${customer.balance.history.max-page-size:100}")
+    private int maxHistoryPageSize = 100;
+
+    /**
+     * idempotencyKey 가 있으면 키를 먼저 선점하고 잔액 변경, 이력과 같은 트랜잭션에서 결과를 저장한다.
+     * 이미 처리한 키는 잔액을 바꾸지 않고 저장된 변경 후 잔액을 돌려준다. 금액이 다르면 IDEMPOTENCY_KEY_REUSED 이다.
+     * 잔액 부족처럼 반영되지 않은 요청은 키를 지워 같은 키로 다시 시도할 수 있게 한다.
+     */
+    @Transactional(noRollbackFor = CustomException.class)
+    public Integer changeBalance(Long customerId, String idempotencyKey, ChangeBalanceForm form) {
+        if (!StringUtils.hasText(idempotencyKey)) {
+            return changeBalance(customerId, form).getCurrentMoney();
+        }
+        if (!customerBalanceIdempotencyRepository.claim(customerId, idempotencyKey, form.getMoney())) {
+            return replay(customerId, idempotencyKey, form.getMoney());
+        }
+        try {
+            Integer currentMoney = changeBalance(customerId, form).getCurrentMoney();
+            customerBalanceIdempotencyRepository.complete(customerId, idempotencyKey, currentMoney);
+            return currentMoney;
+        } catch (CustomException e) {
+            customerBalanceIdempotencyRepository.release(customerId, idempotencyKey);
+            throw e;
+        }
+    }
+
+    private Integer replay(Long customerId, String idempotencyKey, Integer money) {
+        CustomerBalanceIdempotency stored = customerBalanceIdempotencyRepository
+            .findByCustomerIdAndIdempotencyKey(customerId, idempotencyKey)
+            .orElseThrow(() -> new CustomException(ErrorCode.IDEMPOTENCY_KEY_IN_USE));
+        if (stored.isCancelled()) {
+            throw new CustomException(ErrorCode.IDEMPOTENCY_KEY_CANCELLED);
+        }
+        if (!Objects.equals(stored.getMoney(), money)) {
+            throw new CustomException(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+        }
+        if (stored.getCurrentMoney() == null) {
+            throw new CustomException(ErrorCode.IDEMPOTENCY_KEY_IN_USE);
+        }
+        return stored.getCurrentMoney();
+    }
+
+    /**
+     * idempotencyKey 로 반영한 잔액 변경을 반대 금액의 이력으로 되돌린다. 여러 번 불러도 한 번만 되돌린다.
+     * 아직 그 키의 요청이 도착하지 않았으면 취소된 키로 남겨, 늦게 도착한 요청은 IDEMPOTENCY_KEY_CANCELLED 로 거절한다.
+     */
+    @Transactional
+    public void cancelBalanceChange(Long customerId, String idempotencyKey) {
+        if (customerBalanceIdempotencyRepository.claimCancelled(customerId, idempotencyKey)) {
+            return;
+        }
+        CustomerBalanceIdempotency stored = customerBalanceIdempotencyRepository
+            .findByCustomerIdAndIdempotencyKey(customerId, idempotencyKey)
+            .orElseThrow(() -> new CustomException(ErrorCode.IDEMPOTENCY_KEY_IN_USE));
+        if (stored.isCancelled()) {
+            return;
+        }
+        if (!customerBalanceIdempotencyRepository.cancel(customerId, idempotencyKey)) {
+            throw new CustomException(ErrorCode.IDEMPOTENCY_KEY_IN_USE);
+        }
+        changeBalance(customerId, new ChangeBalanceForm("USER", "Cancel", -stored.getMoney()));
+    }
 
     @Transactional(noRollbackFor = CustomException.class)
     public CustomerBalanceHistory changeBalance(Long customerId, ChangeBalanceForm form) throws CustomException {
+        if (ledgerMode) {
+            return changeBalanceByLedger(customerId, form);
+        }
         CustomerBalanceHistory customerBalanceHistory =
             customerBalanceHistoryRepository.findFirstByCustomer_IdOrderByIdDesc(customerId)
                 .orElse(CustomerBalanceHistory.builder()
@@ -43,4 +121,37 @@ public class CustomerBalanceService {
 
         return customerBalanceHistoryRepository.save(customerBalanceHistory);
     }
+
+    /**
+     * Customer.balance 를 기준으로 잔액을 바꾼다.
+     * 최근 이력을 읽고 계산하는 대신 조건부 UPDATE 한 번으로 잔액을 바꾸므로 동시에 요청이 와도 잔액이 음수가 되거나 변경이 유실되지 않는다.
+     * 이력은 같은 트랜잭션 안에서 추가한다.
+     */
+    private CustomerBalanceHistory changeBalanceByLedger(Long customerId, ChangeBalanceForm form) {
+        Integer currentMoney = customerRepository.changeBalance(customerId, form.getMoney())
+            .orElseThrow(() -> new CustomException(customerRepository.existsById(customerId)
+                ? ErrorCode.NOT_ENOUGH_BALANCE : ErrorCode.NOT_FOUND_USER));
+
+        return customerBalanceHistoryRepository.save(CustomerBalanceHistory.builder()
+            .changeMoney(form.getMoney())
+            .currentMoney(currentMoney)
+            .description(form.getMessage())
+            .fromMessage(form.getFrom())
+            .customer(customerRepository.getById(customerId))
+            .build());
+    }
+
+    /**
+     * 잔액 이력을 최신순으로 size 건 돌려준다. 한 건 더 읽어 다음 페이지가 있는지 판단하므로 전체 건수는 세지 않는다.
+     */
+    public BalanceHistoryPage getBalanceHistory(Long customerId, Long cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxHistoryPageSize));
+        List<BalanceHistoryDto> histories =
+            customerBalanceHistoryRepository.findHistories(customerId, cursor, pageSize + 1);
+        if (histories.size() <= pageSize) {
+            return new BalanceHistoryPage(histories, null);
+        }
+        histories = histories.subList(0, pageSize);
+        return new BalanceHistoryPage(histories, histories.get(pageSize - 1).getId());
+    }
 }
@@ -1,12 +1,16 @@
 package com.zerobase.cms.user.service.customer;
 
-import com.zerobase.cms.user.client.MailgunClient;
 import com.zerobase.cms.user.client.mailgun.SendMailForm;
 import com.zerobase.cms.user.domain.model.Customer;
 import com.zerobase.cms.user.domain.repository.CustomerRepository;
 import com.zerobase.cms.user.exception.CustomException;
 import com.zerobase.cms.user.exception.ErrorCode;
+import com.zerobase.cms.user.service.mail.MailDispatcher;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
@@ -14,9 +18,12 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class EmailService {
 
-    private final MailgunClient mailgunClient;
+    private final MailDispatcher mailDispatcher;
     private final CustomerRepository customerRepository;
 
+    @Value("${mail.dispatch.send-timeout-millis:10000}")
+    private long sendTimeoutMillis = 10000;
+
     public ResponseEntity<String> sendEmail(Long id, SendMailForm form) {
         Customer customer = customerRepository.findById(id)
             .orElseThrow(() -> new CustomException(ErrorCode.NOT_FOUND_USER));
@@ -25,6 +32,20 @@ public class EmailService {
             throw new CustomException(ErrorCode.WRONG_EMAIL_ADDRESS);
         }
 
-        return mailgunClient.sendEmail(form);
+        // 다른 메일과 함께 batch 로 보내고, 호출한 쪽이 실패를 알고 다시 보낼 수 있도록 발송이 끝날 때까지 기다린다.
+        // 기다리는 시간은 sendTimeoutMillis 로 제한한다.
+        try {
+            return ResponseEntity.ok(mailDispatcher.dispatch(form).get(sendTimeoutMillis, TimeUnit.MILLISECONDS));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new CustomException(ErrorCode.MAIL_SEND_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomException(ErrorCode.MAIL_SEND_TIMEOUT);
+        }
     }
 }
@@ -1,10 +1,12 @@
 package com.zerobase.cms.user.service.customer;
 
+import com.zerobase.cms.user.config.filter.PrincipalCache;
 import com.zerobase.cms.user.domain.SignUpForm;
 import com.zerobase.cms.user.domain.model.Customer;
 import com.zerobase.cms.user.domain.repository.CustomerRepository;
 import com.zerobase.cms.user.exception.CustomException;
 import com.zerobase.cms.user.exception.ErrorCode;
+import com.zerobase.domain.common.UserType;
 import java.time.LocalDateTime;
 import java.util.Locale;
 import java.util.Optional;
@@ -17,6 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class SignUpCustomerService {
 
     private final CustomerRepository customerRepository;
+    private final PrincipalCache principalCache;
 
     public Customer signUp(SignUpForm form) {
         return customerRepository.save(Customer.from(form));
@@ -39,6 +42,7 @@ public class SignUpCustomerService {
             throw new CustomException(ErrorCode.EXPIRE_CODE);
         }
         customer.setVerify(true);
+        principalCache.invalidate(UserType.CUSTOMER, customer.getId());
         customerRepository.save(customer);
     }
 
@@ -50,6 +54,7 @@ public class SignUpCustomerService {
             Customer customer = customerOptional.get();
             customer.setVerificationCode(verificationCode);
             customer.setVerifyExpiredAt(LocalDateTime.now().plusDays(1));
+            principalCache.invalidate(UserType.CUSTOMER, customer.getId());
             return customer.getVerifyExpiredAt();
         }
         throw new CustomException(ErrorCode.NOT_FOUND_USER);
@@ -0,0 +1,255 @@
+package com.zerobase.cms.user.service.mail;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.cms.user.client.MailgunClient;
+import com.zerobase.cms.user.client.mailgun.SendMailForm;
+import com.zerobase.cms.user.exception.CustomException;
+import com.zerobase.cms.user.exception.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * 짧은 시간 안에 들어온 메일을 모아 Mailgun batch 발송 한 번으로 보낸다.
+ * 보내는 사람과 제목이 같은 메일끼리 묶고, 본문은 recipient-variables 로 받는 사람마다 따로 넣는다.
+ * recipient-variables 는 주소별로 하나뿐이므로 같은 주소로 가는 메일은 서로 다른 batch 로 나눈다.
+ * <p>
+ * 대기열에서 묶는 일은 스레드 하나가 하고, 묶인 발송은 workers 개의 스레드가 동시에 Mailgun 을 호출한다.
+ * 발송 대기가 workers * 4 개를 넘으면 묶는 스레드가 직접 보내 대기열이 더 쌓이지 않게 한다.
+ * mail.dispatch.virtual-threads=true 이면 두 종류의 스레드 모두 가상 스레드로 만든다. 가상 스레드는 carrier 를 양보하기
+ * 전까지 계속 돌기 때문에, 요청 처리도 가상 스레드로 하면 이 몇 개 안 되는 스레드가 수백 개의 요청 뒤에서 차례를 기다리다
+ * 대기열이 가득 찬다(benchmarks/results/load-signup.csv 의 virtual-mail-virtual). 그래서 기본값은 OS 가 시간을 나눠 주는
+ * 플랫폼 스레드이고, Mailgun 호출은 어느 쪽이든 같은 Feign client 를 거친다.
+ */
+@Slf4j
+@Component
+public class MailDispatcher {
+
+    private static final String RECIPIENT_TEXT = "%recipient.text%";
+    private static final long POLL_MILLIS = 100;
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final MailgunClient mailgunClient;
+    private final BlockingQueue<PendingMail> queue;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Thread collector;
+    private final ThreadPoolExecutor senders;
+    private volatile boolean running = true;
+
+    private final Timer batchTimer;
+    private final LongAdder messageCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+
+    @Autowired
+    public MailDispatcher(MailgunClient mailgunClient, MeterRegistry meterRegistry,
+        @Value("${mail.dispatch.queue-capacity:10000}") int queueCapacity,
+        @Value("${mail.dispatch.window-millis:50}") long windowMillis,
+        @Value("${mail.dispatch.max-batch-size:500}") int maxBatchSize,
+        @Value("${mail.dispatch.workers:8}") int workers,
+        @Value("${mail.dispatch.virtual-threads:false}") boolean virtualThreads) {
+        this.mailgunClient = mailgunClient;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.maxBatchSize = maxBatchSize;
+        // 한 번의 Mailgun 호출이 한 묶음이다. 느린 호출을 보려면 평균이 아닌 분포가 필요해 히스토그램을 함께 내보낸다.
+        this.batchTimer = Timer.builder("mail.dispatch.batches")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        // 발송 스레드 수가 Mailgun 으로 동시에 나가는 호출 수의 상한이므로 가상 스레드에서도 풀로 묶어 둔다.
+        ThreadFactory senderFactory = virtualThreads
+            ? Thread.ofVirtual().name("mail-sender-", 0).factory()
+            : Thread.ofPlatform().name("mail-sender-", 0).daemon().factory();
+        this.senders = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(workers * 4), senderFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.collector = virtualThreads
+            ? Thread.ofVirtual().name("mail-dispatcher").unstarted(this::run)
+            : Thread.ofPlatform().name("mail-dispatcher").daemon().unstarted(this::run);
+        this.collector.start();
+    }
+
+    /**
+     * 메일을 발송 대기열에 넣는다. 반환값은 Mailgun 응답 본문으로 완료되며, 발송에 실패하면 그 예외로 완료된다.
+     */
+    public CompletableFuture<String> dispatch(SendMailForm form) {
+        PendingMail mail = new PendingMail(form);
+        if (!running || !queue.offer(mail)) {
+            throw new CustomException(ErrorCode.MAIL_QUEUE_FULL);
+        }
+        return mail.result;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getBatchCount() {
+        return batchTimer.count();
+    }
+
+    public long getMessageCount() {
+        return messageCount.sum();
+    }
+
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    // 남은 메일을 모두 보낸 뒤 종료한다.
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        collector.join(TimeUnit.SECONDS.toMillis(30));
+        senders.shutdown();
+        senders.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private void run() {
+        List<PendingMail> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingMail first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingMail next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                submit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                submit(batch);
+                return;
+            } catch (RuntimeException e) {
+                log.error("mail dispatch error", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void submit(List<PendingMail> batch) {
+        for (List<PendingMail> group : group(batch)) {
+            senders.execute(() -> send(group));
+        }
+    }
+
+    // 지표를 먼저 기록한 뒤 결과를 알려 기다리던 쪽이 반영된 지표를 보게 한다.
+    private void send(List<PendingMail> group) {
+        long start = System.nanoTime();
+        String body = null;
+        RuntimeException failure = null;
+        try {
+            ResponseEntity<String> response = group.size() == 1
+                ? mailgunClient.sendEmail(group.get(0).form)
+                : mailgunClient.sendBatchEmail(toBatchForm(group));
+            body = response == null ? null : response.getBody();
+            messageCount.add(group.size());
+        } catch (RuntimeException e) {
+            log.warn("mail send fail. recipients={}", group.size(), e);
+            failureCount.add(group.size());
+            failure = e;
+        }
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        for (PendingMail mail : group) {
+            if (failure == null) {
+                mail.result.complete(body);
+            } else {
+                mail.result.completeExceptionally(failure);
+            }
+        }
+    }
+
+    static List<List<PendingMail>> group(List<PendingMail> batch) {
+        Map<String, List<Group>> groupsByHeader = new LinkedHashMap<>();
+        for (PendingMail mail : batch) {
+            List<Group> groups = groupsByHeader.computeIfAbsent(
+                mail.form.getFrom() + "\n" + mail.form.getSubject(), key -> new ArrayList<>());
+            Group target = null;
+            for (Group group : groups) {
+                if (!group.recipients.contains(mail.form.getTo())) {
+                    target = group;
+                    break;
+                }
+            }
+            if (target == null) {
+                target = new Group();
+                groups.add(target);
+            }
+            target.recipients.add(mail.form.getTo());
+            target.mails.add(mail);
+        }
+
+        List<List<PendingMail>> result = new ArrayList<>();
+        for (List<Group> groups : groupsByHeader.values()) {
+            for (Group group : groups) {
+                result.add(group.mails);
+            }
+        }
+        return result;
+    }
+
+    static Map<String, Object> toBatchForm(List<PendingMail> group) {
+        List<String> to = new ArrayList<>(group.size());
+        Map<String, Map<String, String>> variables = new LinkedHashMap<>();
+        for (PendingMail mail : group) {
+            to.add(mail.form.getTo());
+            variables.put(mail.form.getTo(), Collections.singletonMap("text", mail.form.getText()));
+        }
+
+        Map<String, Object> form = new LinkedHashMap<>();
+        form.put("from", group.get(0).form.getFrom());
+        form.put("to", to);
+        form.put("subject", group.get(0).form.getSubject());
+        form.put("text", RECIPIENT_TEXT);
+        try {
+            form.put("recipient-variables", mapper.writeValueAsString(variables));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        return form;
+    }
+
+    static class PendingMail {
+        private final SendMailForm form;
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+
+        PendingMail(SendMailForm form) {
+            this.form = form;
+        }
+    }
+
+    private static class Group {
+        private final Set<String> recipients = new HashSet<>();
+        private final List<PendingMail> mails = new ArrayList<>();
+    }
+}
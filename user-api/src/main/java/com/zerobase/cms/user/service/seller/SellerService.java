@@ -1,10 +1,12 @@
 package com.zerobase.cms.user.service.seller;
 
+import com.zerobase.cms.user.config.filter.PrincipalCache;
 import com.zerobase.cms.user.domain.SignUpForm;
 import com.zerobase.cms.user.domain.model.Seller;
 import com.zerobase.cms.user.domain.repository.SellerRepository;
 import com.zerobase.cms.user.exception.CustomException;
 import com.zerobase.cms.user.exception.ErrorCode;
+import com.zerobase.domain.common.UserType;
 import java.time.LocalDateTime;
 import java.util.Locale;
 import java.util.Optional;
@@ -17,6 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class SellerService {
 
     private final SellerRepository sellerRepository;
+    private final PrincipalCache principalCache;
 
     public Optional<Seller> findByIdAndEmail(Long id, String email){
         return sellerRepository.findById(id)
@@ -51,6 +54,7 @@ public class SellerService {
             throw new CustomException(ErrorCode.EXPIRE_CODE);
         }
         seller.setVerify(true);
+        principalCache.invalidate(UserType.SELLER, seller.getId());
         sellerRepository.save(seller);
     }
 
@@ -62,6 +66,7 @@ public class SellerService {
             Seller seller = sellerOptional.get();
             seller.setVerificationCode(verificationCode);
             seller.setVerifyExpiredAt(LocalDateTime.now().plusDays(1));
+            principalCache.invalidate(UserType.SELLER, seller.getId());
             return seller.getVerifyExpiredAt();
         }
         throw new CustomException(ErrorCode.NOT_FOUND_USER);
@@ -2,28 +2,33 @@ package com.zerobase.cms.user.application;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
 
-import com.zerobase.cms.user.client.MailgunClient;
 import com.zerobase.cms.user.domain.SignUpForm;
 import com.zerobase.cms.user.domain.model.Customer;
 import com.zerobase.cms.user.domain.model.Seller;
 import com.zerobase.cms.user.exception.CustomException;
 import com.zerobase.cms.user.exception.ErrorCode;
 import com.zerobase.cms.user.service.customer.SignUpCustomerService;
+import com.zerobase.cms.user.service.mail.MailDispatcher;
 import com.zerobase.cms.user.service.seller.SellerService;
 import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
 class SignUpApplicationTest {
 
     @Mock
-    private MailgunClient mailgunClient;
+    private MailDispatcher mailDispatcher;
 
     @Mock
     private SignUpCustomerService signUpCustomerService;
@@ -31,6 +36,9 @@ class SignUpApplicationTest {
     @Mock
     private SellerService sellerService;
 
+    @Spy
+    private SignUpValidator signUpValidator = new SignUpValidator();
+
     @InjectMocks
     private SignUpApplication signUpApplication;
 
@@ -46,6 +54,8 @@ class SignUpApplicationTest {
 
         given(signUpCustomerService.signUp(form))
             .willReturn(Customer.from(form));
+        given(mailDispatcher.dispatch(any()))
+            .willReturn(CompletableFuture.completedFuture("queued"));
 
         assertEquals(signUpApplication.customerSignUp(form), "회원 가입에 성공하였습니다.");
     }
@@ -133,10 +143,33 @@ class SignUpApplicationTest {
 
         given(sellerService.signUp(form))
             .willReturn(Seller.from(form));
+        given(mailDispatcher.dispatch(any()))
+            .willReturn(CompletableFuture.completedFuture("queued"));
 
         assertEquals(signUpApplication.sellerSignUp(form), "회원 가입에 성공하였습니다.");
     }
 
+    @Test
+    void signUpSucceedsWhenVerificationMailFails() {
+        SignUpForm form = SignUpForm.builder()
+            .birth(LocalDate.now())
+            .email("zerobase@naver.com")
+            .name("name")
+            .password("a123456@#")
+            .phone("01011112222")
+            .build();
+        CompletableFuture<String> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("mailgun down"));
+
+        given(signUpCustomerService.signUp(form))
+            .willReturn(Customer.from(form));
+        given(mailDispatcher.dispatch(any()))
+            .willReturn(failed);
+
+        assertEquals(signUpApplication.customerSignUp(form), "회원 가입에 성공하였습니다.");
+        verify(signUpCustomerService).changeCustomerValidateEmail(any(), anyString());
+    }
+
     @Test
     void sellerSignUpFail_ALREADY_REGISTER_USER() {
         SignUpForm form = SignUpForm.builder()
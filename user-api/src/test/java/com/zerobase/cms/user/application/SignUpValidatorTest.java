@@ -0,0 +1,113 @@
+package com.zerobase.cms.user.application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+class SignUpValidatorTest {
+
+    // 이전에 쓰던 정규식. 짧은 입력에서 결과가 같은지 비교하는 데만 쓴다.
+    private static final Pattern EMAIL = Pattern.compile("^[_a-z0-9-]+(.[_a-z0-9-]+)*@(?:\\w+\\.)+\\w+$");
+    private static final Pattern PHONE = Pattern.compile("^[0-9]*$");
+    private static final Pattern PASSWORD = Pattern.compile(
+        "^(?=.*[A-Za-z])(?=.*\\d)(?=.*[$@$!%*#?&])[A-Za-z\\d$@$!%*#?&]{8,}$");
+
+    private static final String EMAIL_ALPHABET = "az09_-.@A!\n 😀";
+    private static final String PHONE_ALPHABET = "019a ";
+    private static final String PASSWORD_ALPHABET = "aZ09$@!%*#?&-. \n";
+
+    private final SignUpValidator validator = new SignUpValidator();
+
+    @Test
+    void email() {
+        assertTrue(validator.isValidEmail("zerobase@naver.com"));
+        assertTrue(validator.isValidEmail("zero.base-1_2@mail.naver.co.kr"));
+        assertTrue(validator.isValidEmail("a@b@c.d"));
+        assertFalse(validator.isValidEmail("Zerobase@naver.com"));
+        assertFalse(validator.isValidEmail("zerobase@naver"));
+        assertFalse(validator.isValidEmail("zerobase@naver..com"));
+        assertFalse(validator.isValidEmail("zero..base@naver.com"));
+        assertFalse(validator.isValidEmail("@naver.com"));
+        assertFalse(validator.isValidEmail(null));
+    }
+
+    @Test
+    void phone() {
+        assertTrue(validator.isValidPhone("01011112222"));
+        assertTrue(validator.isValidPhone("12345"));
+        assertFalse(validator.isValidPhone("1234"));
+        assertFalse(validator.isValidPhone("010111122223"));
+        assertFalse(validator.isValidPhone("010-1111-22"));
+        assertFalse(validator.isValidPhone(null));
+    }
+
+    @Test
+    void password() {
+        assertTrue(validator.isValidPassword("a123456@#"));
+        assertFalse(validator.isValidPassword("a12345@"));
+        assertFalse(validator.isValidPassword("abcdefg@#"));
+        assertFalse(validator.isValidPassword("a1234567"));
+        assertFalse(validator.isValidPassword("a123456@#\n"));
+        assertFalse(validator.isValidPassword(null));
+    }
+
+    @Test
+    void sameResultAsRegex() {
+        Random random = new Random(17);
+        for (int i = 0; i < 200_000; i++) {
+            String email = randomString(random, EMAIL_ALPHABET, 10);
+            assertEquals(EMAIL.matcher(email).matches(), validator.isValidEmail(email), email);
+
+            String phone = randomString(random, PHONE_ALPHABET, 13);
+            boolean phoneExpected = phone.length() >= 5 && phone.length() <= 11 && PHONE.matcher(phone).matches();
+            assertEquals(phoneExpected, validator.isValidPhone(phone), phone);
+
+            String password = randomString(random, PASSWORD_ALPHABET, 12);
+            assertEquals(PASSWORD.matcher(password).matches(), validator.isValidPassword(password), password);
+        }
+    }
+
+    // 정규식으로는 역추적이 길어지거나 StackOverflowError 가 나는 입력
+    @Test
+    void adversarialInputFinishesInLinearTime() {
+        String[] emails = {
+            "a".repeat(100_000) + "!",
+            "a@" + "a".repeat(100_000) + "!",
+            "a@" + "a.".repeat(100_000) + "!",
+            "a!".repeat(100_000) + "@naver.com",
+            "a@".repeat(100_000) + "naver..com",
+        };
+        String[] passwords = {
+            "1".repeat(100_000) + "\n",
+            "a1".repeat(100_000),
+            "@".repeat(100_000) + "a",
+        };
+
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            for (String email : emails) {
+                assertFalse(validator.isValidEmail(email));
+            }
+            for (String password : passwords) {
+                assertFalse(validator.isValidPassword(password));
+            }
+            assertFalse(validator.isValidPhone("1".repeat(100_000)));
+            assertTrue(validator.isValidEmail("a.".repeat(100_000) + "a@" + "b.".repeat(100_000) + "c"));
+        });
+    }
+
+    private static String randomString(Random random, String alphabet, int maxLength) {
+        int[] codePoints = alphabet.codePoints().toArray();
+        int length = random.nextInt(maxLength + 1);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.appendCodePoint(codePoints[random.nextInt(codePoints.length)]);
+        }
+        return builder.toString();
+    }
+}
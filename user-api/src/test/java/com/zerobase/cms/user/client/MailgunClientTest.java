@@ -0,0 +1,107 @@
+package com.zerobase.cms.user.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpServer;
+import com.zerobase.cms.user.client.mailgun.SendMailForm;
+import com.zerobase.cms.user.config.FeignConfig;
+import feign.Feign;
+import feign.Logger;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.http.converter.StringHttpMessageConverter;
+
+// 로컬 stub 서버로 batch 요청 형식과 keep-alive 연결 재사용을 확인한다.
+class MailgunClientTest {
+
+    private HttpServer server;
+    private final List<String> bodies = new CopyOnWriteArrayList<>();
+    private final Set<Integer> clientPorts = Collections.synchronizedSet(new HashSet<>());
+    private MailgunClient mailgunClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            bodies.add(exchange.getRequestURI().getRawQuery() + "|"
+                + new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            byte[] response = "{\"message\":\"Queued\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test",
+            Collections.singletonMap("mailgun.api.domain", "test.zerobase.com")));
+        context.refresh();
+        SpringMvcContract contract = new SpringMvcContract();
+        contract.setResourceLoader(context);
+
+        HttpMessageConverters converters = new HttpMessageConverters(new StringHttpMessageConverter());
+        FeignConfig feignConfig = new FeignConfig();
+        mailgunClient = Feign.builder()
+            .client(feignConfig.feignClient(feignConfig.okHttpClient(5, 60000)))
+            .contract(contract)
+            .encoder(new SpringEncoder(() -> converters))
+            .decoder(new ResponseEntityDecoder(new SpringDecoder(() -> converters)))
+            .logLevel(Logger.Level.NONE)
+            .target(MailgunClient.class, "http://127.0.0.1:" + server.getAddress().getPort() + "/v3/");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void sendBatchEmailOverPooledConnection() {
+        Map<String, Object> form = new LinkedHashMap<>();
+        form.put("from", "yjjjwww@naver.com");
+        form.put("to", Arrays.asList("a@zerobase.com", "b@zerobase.com"));
+        form.put("subject", "Verification Email!");
+        form.put("text", "%recipient.text%");
+        form.put("recipient-variables", "{\"a@zerobase.com\":{\"text\":\"a\"},\"b@zerobase.com\":{\"text\":\"b\"}}");
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("{\"message\":\"Queued\"}", mailgunClient.sendBatchEmail(form).getBody());
+        }
+        mailgunClient.sendEmail(SendMailForm.builder()
+            .from("yjjjwww@naver.com")
+            .to("a@zerobase.com")
+            .subject("subject")
+            .text("text")
+            .build());
+
+        String body = URLDecoder.decode(bodies.get(0), StandardCharsets.UTF_8);
+        assertTrue(body.contains("to=a@zerobase.com&to=b@zerobase.com"), body);
+        assertTrue(body.contains("recipient-variables={\"a@zerobase.com\""), body);
+        assertTrue(body.contains("text=%recipient.text%"), body);
+        assertTrue(URLDecoder.decode(bodies.get(3), StandardCharsets.UTF_8).contains("to=a@zerobase.com"));
+        assertEquals(1, clientPorts.size());
+    }
+}
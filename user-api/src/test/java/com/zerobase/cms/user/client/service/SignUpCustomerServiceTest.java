@@ -9,6 +9,7 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import com.zerobase.cms.user.config.filter.PrincipalCache;
 import com.zerobase.cms.user.domain.SignUpForm;
 import com.zerobase.cms.user.domain.model.Customer;
 import com.zerobase.cms.user.domain.repository.CustomerRepository;
@@ -32,6 +33,9 @@ class SignUpCustomerServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private PrincipalCache principalCache;
+
     @InjectMocks
     private SignUpCustomerService signUpCustomerService;
 
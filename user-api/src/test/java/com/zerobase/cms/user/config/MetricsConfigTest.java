@@ -0,0 +1,46 @@
+package com.zerobase.cms.user.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.BDDMockito.given;
+
+import com.zerobase.cms.user.config.filter.PrincipalCache;
+import com.zerobase.cms.user.service.customer.BalanceIdempotencyCache;
+import com.zerobase.cms.user.service.mail.MailDispatcher;
+import com.zerobase.domain.config.JwtAuthenticationProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class MetricsConfigTest {
+
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private BalanceIdempotencyCache balanceIdempotencyCache;
+
+    @Mock
+    private MailDispatcher mailDispatcher;
+
+    @Test
+    void counterMetrics() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        given(principalCache.getHitCount()).willReturn(4L);
+        given(balanceIdempotencyCache.getReplayCount()).willReturn(2L);
+        given(mailDispatcher.getMessageCount()).willReturn(3L);
+        given(mailDispatcher.getQueueDepth()).willReturn(7);
+
+        new MetricsConfig().counterMetrics(meterRegistry, principalCache, balanceIdempotencyCache, mailDispatcher,
+            new JwtAuthenticationProvider()).afterSingletonsInstantiated();
+
+        assertEquals(4, meterRegistry.get("cache.gets")
+            .tags("cache", "principal", "result", "hit").functionCounter().count());
+        assertEquals(2, meterRegistry.get("balance.idempotency.replays").functionCounter().count());
+        assertEquals(3, meterRegistry.get("mail.dispatch.messages").functionCounter().count());
+        assertEquals(7, meterRegistry.get("mail.dispatch.queue").gauge().value());
+    }
+}
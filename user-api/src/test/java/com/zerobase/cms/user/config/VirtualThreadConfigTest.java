@@ -0,0 +1,24 @@
+package com.zerobase.cms.user.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.coyote.http11.Http11NioProtocol;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadConfigTest {
+
+    @Test
+    void runRequestsOnVirtualThreads() throws Exception {
+        Http11NioProtocol protocol = new Http11NioProtocol();
+        new VirtualThreadConfig().virtualThreadExecutorCustomizer().customize(protocol);
+
+        CompletableFuture<Thread> thread = new CompletableFuture<>();
+        protocol.getExecutor().execute(() -> thread.complete(Thread.currentThread()));
+
+        assertTrue(thread.get(1, TimeUnit.SECONDS).isVirtual());
+        assertEquals("tomcat-handler-0", thread.get().getName());
+    }
+}
@@ -0,0 +1,72 @@
+package com.zerobase.cms.user.config.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.zerobase.cms.user.domain.model.Customer;
+import com.zerobase.cms.user.service.customer.CustomerService;
+import com.zerobase.domain.common.UserType;
+import com.zerobase.domain.common.UserVo;
+import com.zerobase.domain.config.JwtAuthenticationProvider;
+import java.util.Optional;
+import javax.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+@ExtendWith(MockitoExtension.class)
+class CustomFilterTest {
+
+    @Mock
+    private CustomerService customerService;
+
+    private final JwtAuthenticationProvider provider = new JwtAuthenticationProvider();
+
+    private CustomFilter customFilter;
+
+    @BeforeEach
+    void setUp() {
+        customFilter = new CustomFilter(provider, customerService, new PrincipalCache(10, 30000));
+    }
+
+    @Test
+    void lookUpCustomerOnceWithinTtl() throws Exception {
+        String token = provider.createToken("zerobase@naver.com", 1L, UserType.CUSTOMER);
+        given(customerService.findByIdAndEmail(1L, "zerobase@naver.com"))
+            .willReturn(Optional.of(Customer.builder().id(1L).email("zerobase@naver.com").build()));
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = request(token);
+            customFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+            UserVo vo = (UserVo) request.getAttribute(PrincipalCache.USER_VO_ATTRIBUTE);
+            assertEquals(1L, vo.getId());
+            assertEquals("zerobase@naver.com", vo.getEmail());
+        }
+        verify(customerService, times(1)).findByIdAndEmail(1L, "zerobase@naver.com");
+    }
+
+    @Test
+    void rejectUnknownCustomer() {
+        String token = provider.createToken("zerobase@naver.com", 1L, UserType.CUSTOMER);
+        given(customerService.findByIdAndEmail(1L, "zerobase@naver.com"))
+            .willReturn(Optional.empty());
+
+        assertThrows(ServletException.class,
+            () -> customFilter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain()));
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/customer/getInfo");
+        request.addHeader("X-AUTH-TOKEN", token);
+        return request;
+    }
+}
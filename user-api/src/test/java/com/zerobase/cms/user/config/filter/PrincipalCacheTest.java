@@ -0,0 +1,79 @@
+package com.zerobase.cms.user.config.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.zerobase.domain.common.UserType;
+import com.zerobase.domain.common.UserVo;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class PrincipalCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final UserVo vo = new UserVo(1L, "zerobase@naver.com");
+
+    @Test
+    void expireAfterTtl() {
+        PrincipalCache cache = new PrincipalCache(10, 1000, now::get);
+        cache.put(UserType.CUSTOMER, vo);
+
+        now.set(999);
+        assertTrue(cache.contains(UserType.CUSTOMER, vo));
+        now.set(1000);
+        assertFalse(cache.contains(UserType.CUSTOMER, vo));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void separateByUserTypeAndEmail() {
+        PrincipalCache cache = new PrincipalCache(10, 1000, now::get);
+        cache.put(UserType.CUSTOMER, vo);
+
+        assertFalse(cache.contains(UserType.SELLER, vo));
+        assertFalse(cache.contains(UserType.CUSTOMER, new UserVo(1L, "other@naver.com")));
+    }
+
+    @Test
+    void invalidate() {
+        PrincipalCache cache = new PrincipalCache(10, 1000, now::get);
+        cache.put(UserType.CUSTOMER, vo);
+
+        cache.invalidate(UserType.CUSTOMER, 1L);
+
+        assertFalse(cache.contains(UserType.CUSTOMER, vo));
+    }
+
+    @Test
+    void evictWhenFull() {
+        PrincipalCache cache = new PrincipalCache(2, 1000, now::get);
+        cache.put(UserType.CUSTOMER, new UserVo(1L, "a@naver.com"));
+        now.set(500);
+        cache.put(UserType.CUSTOMER, new UserVo(2L, "b@naver.com"));
+        now.set(1200);
+        cache.put(UserType.CUSTOMER, new UserVo(3L, "c@naver.com"));
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.contains(UserType.CUSTOMER, new UserVo(2L, "b@naver.com")));
+    }
+
+    @Test
+    void evictLeastRecentlyUsedOnly() {
+        PrincipalCache cache = new PrincipalCache(2, 1000, now::get);
+        UserVo first = new UserVo(1L, "a@naver.com");
+        UserVo second = new UserVo(2L, "b@naver.com");
+        UserVo third = new UserVo(3L, "c@naver.com");
+        cache.put(UserType.CUSTOMER, first);
+        cache.put(UserType.CUSTOMER, second);
+        assertTrue(cache.contains(UserType.CUSTOMER, first));
+
+        cache.put(UserType.CUSTOMER, third);
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.contains(UserType.CUSTOMER, first));
+        assertFalse(cache.contains(UserType.CUSTOMER, second));
+        assertTrue(cache.contains(UserType.CUSTOMER, third));
+    }
+}
@@ -4,7 +4,10 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -12,13 +15,15 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.cms.user.config.filter.PrincipalCache;
+import com.zerobase.cms.user.domain.customer.BalanceHistoryDto;
+import com.zerobase.cms.user.domain.customer.BalanceHistoryPage;
 import com.zerobase.cms.user.domain.customer.ChangeBalanceForm;
 import com.zerobase.cms.user.domain.model.Customer;
-import com.zerobase.cms.user.domain.model.CustomerBalanceHistory;
 import com.zerobase.cms.user.service.customer.CustomerBalanceService;
 import com.zerobase.cms.user.service.customer.CustomerService;
 import com.zerobase.domain.common.UserVo;
-import com.zerobase.domain.config.JwtAuthenticationProvider;
+import java.util.Collections;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,9 +38,6 @@ import org.springframework.test.web.servlet.MvcResult;
 @AutoConfigureMockMvc
 class CustomControllerTest {
 
-    @MockBean
-    private JwtAuthenticationProvider provider;
-
     @MockBean
     private CustomerService customerService;
 
@@ -56,14 +58,11 @@ class CustomControllerTest {
             .id(1L)
             .build();
 
-        given(provider.getUserVo(anyString()))
-            .willReturn(new UserVo(1L, "zerobase@naver.com"));
-
         given(customerService.findByIdAndEmail(anyLong(), anyString()))
             .willReturn(Optional.ofNullable(customer));
 
         mockMvc.perform(get("/customer/getInfo")
-                .header("X-AUTH-TOKEN", "token"))
+                .requestAttr(PrincipalCache.USER_VO_ATTRIBUTE, new UserVo(1L, "zerobase@naver.com")))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.email").value("zerobase@naver.com"))
             .andExpect(jsonPath("$.id").value(1L))
@@ -73,14 +72,11 @@ class CustomControllerTest {
     @Test
     void getInfoFail_NOT_FOUND_USER() throws Exception {
 
-        given(provider.getUserVo(anyString()))
-            .willReturn(new UserVo(1L, "zerobase@naver.com"));
-
         given(customerService.findByIdAndEmail(anyLong(), anyString()))
             .willReturn(Optional.empty());
 
         mockMvc.perform(get("/customer/getInfo")
-                .header("X-AUTH-TOKEN", "token"))
+                .requestAttr(PrincipalCache.USER_VO_ATTRIBUTE, new UserVo(1L, "zerobase@naver.com")))
             .andExpect(status().isBadRequest())
             .andExpect(jsonPath("$.errorCode").value("NOT_FOUND_USER"))
             .andExpect(jsonPath("$.message").value("일치하는 회원이 없습니다."))
@@ -89,16 +85,11 @@ class CustomControllerTest {
 
     @Test
     void changeBalance() throws Exception {
-        given(provider.getUserVo(anyString()))
-            .willReturn(new UserVo(1L, "zerobase@naver.com"));
-
-        given(customerBalanceService.changeBalance(anyLong(), any()))
-            .willReturn(CustomerBalanceHistory.builder()
-                .currentMoney(1000)
-                .build());
+        given(customerBalanceService.changeBalance(eq(1L), isNull(), any()))
+            .willReturn(1000);
 
         MvcResult result = mockMvc.perform(post("/customer/balance")
-                .header("X-AUTH-TOKEN", "token")
+                .requestAttr(PrincipalCache.USER_VO_ATTRIBUTE, new UserVo(1L, "zerobase@naver.com"))
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(
                     new ChangeBalanceForm("zerobase", "message", 1000)
@@ -109,4 +100,50 @@ class CustomControllerTest {
 
         assertEquals("1000", result.getResponse().getContentAsString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void reserveBalance() throws Exception {
+        given(customerBalanceService.changeBalance(eq(1L), eq("order-1"), any()))
+            .willReturn(7000);
+
+        mockMvc.perform(post("/customer/balance/reserve")
+                .requestAttr(PrincipalCache.USER_VO_ATTRIBUTE, new UserVo(1L, "zerobase@naver.com"))
+                .header("Idempotency-Key", "order-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    new ChangeBalanceForm("USER", "Order", -3000)
+                )))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(1L))
+            .andExpect(jsonPath("$.email").value("zerobase@naver.com"))
+            .andExpect(jsonPath("$.balance").value(7000))
+            .andDo(print());
+    }
+
+    @Test
+    void cancelBalance() throws Exception {
+        mockMvc.perform(post("/customer/balance/cancel")
+                .requestAttr(PrincipalCache.USER_VO_ATTRIBUTE, new UserVo(1L, "zerobase@naver.com"))
+                .header("Idempotency-Key", "order-1"))
+            .andExpect(status().isOk())
+            .andDo(print());
+
+        verify(customerBalanceService).cancelBalanceChange(1L, "order-1");
+    }
+
+    @Test
+    void getBalanceHistory() throws Exception {
+        given(customerBalanceService.getBalanceHistory(eq(1L), eq(50L), eq(20)))
+            .willReturn(new BalanceHistoryPage(Collections.singletonList(
+                new BalanceHistoryDto(49L, -3000, 7000, "USER", "Order", null)), 49L));
+
+        mockMvc.perform(get("/customer/balance/history")
+                .requestAttr(PrincipalCache.USER_VO_ATTRIBUTE, new UserVo(1L, "zerobase@naver.com"))
+                .param("cursor", "50"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.histories[0].id").value(49L))
+            .andExpect(jsonPath("$.histories[0].currentMoney").value(7000))
+            .andExpect(jsonPath("$.nextCursor").value(49L))
+            .andDo(print());
+    }
+}
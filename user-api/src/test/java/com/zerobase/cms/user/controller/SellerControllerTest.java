@@ -8,10 +8,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.zerobase.cms.user.config.filter.PrincipalCache;
 import com.zerobase.cms.user.domain.model.Seller;
 import com.zerobase.cms.user.service.seller.SellerService;
 import com.zerobase.domain.common.UserVo;
-import com.zerobase.domain.config.JwtAuthenticationProvider;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,9 +24,6 @@ import org.springframework.test.web.servlet.MockMvc;
 @AutoConfigureMockMvc
 class SellerControllerTest {
 
-    @MockBean
-    private JwtAuthenticationProvider provider;
-
     @MockBean
     private SellerService sellerService;
 
@@ -40,14 +37,11 @@ class SellerControllerTest {
             .id(1L)
             .build();
 
-        given(provider.getUserVo(anyString()))
-            .willReturn(new UserVo(1L, "zerobase@naver.com"));
-
         given(sellerService.findByIdAndEmail(anyLong(), anyString()))
             .willReturn(Optional.ofNullable(seller));
 
         mockMvc.perform(get("/seller/getInfo")
-                .header("X-AUTH-TOKEN", "token"))
+                .requestAttr(PrincipalCache.USER_VO_ATTRIBUTE, new UserVo(1L, "zerobase@naver.com")))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.email").value("zerobase@naver.com"))
             .andExpect(jsonPath("$.id").value(1L))
@@ -57,14 +51,11 @@ class SellerControllerTest {
     @Test
     void getInfoFail_NOT_FOUND_USER() throws Exception {
 
-        given(provider.getUserVo(anyString()))
-            .willReturn(new UserVo(1L, "zerobase@naver.com"));
-
         given(sellerService.findByIdAndEmail(anyLong(), anyString()))
             .willReturn(Optional.empty());
 
         mockMvc.perform(get("/seller/getInfo")
-                .header("X-AUTH-TOKEN", "token"))
+                .requestAttr(PrincipalCache.USER_VO_ATTRIBUTE, new UserVo(1L, "zerobase@naver.com")))
             .andExpect(status().isBadRequest())
             .andExpect(jsonPath("$.errorCode").value("NOT_FOUND_USER"))
             .andExpect(jsonPath("$.message").value("일치하는 회원이 없습니다."))
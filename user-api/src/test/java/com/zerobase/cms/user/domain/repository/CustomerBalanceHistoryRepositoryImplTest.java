@@ -0,0 +1,78 @@
+package com.zerobase.cms.user.domain.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.zerobase.cms.user.domain.customer.BalanceHistoryDto;
+import com.zerobase.cms.user.domain.model.CustomerBalanceHistory;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.Table;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class CustomerBalanceHistoryRepositoryImplTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private CustomerBalanceHistoryRepositoryImpl customerBalanceHistoryRepository;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:history;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        customerBalanceHistoryRepository = new CustomerBalanceHistoryRepositoryImpl(jdbcTemplate);
+
+        jdbcTemplate.execute("CREATE TABLE customer_balance_history (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+            + "customer_id BIGINT, change_money INT, current_money INT, from_message VARCHAR(255), "
+            + "description VARCHAR(255), created_at TIMESTAMP, modified_at TIMESTAMP)");
+        for (int i = 1; i <= 10; i++) {
+            // 두 회원의 이력을 번갈아 넣어 다른 회원의 이력이 섞이지 않는지 확인한다.
+            jdbcTemplate.update("INSERT INTO customer_balance_history "
+                + "(customer_id, change_money, current_money, from_message, description, created_at) "
+                + "VALUES (?, ?, ?, 'zerobase', 'charge', CURRENT_TIMESTAMP)", i % 2 + 1, 100, i * 100);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE customer_balance_history");
+    }
+
+    @Test
+    void findHistoriesByKeyset() {
+        List<BalanceHistoryDto> first = customerBalanceHistoryRepository.findHistories(1L, null, 3);
+        assertEquals(3, first.size());
+        assertEquals(1000, first.get(0).getCurrentMoney());
+        assertEquals(600, first.get(2).getCurrentMoney());
+        assertEquals("charge", first.get(0).getDescription());
+        assertTrue(first.get(0).getCreatedAt() != null);
+
+        List<BalanceHistoryDto> next = customerBalanceHistoryRepository.findHistories(1L, first.get(2).getId(), 3);
+        assertEquals(2, next.size());
+        assertEquals(400, next.get(0).getCurrentMoney());
+        assertEquals(200, next.get(1).getCurrentMoney());
+
+        assertTrue(customerBalanceHistoryRepository.findHistories(1L, next.get(1).getId(), 3).isEmpty());
+    }
+
+    @Test
+    void indexCoversSelectedColumns() {
+        String sql = (String) ReflectionTestUtils.getField(CustomerBalanceHistoryRepositoryImpl.class, "SELECT_SQL");
+        String columnList = CustomerBalanceHistory.class.getAnnotation(Table.class).indexes()[0].columnList();
+        List<String> indexColumns = new ArrayList<>();
+        for (String column : columnList.split(",\\s*")) {
+            // Spring 의 기본 naming strategy 와 같이 필드명을 snake_case 컬럼명으로 바꾼다.
+            indexColumns.add(column.replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase());
+        }
+
+        assertTrue(indexColumns.contains("customer_id"));
+        for (String column : sql.substring("SELECT ".length(), sql.indexOf(" FROM")).split(",\\s*")) {
+            assertTrue(indexColumns.contains(column), column);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.zerobase.cms.user.domain.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class CustomerBalanceIdempotencyRepositoryImplTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private CustomerBalanceIdempotencyRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:idempotency;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        repository = new CustomerBalanceIdempotencyRepositoryImpl(jdbcTemplate);
+
+        jdbcTemplate.execute("CREATE TABLE customer_balance_idempotency (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+            + "customer_id BIGINT NOT NULL, idempotency_key VARCHAR(255) NOT NULL, money INT, current_money INT, "
+            + "cancelled BOOLEAN NOT NULL, created_at TIMESTAMP, CONSTRAINT uk_customer_balance_idempotency_key UNIQUE (customer_id, idempotency_key))");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE customer_balance_idempotency");
+    }
+
+    @Test
+    void claimOncePerCustomerAndKey() {
+        assertTrue(repository.claim(1L, "order-1", -3000));
+        assertFalse(repository.claim(1L, "order-1", -3000));
+        assertTrue(repository.claim(2L, "order-1", -3000));
+
+        repository.complete(1L, "order-1", 7000);
+        assertEquals(7000, currentMoney(1L, "order-1"));
+
+        repository.release(1L, "order-1");
+        assertTrue(repository.claim(1L, "order-1", -3000));
+    }
+
+    @Test
+    void cancelCompletedClaimOnce() {
+        repository.claim(1L, "order-1", -3000);
+        assertFalse(repository.cancel(1L, "order-1"));
+
+        repository.complete(1L, "order-1", 7000);
+        assertTrue(repository.cancel(1L, "order-1"));
+        assertFalse(repository.cancel(1L, "order-1"));
+    }
+
+    @Test
+    void claimCancelledBlocksLateRequest() {
+        assertTrue(repository.claimCancelled(1L, "order-1"));
+        assertFalse(repository.claimCancelled(1L, "order-1"));
+
+        assertFalse(repository.claim(1L, "order-1", -3000));
+        assertFalse(repository.cancel(1L, "order-1"));
+    }
+
+    @Test
+    void waitForUncommittedClaim() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        try {
+            Future<?> first = executor.submit(() -> transactionTemplate.execute(status -> {
+                repository.claim(1L, "order-1", -3000);
+                claimed.countDown();
+                try {
+                    commit.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                repository.complete(1L, "order-1", 7000);
+                return null;
+            }));
+            claimed.await();
+
+            // 먼저 선점한 트랜잭션이 끝난 뒤에야 결과가 나오고, 그때는 완료된 결과를 읽을 수 있다.
+            new Thread(() -> {
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                commit.countDown();
+            }).start();
+            Boolean second = transactionTemplate.execute(status -> repository.claim(1L, "order-1", -3000));
+            first.get();
+
+            assertFalse(second);
+            assertEquals(7000, currentMoney(1L, "order-1"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int currentMoney(Long customerId, String idempotencyKey) {
+        return jdbcTemplate.queryForObject("SELECT current_money FROM customer_balance_idempotency "
+            + "WHERE customer_id = ? AND idempotency_key = ?", Integer.class, customerId, idempotencyKey);
+    }
+}
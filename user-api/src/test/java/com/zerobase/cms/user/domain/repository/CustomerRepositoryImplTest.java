@@ -0,0 +1,103 @@
+package com.zerobase.cms.user.domain.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class CustomerRepositoryImplTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private CustomerRepositoryImpl customerRepository;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:balance;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        customerRepository = new CustomerRepositoryImpl(jdbcTemplate);
+
+        jdbcTemplate.execute("CREATE TABLE customer (id BIGINT PRIMARY KEY, balance INT)");
+        jdbcTemplate.execute("CREATE TABLE customer_balance_history "
+            + "(id BIGINT AUTO_INCREMENT PRIMARY KEY, customer_id BIGINT, change_money INT, current_money INT)");
+        jdbcTemplate.update("INSERT INTO customer VALUES (1, 10000), (2, NULL)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE customer_balance_history");
+        jdbcTemplate.execute("DROP TABLE customer");
+    }
+
+    @Test
+    void changeBalance() {
+        assertEquals(Optional.of(7000), customerRepository.changeBalance(1L, -3000));
+        assertEquals(Optional.of(3000), customerRepository.changeBalance(2L, 3000));
+        assertFalse(customerRepository.changeBalance(1L, -8000).isPresent());
+        assertFalse(customerRepository.changeBalance(3L, 1000).isPresent());
+        assertEquals(7000, balance(1L));
+    }
+
+    @Test
+    void concurrentChangesKeepLedgerConsistent() throws Exception {
+        int requests = 400;
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            // 충전과 결제를 섞어 보내 잔액이 음수가 되거나 이력과 잔액이 어긋나지 않는지 확인한다.
+            int money = i % 4 == 0 ? 100 : -100;
+            results.add(executor.submit(() -> {
+                start.await();
+                return transactionTemplate.execute(status -> {
+                    Optional<Integer> currentMoney = customerRepository.changeBalance(1L, money);
+                    currentMoney.ifPresent(current -> jdbcTemplate.update(
+                        "INSERT INTO customer_balance_history (customer_id, change_money, current_money) VALUES (?, ?, ?)",
+                        1L, money, current));
+                    return currentMoney.isPresent();
+                });
+            }));
+        }
+        start.countDown();
+
+        int succeeded = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                succeeded++;
+            }
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        int histories = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM customer_balance_history WHERE customer_id = 1", Integer.class);
+        int changed = jdbcTemplate.queryForObject(
+            "SELECT SUM(change_money) FROM customer_balance_history WHERE customer_id = 1", Integer.class);
+        int lowest = jdbcTemplate.queryForObject(
+            "SELECT MIN(current_money) FROM customer_balance_history WHERE customer_id = 1", Integer.class);
+        assertEquals(succeeded, histories);
+        assertEquals(10000 + changed, balance(1L));
+        assertTrue(lowest >= 0);
+    }
+
+    private int balance(Long id) {
+        return jdbcTemplate.queryForObject("SELECT balance FROM customer WHERE id = ?", Integer.class, id);
+    }
+}
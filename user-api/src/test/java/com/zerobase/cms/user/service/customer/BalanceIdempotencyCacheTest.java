@@ -0,0 +1,131 @@
+package com.zerobase.cms.user.service.customer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.zerobase.cms.user.exception.CustomException;
+import com.zerobase.cms.user.exception.ErrorCode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class BalanceIdempotencyCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger executed = new AtomicInteger();
+
+    @Test
+    void replayReturnsStoredResult() {
+        BalanceIdempotencyCache cache = new BalanceIdempotencyCache(10, 1000, now::get);
+
+        assertEquals(7000, cache.execute(1L, "key", -3000, this::change));
+        assertEquals(7000, cache.execute(1L, "key", -3000, this::change));
+        assertEquals(7000, cache.execute(2L, "key", -3000, this::change));
+
+        assertEquals(2, executed.get());
+        assertEquals(1, cache.getReplayCount());
+    }
+
+    @Test
+    void runWithoutKey() {
+        BalanceIdempotencyCache cache = new BalanceIdempotencyCache(10, 1000, now::get);
+
+        cache.execute(1L, null, -3000, this::change);
+        cache.execute(1L, "", -3000, this::change);
+
+        assertEquals(2, executed.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void expireAfterTtl() {
+        BalanceIdempotencyCache cache = new BalanceIdempotencyCache(10, 1000, now::get);
+        cache.execute(1L, "key", -3000, this::change);
+
+        now.set(1000);
+        cache.execute(1L, "key", -3000, this::change);
+
+        assertEquals(2, executed.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void runAgainAfterInvalidate() {
+        BalanceIdempotencyCache cache = new BalanceIdempotencyCache(10, 1000, now::get);
+        cache.execute(1L, "key", -3000, this::change);
+
+        cache.invalidate(1L, "key");
+        cache.execute(1L, "key", -3000, this::change);
+
+        assertEquals(2, executed.get());
+    }
+
+    @Test
+    void rejectReusedKey() {
+        BalanceIdempotencyCache cache = new BalanceIdempotencyCache(10, 1000, now::get);
+        cache.execute(1L, "key", -3000, this::change);
+
+        CustomException exception = assertThrows(CustomException.class,
+            () -> cache.execute(1L, "key", -5000, this::change));
+
+        assertEquals(ErrorCode.IDEMPOTENCY_KEY_REUSED, exception.getErrorCode());
+        assertEquals(1, executed.get());
+    }
+
+    @Test
+    void doNotStoreFailure() {
+        BalanceIdempotencyCache cache = new BalanceIdempotencyCache(10, 1000, now::get);
+
+        assertThrows(CustomException.class, () -> cache.execute(1L, "key", -3000, () -> {
+            throw new CustomException(ErrorCode.NOT_ENOUGH_BALANCE);
+        }));
+
+        assertEquals(7000, cache.execute(1L, "key", -3000, this::change));
+        assertEquals(1, executed.get());
+    }
+
+    @Test
+    void concurrentRequestsRunOnce() throws Exception {
+        BalanceIdempotencyCache cache = new BalanceIdempotencyCache(10, 1000, now::get);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return cache.execute(1L, "key", -3000, () -> {
+                    sleep();
+                    return change();
+                });
+            }));
+        }
+        start.countDown();
+
+        for (Future<Integer> result : results) {
+            assertEquals(7000, result.get());
+        }
+        executor.shutdown();
+
+        assertEquals(1, executed.get());
+        assertEquals(63, cache.getReplayCount());
+    }
+
+    private Integer change() {
+        executed.incrementAndGet();
+        return 7000;
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
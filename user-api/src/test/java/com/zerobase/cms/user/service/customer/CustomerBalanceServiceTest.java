@@ -1,20 +1,30 @@
 package com.zerobase.cms.user.service.customer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
+import com.zerobase.cms.user.domain.customer.BalanceHistoryDto;
+import com.zerobase.cms.user.domain.customer.BalanceHistoryPage;
 import com.zerobase.cms.user.domain.customer.ChangeBalanceForm;
 import com.zerobase.cms.user.domain.model.Customer;
 import com.zerobase.cms.user.domain.model.CustomerBalanceHistory;
+import com.zerobase.cms.user.domain.model.CustomerBalanceIdempotency;
 import com.zerobase.cms.user.domain.repository.CustomerBalanceHistoryRepository;
+import com.zerobase.cms.user.domain.repository.CustomerBalanceIdempotencyRepository;
 import com.zerobase.cms.user.domain.repository.CustomerRepository;
 import com.zerobase.cms.user.exception.CustomException;
 import com.zerobase.cms.user.exception.ErrorCode;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,6 +32,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 class CustomerBalanceServiceTest {
@@ -32,6 +43,9 @@ class CustomerBalanceServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private CustomerBalanceIdempotencyRepository customerBalanceIdempotencyRepository;
+
     @InjectMocks
     private CustomerBalanceService customerBalanceService;
 
@@ -112,4 +126,237 @@ class CustomerBalanceServiceTest {
         assertEquals(ErrorCode.NOT_FOUND_USER, exception.getErrorCode());
         assertEquals("일치하는 회원이 없습니다.", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void changeBalanceByLedgerSuccess() {
+        ReflectionTestUtils.setField(customerBalanceService, "ledgerMode", true);
+        ChangeBalanceForm form = new ChangeBalanceForm("zerobase", "zerobase backend", -3000);
+        Customer customer = Customer.builder()
+            .id(1L)
+            .balance(7000)
+            .build();
+
+        given(customerRepository.changeBalance(1L, -3000))
+            .willReturn(Optional.of(7000));
+        given(customerRepository.getById(1L))
+            .willReturn(customer);
+        given(customerBalanceHistoryRepository.save(any()))
+            .willAnswer(invocation -> invocation.getArgument(0));
+
+        CustomerBalanceHistory history = customerBalanceService.changeBalance(1L, form);
+
+        assertEquals(7000, history.getCurrentMoney());
+        assertEquals(-3000, history.getChangeMoney());
+        assertEquals(customer, history.getCustomer());
+        verify(customerBalanceHistoryRepository, never()).findFirstByCustomer_IdOrderByIdDesc(anyLong());
+    }
+
+    @Test
+    void changeBalanceByLedgerFail_NOT_ENOUGH_BALANCE() {
+        ReflectionTestUtils.setField(customerBalanceService, "ledgerMode", true);
+        ChangeBalanceForm form = new ChangeBalanceForm("zerobase", "zerobase backend", -3000);
+
+        given(customerRepository.changeBalance(eq(1L), eq(-3000)))
+            .willReturn(Optional.empty());
+        given(customerRepository.existsById(1L))
+            .willReturn(true);
+
+        CustomException exception = assertThrows(CustomException.class,
+            () -> customerBalanceService.changeBalance(1L, form));
+
+        assertEquals(ErrorCode.NOT_ENOUGH_BALANCE, exception.getErrorCode());
+        verify(customerBalanceHistoryRepository, never()).save(any());
+    }
+
+    @Test
+    void changeBalanceByLedgerFail_NOT_FOUND_USER() {
+        ReflectionTestUtils.setField(customerBalanceService, "ledgerMode", true);
+        ChangeBalanceForm form = new ChangeBalanceForm("zerobase", "zerobase backend", 3000);
+
+        given(customerRepository.changeBalance(eq(1L), eq(3000)))
+            .willReturn(Optional.empty());
+        given(customerRepository.existsById(1L))
+            .willReturn(false);
+
+        CustomException exception = assertThrows(CustomException.class,
+            () -> customerBalanceService.changeBalance(1L, form));
+
+        assertEquals(ErrorCode.NOT_FOUND_USER, exception.getErrorCode());
+    }
+
+    @Test
+    void changeBalanceWithKeySavesResult() {
+        ReflectionTestUtils.setField(customerBalanceService, "ledgerMode", true);
+        ChangeBalanceForm form = new ChangeBalanceForm("USER", "Order", -3000);
+
+        given(customerBalanceIdempotencyRepository.claim(1L, "order-1", -3000))
+            .willReturn(true);
+        given(customerRepository.changeBalance(1L, -3000))
+            .willReturn(Optional.of(7000));
+        given(customerBalanceHistoryRepository.save(any()))
+            .willAnswer(invocation -> invocation.getArgument(0));
+
+        assertEquals(7000, customerBalanceService.changeBalance(1L, "order-1", form));
+        verify(customerBalanceIdempotencyRepository).complete(1L, "order-1", 7000);
+    }
+
+    @Test
+    void changeBalanceWithKeyReturnsStoredResult() {
+        ChangeBalanceForm form = new ChangeBalanceForm("USER", "Order", -3000);
+
+        given(customerBalanceIdempotencyRepository.claim(1L, "order-1", -3000))
+            .willReturn(false);
+        given(customerBalanceIdempotencyRepository.findByCustomerIdAndIdempotencyKey(1L, "order-1"))
+            .willReturn(Optional.of(idempotency(-3000, 7000)));
+
+        assertEquals(7000, customerBalanceService.changeBalance(1L, "order-1", form));
+        verify(customerRepository, never()).changeBalance(anyLong(), anyInt());
+        verify(customerBalanceHistoryRepository, never()).save(any());
+    }
+
+    @Test
+    void changeBalanceWithKeyFail_IDEMPOTENCY_KEY_REUSED() {
+        ChangeBalanceForm form = new ChangeBalanceForm("USER", "Order", -5000);
+
+        given(customerBalanceIdempotencyRepository.claim(1L, "order-1", -5000))
+            .willReturn(false);
+        given(customerBalanceIdempotencyRepository.findByCustomerIdAndIdempotencyKey(1L, "order-1"))
+            .willReturn(Optional.of(idempotency(-3000, 7000)));
+
+        CustomException exception = assertThrows(CustomException.class,
+            () -> customerBalanceService.changeBalance(1L, "order-1", form));
+
+        assertEquals(ErrorCode.IDEMPOTENCY_KEY_REUSED, exception.getErrorCode());
+    }
+
+    @Test
+    void changeBalanceWithKeyReleasesKeyOnFailure() {
+        ReflectionTestUtils.setField(customerBalanceService, "ledgerMode", true);
+        ChangeBalanceForm form = new ChangeBalanceForm("USER", "Order", -3000);
+
+        given(customerBalanceIdempotencyRepository.claim(1L, "order-1", -3000))
+            .willReturn(true);
+        given(customerRepository.changeBalance(1L, -3000))
+            .willReturn(Optional.empty());
+        given(customerRepository.existsById(1L))
+            .willReturn(true);
+
+        CustomException exception = assertThrows(CustomException.class,
+            () -> customerBalanceService.changeBalance(1L, "order-1", form));
+
+        assertEquals(ErrorCode.NOT_ENOUGH_BALANCE, exception.getErrorCode());
+        verify(customerBalanceIdempotencyRepository).release(1L, "order-1");
+        verify(customerBalanceIdempotencyRepository, never()).complete(anyLong(), any(), anyInt());
+    }
+
+    @Test
+    void changeBalanceWithKeyFail_IDEMPOTENCY_KEY_CANCELLED() {
+        ChangeBalanceForm form = new ChangeBalanceForm("USER", "Order", -3000);
+
+        given(customerBalanceIdempotencyRepository.claim(1L, "order-1", -3000))
+            .willReturn(false);
+        given(customerBalanceIdempotencyRepository.findByCustomerIdAndIdempotencyKey(1L, "order-1"))
+            .willReturn(Optional.of(cancelled()));
+
+        CustomException exception = assertThrows(CustomException.class,
+            () -> customerBalanceService.changeBalance(1L, "order-1", form));
+
+        assertEquals(ErrorCode.IDEMPOTENCY_KEY_CANCELLED, exception.getErrorCode());
+        verify(customerRepository, never()).changeBalance(anyLong(), anyInt());
+    }
+
+    @Test
+    void cancelBalanceChangeRefundsOnce() {
+        ReflectionTestUtils.setField(customerBalanceService, "ledgerMode", true);
+
+        given(customerBalanceIdempotencyRepository.claimCancelled(1L, "order-1"))
+            .willReturn(false);
+        given(customerBalanceIdempotencyRepository.findByCustomerIdAndIdempotencyKey(1L, "order-1"))
+            .willReturn(Optional.of(idempotency(-3000, 7000)));
+        given(customerBalanceIdempotencyRepository.cancel(1L, "order-1"))
+            .willReturn(true);
+        given(customerRepository.changeBalance(1L, 3000))
+            .willReturn(Optional.of(10000));
+        given(customerBalanceHistoryRepository.save(any()))
+            .willAnswer(invocation -> invocation.getArgument(0));
+
+        customerBalanceService.cancelBalanceChange(1L, "order-1");
+
+        ArgumentCaptor<CustomerBalanceHistory> captor = ArgumentCaptor.forClass(CustomerBalanceHistory.class);
+        verify(customerBalanceHistoryRepository).save(captor.capture());
+        assertEquals(3000, captor.getValue().getChangeMoney());
+        assertEquals(10000, captor.getValue().getCurrentMoney());
+    }
+
+    @Test
+    void cancelBalanceChangeTwice() {
+        given(customerBalanceIdempotencyRepository.claimCancelled(1L, "order-1"))
+            .willReturn(false);
+        given(customerBalanceIdempotencyRepository.findByCustomerIdAndIdempotencyKey(1L, "order-1"))
+            .willReturn(Optional.of(cancelled()));
+
+        customerBalanceService.cancelBalanceChange(1L, "order-1");
+
+        verify(customerBalanceIdempotencyRepository, never()).cancel(anyLong(), any());
+        verify(customerBalanceHistoryRepository, never()).save(any());
+    }
+
+    @Test
+    void cancelBalanceChangeBeforeRequestArrives() {
+        given(customerBalanceIdempotencyRepository.claimCancelled(1L, "order-1"))
+            .willReturn(true);
+
+        customerBalanceService.cancelBalanceChange(1L, "order-1");
+
+        verify(customerBalanceIdempotencyRepository, never()).findByCustomerIdAndIdempotencyKey(anyLong(), any());
+        verify(customerBalanceHistoryRepository, never()).save(any());
+    }
+
+    @Test
+    void getBalanceHistoryWithNextCursor() {
+        given(customerBalanceHistoryRepository.findHistories(1L, 50L, 3))
+            .willReturn(histories(49L, 48L, 47L));
+
+        BalanceHistoryPage page = customerBalanceService.getBalanceHistory(1L, 50L, 2);
+
+        assertEquals(2, page.getHistories().size());
+        assertEquals(49L, page.getHistories().get(0).getId());
+        assertEquals(48L, page.getNextCursor());
+    }
+
+    @Test
+    void getBalanceHistoryLastPage() {
+        given(customerBalanceHistoryRepository.findHistories(1L, null, 101))
+            .willReturn(histories(2L, 1L));
+
+        BalanceHistoryPage page = customerBalanceService.getBalanceHistory(1L, null, 1000);
+
+        assertEquals(2, page.getHistories().size());
+        assertNull(page.getNextCursor());
+    }
+
+    private static List<BalanceHistoryDto> histories(Long... ids) {
+        List<BalanceHistoryDto> histories = new ArrayList<>();
+        for (Long id : ids) {
+            histories.add(new BalanceHistoryDto(id, 1000, 1000, "zerobase", "charge", null));
+        }
+        return histories;
+    }
+
+    private static CustomerBalanceIdempotency idempotency(int money, int currentMoney) {
+        return CustomerBalanceIdempotency.builder()
+            .customerId(1L)
+            .idempotencyKey("order-1")
+            .money(money)
+            .currentMoney(currentMoney)
+            .build();
+    }
+
+    private static CustomerBalanceIdempotency cancelled() {
+        return CustomerBalanceIdempotency.builder()
+            .customerId(1L)
+            .idempotencyKey("order-1")
+            .cancelled(true)
+            .build();
+    }
+}
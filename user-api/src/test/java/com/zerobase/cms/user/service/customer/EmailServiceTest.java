@@ -0,0 +1,77 @@
+package com.zerobase.cms.user.service.customer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+
+import com.zerobase.cms.user.client.mailgun.SendMailForm;
+import com.zerobase.cms.user.domain.model.Customer;
+import com.zerobase.cms.user.domain.repository.CustomerRepository;
+import com.zerobase.cms.user.exception.CustomException;
+import com.zerobase.cms.user.exception.ErrorCode;
+import com.zerobase.cms.user.service.mail.MailDispatcher;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class EmailServiceTest {
+
+    @Mock
+    private MailDispatcher mailDispatcher;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @InjectMocks
+    private EmailService emailService;
+
+    private final SendMailForm form = SendMailForm.builder()
+        .from("yjjjwww@naver.com")
+        .to("zerobase@naver.com")
+        .subject("subject")
+        .text("text")
+        .build();
+
+    @Test
+    void sendEmail() {
+        given(customerRepository.findById(1L))
+            .willReturn(Optional.of(Customer.builder().id(1L).email("zerobase@naver.com").build()));
+        given(mailDispatcher.dispatch(form))
+            .willReturn(CompletableFuture.completedFuture("queued"));
+
+        assertEquals("queued", emailService.sendEmail(1L, form).getBody());
+    }
+
+    @Test
+    void sendEmailTimeout() {
+        ReflectionTestUtils.setField(emailService, "sendTimeoutMillis", 10L);
+        given(customerRepository.findById(1L))
+            .willReturn(Optional.of(Customer.builder().id(1L).email("zerobase@naver.com").build()));
+        given(mailDispatcher.dispatch(form))
+            .willReturn(new CompletableFuture<>());
+
+        CustomException exception = assertThrows(CustomException.class, () -> emailService.sendEmail(1L, form));
+
+        assertEquals(ErrorCode.MAIL_SEND_TIMEOUT, exception.getErrorCode());
+    }
+
+    @Test
+    void sendEmailFail() {
+        CompletableFuture<String> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new CustomException(ErrorCode.MAIL_QUEUE_FULL));
+        given(customerRepository.findById(1L))
+            .willReturn(Optional.of(Customer.builder().id(1L).email("zerobase@naver.com").build()));
+        given(mailDispatcher.dispatch(form))
+            .willReturn(failed);
+
+        CustomException exception = assertThrows(CustomException.class, () -> emailService.sendEmail(1L, form));
+
+        assertEquals(ErrorCode.MAIL_QUEUE_FULL, exception.getErrorCode());
+    }
+}
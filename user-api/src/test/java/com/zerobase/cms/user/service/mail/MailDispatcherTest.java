@@ -0,0 +1,165 @@
+package com.zerobase.cms.user.service.mail;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.zerobase.cms.user.client.MailgunClient;
+import com.zerobase.cms.user.client.mailgun.SendMailForm;
+import com.zerobase.cms.user.service.mail.MailDispatcher.PendingMail;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+@ExtendWith(MockitoExtension.class)
+class MailDispatcherTest {
+
+    @Mock
+    private MailgunClient mailgunClient;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MailDispatcher mailDispatcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (mailDispatcher != null) {
+            mailDispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void coalesceMailsInWindow() throws Exception {
+        mailDispatcher = new MailDispatcher(mailgunClient, meterRegistry, 100, 200, 100, 2, false);
+        given(mailgunClient.sendBatchEmail(anyMap()))
+            .willReturn(ResponseEntity.ok("queued"));
+
+        List<CompletableFuture<String>> results = Arrays.asList(
+            mailDispatcher.dispatch(form("a@zerobase.com", "text a")),
+            mailDispatcher.dispatch(form("b@zerobase.com", "text b")),
+            mailDispatcher.dispatch(form("c@zerobase.com", "text c")));
+
+        for (CompletableFuture<String> result : results) {
+            assertEquals("queued", result.get());
+        }
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, ?>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(mailgunClient).sendBatchEmail(captor.capture());
+        verify(mailgunClient, never()).sendEmail(any());
+        assertEquals(Arrays.asList("a@zerobase.com", "b@zerobase.com", "c@zerobase.com"), captor.getValue().get("to"));
+        assertEquals("%recipient.text%", captor.getValue().get("text"));
+        assertEquals(1, mailDispatcher.getBatchCount());
+        assertEquals(3, mailDispatcher.getMessageCount());
+        assertEquals(1, meterRegistry.get("mail.dispatch.batches").timer().count());
+    }
+
+    @Test
+    void sendSingleMailAsIs() throws Exception {
+        mailDispatcher = new MailDispatcher(mailgunClient, meterRegistry, 100, 0, 100, 2, false);
+        SendMailForm form = form("a@zerobase.com", "text");
+        given(mailgunClient.sendEmail(form))
+            .willReturn(ResponseEntity.ok("queued"));
+
+        assertEquals("queued", mailDispatcher.dispatch(form).get());
+    }
+
+    @Test
+    void sendOnVirtualThread() throws Exception {
+        mailDispatcher = new MailDispatcher(mailgunClient, meterRegistry, 100, 0, 100, 2, true);
+        given(mailgunClient.sendEmail(any()))
+            .willAnswer(invocation -> ResponseEntity.ok(String.valueOf(Thread.currentThread().isVirtual())));
+
+        assertEquals("true", mailDispatcher.dispatch(form("a@zerobase.com", "text")).get());
+    }
+
+    @Test
+    void completeExceptionallyWhenSendFails() {
+        mailDispatcher = new MailDispatcher(mailgunClient, meterRegistry, 100, 0, 100, 2, false);
+        given(mailgunClient.sendEmail(any()))
+            .willThrow(new IllegalStateException("mailgun down"));
+
+        CompletableFuture<String> result = mailDispatcher.dispatch(form("a@zerobase.com", "text"));
+
+        assertThrows(ExecutionException.class, result::get);
+        assertEquals(1, mailDispatcher.getFailureCount());
+    }
+
+    @Test
+    void sendGroupsConcurrently() throws Exception {
+        mailDispatcher = new MailDispatcher(mailgunClient, meterRegistry, 100, 200, 100, 2, false);
+        CountDownLatch bothSending = new CountDownLatch(2);
+        given(mailgunClient.sendEmail(any()))
+            .willAnswer(invocation -> {
+                bothSending.countDown();
+                // 두 발송이 동시에 진행되지 않으면 기다리다 실패한다.
+                return bothSending.await(5, TimeUnit.SECONDS) ? ResponseEntity.ok("queued") : null;
+            });
+
+        CompletableFuture<String> first = mailDispatcher.dispatch(form("a@zerobase.com", "text"));
+        CompletableFuture<String> second = mailDispatcher.dispatch(SendMailForm.builder()
+            .from("yjjjwww@naver.com")
+            .to("b@zerobase.com")
+            .subject("Order")
+            .text("order")
+            .build());
+
+        assertEquals("queued", first.get());
+        assertEquals("queued", second.get());
+    }
+
+    @Test
+    void splitDuplicateRecipients() {
+        List<List<PendingMail>> groups = MailDispatcher.group(Arrays.asList(
+            new PendingMail(form("a@zerobase.com", "first")),
+            new PendingMail(form("b@zerobase.com", "first")),
+            new PendingMail(form("a@zerobase.com", "second")),
+            new PendingMail(SendMailForm.builder()
+                .from("yjjjwww@naver.com")
+                .to("c@zerobase.com")
+                .subject("Order")
+                .text("order")
+                .build())));
+
+        assertEquals(3, groups.size());
+        assertEquals(2, groups.get(0).size());
+        assertEquals(1, groups.get(1).size());
+        assertEquals(1, groups.get(2).size());
+    }
+
+    @Test
+    void batchFormHasRecipientVariables() {
+        Map<String, Object> form = MailDispatcher.toBatchForm(Arrays.asList(
+            new PendingMail(form("a@zerobase.com", "text \"a\"")),
+            new PendingMail(form("b@zerobase.com", "text b"))));
+
+        assertEquals("{\"a@zerobase.com\":{\"text\":\"text \\\"a\\\"\"},\"b@zerobase.com\":{\"text\":\"text b\"}}",
+            form.get("recipient-variables"));
+        assertEquals("Verification Email!", form.get("subject"));
+    }
+
+    private static SendMailForm form(String to, String text) {
+        return SendMailForm.builder()
+            .from("yjjjwww@naver.com")
+            .to(to)
+            .subject("Verification Email!")
+            .text(text)
+            .build();
+    }
+}
@@ -7,6 +7,6 @@ import lombok.Getter;
 @Getter
 public class UserVo {
 
-    private Long id;
-    private String email;
+    private final Long id;
+    private final String email;
 }
@@ -4,18 +4,40 @@ import com.zerobase.domain.common.UserType;
 import com.zerobase.domain.common.UserVo;
 import com.zerobase.domain.util.Aes256Util;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.TextCodec;
+import io.micrometer.core.annotation.Timed;
+import java.security.Key;
 import java.util.Date;
 import java.util.Objects;
+import javax.crypto.spec.SecretKeySpec;
 
 public class JwtAuthenticationProvider {
 
+    private static final int DEFAULT_CACHE_SIZE = 10_000;
+
     private String secretKey = "secretKey";
 
     private long tokenValidTime = 1000L * 60 * 60 * 24;
 
+    private final Key signingKey = new SecretKeySpec(TextCodec.BASE64.decode(secretKey),
+        SignatureAlgorithm.HS256.getJcaName());
+
+    private final JwtParser parser = Jwts.parser().setSigningKey(signingKey);
+
+    private final VerifiedTokenCache tokenCache;
+
+    public JwtAuthenticationProvider() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    public JwtAuthenticationProvider(int cacheSize) {
+        this.tokenCache = new VerifiedTokenCache(cacheSize);
+    }
+
+    @Timed("jwt")
     public String createToken(String userPk, Long id, UserType userType) {
         Claims claims = Jwts.claims().setSubject(Aes256Util.encrypt(userPk)).setId(Aes256Util.encrypt(id.toString()));
         claims.put("roles", userType);
@@ -24,21 +46,37 @@ public class JwtAuthenticationProvider {
             .setClaims(claims)
             .setIssuedAt(now)
             .setExpiration(new Date(now.getTime() + tokenValidTime))
-            .signWith(SignatureAlgorithm.HS256, secretKey)
+            .signWith(SignatureAlgorithm.HS256, signingKey)
             .compact();
     }
 
+    @Timed("jwt")
     public boolean validateToken(String jwtToken) {
         try {
-            Jws<Claims> claimsJws = Jwts.parser().setSigningKey(secretKey).parseClaimsJws(jwtToken);
-            return !claimsJws.getBody().getExpiration().before(new Date());
+            getUserVo(jwtToken);
+            return true;
         } catch (Exception e) {
             return false;
         }
     }
 
+    @Timed("jwt")
     public UserVo getUserVo(String token) {
-        Claims claims = Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token).getBody();
-        return new UserVo(Long.parseLong(Objects.requireNonNull(Aes256Util.decrypt(claims.getId()))), Aes256Util.decrypt(claims.getSubject()));
+        long now = System.currentTimeMillis();
+        UserVo cached = tokenCache.get(token, now);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        UserVo userVo = new UserVo(Long.parseLong(Objects.requireNonNull(Aes256Util.decrypt(claims.getId()))), Aes256Util.decrypt(claims.getSubject()));
+        if (claims.getExpiration() != null) {
+            tokenCache.put(token, userVo, claims.getExpiration().getTime(), now);
+        }
+        return userVo;
+    }
+
+    public VerifiedTokenCache getTokenCache() {
+        return tokenCache;
     }
 }
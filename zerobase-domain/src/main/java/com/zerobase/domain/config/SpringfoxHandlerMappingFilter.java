@@ -0,0 +1,41 @@
+package com.zerobase.domain.config;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfoHandlerMapping;
+
+/**
+ * springfox 3 와 actuator 를 함께 쓰기 위한 우회 설정. order-api 와 user-api 가 이 클래스 하나를 같이 쓴다.
+ * <p>
+ * 컨트롤러 mapping 은 spring.mvc.pathmatch.matching-strategy=ant_path_matcher 로 AntPathMatcher 를 쓰게 할 수 있지만,
+ * actuator 의 WebMvcEndpointHandlerMapping 은 설정과 관계없이 PathPatternParser 를 쓴다. springfox 는 이런 mapping 의
+ * 패턴을 읽다가 NullPointerException 으로 시작하지 못하므로, springfox 가 모은 mapping 목록에서 PathPatternParser 를
+ * 쓰는 것을 빼 API 문서에는 컨트롤러만 남긴다.
+ * <p>
+ * springfox 의 WebMvcRequestHandlerProvider 는 목록을 바꿀 방법을 열어 두지 않아 private 필드 handlerMappings 를 직접
+ * 고친다. springfox 를 올리거나 springdoc 으로 옮기면 이 클래스와 등록 부분을 지운다.
+ */
+public class SpringfoxHandlerMappingFilter implements BeanPostProcessor {
+
+    static final String PROVIDER_CLASS =
+        "springfox.documentation.spring.web.plugins.WebMvcRequestHandlerProvider";
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!bean.getClass().getName().equals(PROVIDER_CLASS)) {
+            return bean;
+        }
+        Field field = ReflectionUtils.findField(bean.getClass(), "handlerMappings");
+        if (field == null) {
+            throw new IllegalStateException("springfox 구조가 바뀌었습니다. " + getClass().getSimpleName() + " 를 확인하세요.");
+        }
+        ReflectionUtils.makeAccessible(field);
+        List<RequestMappingInfoHandlerMapping> mappings =
+            (List<RequestMappingInfoHandlerMapping>) ReflectionUtils.getField(field, bean);
+        mappings.removeIf(mapping -> mapping.getPatternParser() != null);
+        return bean;
+    }
+}
@@ -0,0 +1,111 @@
+package com.zerobase.domain.config;
+
+import com.zerobase.domain.common.UserVo;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 서명 검증이 끝난 토큰을 만료 시각까지 보관하는 캐시.
+ * 가득 차면 가장 오래 쓰지 않은 토큰 하나만 버리고, 만료된 토큰은 읽을 때 지운다.
+ */
+public class VerifiedTokenCache {
+
+    private final int maxSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    // 읽은 순서로 정렬해 가득 차면 가장 오래 쓰지 않은 항목 하나만 뺀다.
+    private final Map<String, Entry> entries;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > VerifiedTokenCache.this.maxSize;
+            }
+        };
+    }
+
+    public UserVo get(String token, long now) {
+        Entry entry = null;
+        if (token != null) {
+            lock.lock();
+            try {
+                entry = entries.get(token);
+                if (entry != null && entry.expiresAt <= now) {
+                    entries.remove(token);
+                    entry = null;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        return entry.userVo;
+    }
+
+    public void put(String token, UserVo userVo, long expiresAt, long now) {
+        if (expiresAt <= now) {
+            return;
+        }
+        Entry entry = new Entry(userVo, expiresAt);
+        lock.lock();
+        try {
+            entries.put(token, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(String token) {
+        lock.lock();
+        try {
+            entries.remove(token);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    private static class Entry {
+        private final UserVo userVo;
+        private final long expiresAt;
+
+        private Entry(UserVo userVo, long expiresAt) {
+            this.userVo = userVo;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,40 +1,81 @@
 package com.zerobase.domain.util;
 
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import javax.crypto.Cipher;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
-import org.apache.tomcat.util.codec.binary.Base64;
 
 public class Aes256Util {
     public static String alg = "AES/CBC/PKCS5Padding";
     private static final String KEY = "ZEROBASEKEYISZEROBASEKEY";
     private static final String IV = KEY.substring(0, 16);
 
+    private static final SecretKeySpec KEY_SPEC = new SecretKeySpec(KEY.getBytes(StandardCharsets.UTF_8), "AES");
+    private static final IvParameterSpec IV_SPEC = new IvParameterSpec(IV.getBytes(StandardCharsets.UTF_8));
+
+    // Cipher 는 thread-safe 하지 않으므로 초기화된 인스턴스를 풀에서 꺼내 한 번에 한 스레드만 쓴다.
+    // 가상 스레드는 요청마다 새로 만들어져 ThreadLocal 에 둔 인스턴스가 재사용되지 않으므로 스레드와 상관없는 풀을 쓴다.
+    // 풀이 비면 새로 만들고, 풀이 가득 차 있으면 돌려받은 인스턴스를 버려 POOL_SIZE 개 넘게 붙잡지 않는다.
+    // CBC 모드는 doFinal 이후 같은 key, iv 로 초기화된 상태로 돌아간다.
+    static final int POOL_SIZE = Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+    private static final BlockingQueue<Cipher> ENCRYPT_CIPHERS = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final BlockingQueue<Cipher> DECRYPT_CIPHERS = new ArrayBlockingQueue<>(POOL_SIZE);
+
     public static String encrypt(String text) {
+        if (text == null) {
+            return null;
+        }
+        byte[] encrypted = encrypt(text.getBytes(StandardCharsets.UTF_8));
+        return encrypted == null ? null : Base64.getEncoder().encodeToString(encrypted);
+    }
+
+    public static String decrypt(String cipherText){
         try {
-            Cipher cipher = Cipher.getInstance(alg);
-            SecretKeySpec keySpec = new SecretKeySpec(KEY.getBytes(), "AES");
-            IvParameterSpec ivParameterSpec = new IvParameterSpec(IV.getBytes(StandardCharsets.UTF_8));
-            cipher.init(Cipher.ENCRYPT_MODE, keySpec, ivParameterSpec);
-            byte[] encrypted = cipher.doFinal(text.getBytes(StandardCharsets.UTF_8));
-            return Base64.encodeBase64String(encrypted);
+            byte[] decrypted = decrypt(Base64.getDecoder().decode(cipherText));
+            return decrypted == null ? null : new String(decrypted, StandardCharsets.UTF_8);
         } catch (Exception e) {
             return null;
         }
     }
 
-    public static String decrypt(String cipherText){
-        try{
-            Cipher cipher = Cipher.getInstance(alg);
-            SecretKeySpec keySpec = new SecretKeySpec(KEY.getBytes(), "AES");
-            IvParameterSpec ivParameterSpec = new IvParameterSpec(IV.getBytes(StandardCharsets.UTF_8));
-            cipher.init(Cipher.DECRYPT_MODE, keySpec, ivParameterSpec);
-            byte[] decodeBytes = Base64.decodeBase64(cipherText);
-            byte[] decrypted = cipher.doFinal(decodeBytes);
-            return new String(decrypted, StandardCharsets.UTF_8);
-        } catch (Exception e){
+    public static byte[] encrypt(byte[] plain) {
+        return doFinal(ENCRYPT_CIPHERS, Cipher.ENCRYPT_MODE, plain);
+    }
+
+    public static byte[] decrypt(byte[] encrypted) {
+        return doFinal(DECRYPT_CIPHERS, Cipher.DECRYPT_MODE, encrypted);
+    }
+
+    static int pooledCiphers() {
+        return ENCRYPT_CIPHERS.size() + DECRYPT_CIPHERS.size();
+    }
+
+    private static byte[] doFinal(BlockingQueue<Cipher> pool, int mode, byte[] input) {
+        Cipher cipher = pool.poll();
+        if (cipher == null) {
+            cipher = newCipher(mode);
+        }
+        try {
+            byte[] output = cipher.doFinal(input);
+            pool.offer(cipher);
+            return output;
+        } catch (Exception e) {
+            // 실패한 Cipher 는 상태를 알 수 없으므로 풀에 돌려놓지 않는다.
             return null;
         }
     }
+
+    private static Cipher newCipher(int mode) {
+        try {
+            Cipher cipher = Cipher.getInstance(alg);
+            cipher.init(mode, KEY_SPEC, IV_SPEC);
+            return cipher;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -0,0 +1,77 @@
+package com.zerobase.domain.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.zerobase.domain.common.UserType;
+import com.zerobase.domain.common.UserVo;
+import org.junit.jupiter.api.Test;
+
+class JwtAuthenticationProviderTest {
+
+    @Test
+    void validateAndGetUserVo() {
+        JwtAuthenticationProvider provider = new JwtAuthenticationProvider();
+        String token = provider.createToken("zerobase@naver.com", 1L, UserType.CUSTOMER);
+
+        assertTrue(provider.validateToken(token));
+        UserVo vo = provider.getUserVo(token);
+
+        assertEquals(1L, vo.getId());
+        assertEquals("zerobase@naver.com", vo.getEmail());
+        assertEquals(1, provider.getTokenCache().getMissCount());
+        assertEquals(1, provider.getTokenCache().getHitCount());
+        assertSame(vo, provider.getUserVo(token));
+    }
+
+    @Test
+    void validateToken_invalid() {
+        JwtAuthenticationProvider provider = new JwtAuthenticationProvider();
+        String token = provider.createToken("zerobase@naver.com", 1L, UserType.CUSTOMER);
+
+        assertFalse(provider.validateToken(null));
+        assertFalse(provider.validateToken("token"));
+        assertFalse(provider.validateToken(token.substring(0, token.length() - 2)));
+        assertEquals(0, provider.getTokenCache().size());
+    }
+
+    @Test
+    void cacheExpiredToken() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        cache.put("token", new UserVo(1L, "zerobase@naver.com"), 1000L, 0L);
+
+        assertEquals(1L, cache.get("token", 999L).getId());
+        assertNull(cache.get("token", 1000L));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void cacheBounded() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2);
+        cache.put("expired", new UserVo(1L, "a@naver.com"), 10L, 0L);
+        cache.put("token1", new UserVo(2L, "b@naver.com"), 1000L, 0L);
+        cache.put("token2", new UserVo(3L, "c@naver.com"), 1000L, 20L);
+        cache.put("token3", new UserVo(4L, "d@naver.com"), 1000L, 20L);
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("expired", 20L));
+        assertEquals(4L, cache.get("token3", 20L).getId());
+    }
+
+    @Test
+    void cacheEvictLeastRecentlyUsed() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2);
+        cache.put("hot", new UserVo(1L, "a@naver.com"), 1000L, 0L);
+        cache.put("cold", new UserVo(2L, "b@naver.com"), 1000L, 0L);
+        cache.get("hot", 10L);
+        cache.put("new", new UserVo(3L, "c@naver.com"), 1000L, 10L);
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("cold", 10L));
+        assertEquals(1L, cache.get("hot", 10L).getId());
+        assertEquals(3L, cache.get("new", 10L).getId());
+    }
+}
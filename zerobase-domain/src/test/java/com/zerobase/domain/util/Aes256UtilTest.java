@@ -1,6 +1,14 @@
 package com.zerobase.domain.util;
 
 import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.Test;
 
 class Aes256UtilTest {
@@ -16,4 +24,58 @@ class Aes256UtilTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    void encryptBytes() {
+        byte[] encrypted = Aes256Util.encrypt("Hello world".getBytes(StandardCharsets.UTF_8));
+
+        assertArrayEquals("Hello world".getBytes(StandardCharsets.UTF_8), Aes256Util.decrypt(encrypted));
+        assertEquals(Aes256Util.encrypt("Hello world"), Base64.getEncoder().encodeToString(encrypted));
+    }
+
+    @Test
+    void decryptFail() {
+        assertNull(Aes256Util.decrypt("not encrypted"));
+        assertNull(Aes256Util.decrypt(new byte[]{1, 2, 3}));
+        assertEquals("Hello world", Aes256Util.decrypt(Aes256Util.encrypt("Hello world")));
+    }
+
+    @Test
+    void encryptNull() {
+        assertNull(Aes256Util.encrypt((String) null));
+        assertNull(Aes256Util.decrypt((String) null));
+        assertEquals("Hello world", Aes256Util.decrypt(Aes256Util.encrypt("Hello world")));
+    }
+
+    @Test
+    void encryptConcurrently() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String text = "zerobase" + i + "@naver.com";
+            futures.add(executorService.submit(() -> text.equals(Aes256Util.decrypt(Aes256Util.encrypt(text)))));
+        }
+        for (Future<Boolean> future : futures) {
+            assertTrue(future.get());
+        }
+        executorService.shutdown();
+    }
+
+    @Test
+    void reuseCiphersOnVirtualThreads() throws Exception {
+        ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String text = "zerobase" + i + "@naver.com";
+            futures.add(executorService.submit(() -> text.equals(Aes256Util.decrypt(Aes256Util.encrypt(text)))));
+        }
+        for (Future<Boolean> future : futures) {
+            assertTrue(future.get());
+        }
+        executorService.shutdown();
+
+        // 요청마다 새 스레드여도 풀에 남는 Cipher 는 풀 크기를 넘지 않는다.
+        int pooled = Aes256Util.pooledCiphers();
+        assertTrue(pooled > 0 && pooled <= Aes256Util.POOL_SIZE * 2);
+    }
+
+}